@@ -1,3 +1,4 @@
+import { useMemo } from 'react';
 import { TrendingUp, TrendingDown, DollarSign, Activity, BarChart3, Target } from 'lucide-react';
 import { motion } from 'motion/react';
 import { LineChart, Line, XAxis, YAxis, CartesianGrid, Tooltip, ResponsiveContainer, Area, AreaChart } from 'recharts';
@@ -11,12 +12,24 @@ interface BacktestResultsProps {
     totalTrades: number;
     winningTrades: number;
     losingTrades: number;
-    equityCurve: Array<{ day: number; value: number; date: string }>;
-    trades: Array<{ id: number; entryDate: string; exitDate: string; profit: string; return: string }>;
+    // Columnar and downsampled on the server: times[i] (epoch millis) and values[i] form one point
+    equityCurve: { times: number[]; values: number[]; bars: number };
+    trades: Array<{ id: number; entryTime: number; exitTime: number; profit: number; returnPercent: number }>;
   };
 }
 
+const isoDate = (time: number) => new Date(time).toISOString().split('T')[0];
+
 export function BacktestResults({ results }: BacktestResultsProps) {
+  const equityCurve = useMemo(
+    () =>
+      results.equityCurve.times.map((time, i) => ({
+        date: new Date(time).toLocaleDateString('en-US', { month: 'short', day: 'numeric', year: '2-digit' }),
+        value: results.equityCurve.values[i]
+      })),
+    [results.equityCurve]
+  );
+
   const metrics = [
     {
       label: 'Win Rate',
@@ -36,7 +49,7 @@ export function BacktestResults({ results }: BacktestResultsProps) {
     },
     {
       label: 'Max Drawdown',
-      value: `${results.maxDrawdown}%`,
+      value: `${results.maxDrawdown.toFixed(2)}%`,
       icon: TrendingDown,
       color: 'text-red-600',
       bgColor: 'bg-red-50',
@@ -121,7 +134,7 @@ export function BacktestResults({ results }: BacktestResultsProps) {
           <h3 className="text-lg font-semibold text-slate-900 mb-4">Equity Curve</h3>
           <div className="h-80 bg-white rounded-lg p-4">
             <ResponsiveContainer width="100%" height="100%">
-              <AreaChart data={results.equityCurve}>
+              <AreaChart data={equityCurve}>
                 <defs>
                   <linearGradient id="colorValue" x1="0" y1="0" x2="0" y2="1">
                     <stop offset="5%" stopColor="#3b82f6" stopOpacity={0.3} />
@@ -182,15 +195,15 @@ export function BacktestResults({ results }: BacktestResultsProps) {
               {results.trades.map((trade, index) => (
                 <tr key={trade.id} className="hover:bg-slate-50 transition-colors">
                   <td className="px-6 py-4 text-sm text-slate-900">{index + 1}</td>
-                  <td className="px-6 py-4 text-sm text-slate-600">{trade.entryDate.split('T')[0]}</td>
-                  <td className="px-6 py-4 text-sm text-slate-600">{trade.exitDate.split('T')[0]}</td>
-                  <td className={`px-6 py-4 text-sm text-right ${parseFloat(trade.profit) > 0 ? 'text-green-600' : 'text-red-600'
+                  <td className="px-6 py-4 text-sm text-slate-600">{isoDate(trade.entryTime)}</td>
+                  <td className="px-6 py-4 text-sm text-slate-600">{isoDate(trade.exitTime)}</td>
+                  <td className={`px-6 py-4 text-sm text-right ${trade.profit > 0 ? 'text-green-600' : 'text-red-600'
                     }`}>
-                    ₹{parseFloat(trade.profit).toLocaleString()}
+                    ₹{trade.profit.toLocaleString()}
                   </td>
-                  <td className={`px-6 py-4 text-sm text-right ${parseFloat(trade.return) > 0 ? 'text-green-600' : 'text-red-600'
+                  <td className={`px-6 py-4 text-sm text-right ${trade.returnPercent > 0 ? 'text-green-600' : 'text-red-600'
                     }`}>
-                    {parseFloat(trade.return) > 0 ? '+' : ''}{trade.return}%
+                    {trade.returnPercent > 0 ? '+' : ''}{trade.returnPercent.toFixed(2)}%
                   </td>
                 </tr>
               ))}
@@ -1,4 +1,4 @@
-import { useState, useEffect } from 'react';
+import { useState, useEffect, useRef } from 'react';
 import { StockSelector } from '../themes/strategymaster/components/StockSelector';
 import { StrategyBuilder } from '../themes/strategymaster/components/StrategyBuilder';
 import { SaveStrategyDialog } from '../themes/strategymaster/components/SaveStrategyDialog';
@@ -52,6 +52,8 @@ export default function App() {
   });
   const [backtestResults, setBacktestResults] = useState<any>(null);
   const [isRunning, setIsRunning] = useState(false);
+  const [runStatus, setRunStatus] = useState<{ progress: number; message: string } | null>(null);
+  const runningJobId = useRef<string | null>(null);
 
   // Persistence State
   const [searchParams] = useSearchParams();
@@ -59,6 +61,14 @@ export default function App() {
   const [currentStrategyId, setCurrentStrategyId] = useState<string | null>(null);
   const [currentStrategyName, setCurrentStrategyName] = useState<string | null>(null);
 
+  // Cancel a run still in progress when leaving the builder
+  useEffect(() => () => {
+    if (runningJobId.current) {
+      // @ts-ignore
+      StrategyEndpint.cancelJob(runningJobId.current).catch(() => { });
+    }
+  }, []);
+
   useEffect(() => {
     const strategyId = searchParams.get('strategyId');
     if (strategyId) {
@@ -72,6 +82,15 @@ export default function App() {
       const saved = await StrategyEndpint.getStrategy(id);
       if (saved && saved.strategyJson) {
         setStrategy(JSON.parse(saved.strategyJson));
+        if (saved.stockSymbol) {
+          setSelectedStock(saved.stockSymbol);
+        }
+        if (saved.rangeParam) {
+          setRange(saved.rangeParam);
+        }
+        if (saved.intervalParam) {
+          setInterval(saved.intervalParam);
+        }
         setCurrentStrategyId(saved.id ?? null);
         setCurrentStrategyName(saved.name ?? null);
       }
@@ -88,7 +107,10 @@ export default function App() {
     // @ts-ignore
     await StrategyEndpint.saveStrategy({
       name: name.trim(),
-      strategyJson: JSON.stringify(strategy)
+      strategyJson: JSON.stringify(strategy),
+      stockSymbol: selectedStock,
+      rangeParam: range,
+      intervalParam: interval
     });
   };
 
@@ -127,17 +149,40 @@ export default function App() {
         strategyId: currentStrategyId,
         strategyName: currentStrategyName
       };
+      // Queued on the server's job executor; the request returns at once and the job is polled until it ends
       // @ts-ignore
-      const result = await StrategyEndpint.runBacktest(request);
-      setBacktestResults(result);
+      let job = await StrategyEndpint.submitBacktestJob(request, 'INTERACTIVE');
+      runningJobId.current = job.id;
+      while (job.state === 'QUEUED' || job.state === 'RUNNING') {
+        setRunStatus({ progress: job.progress, message: job.message });
+        await new Promise((resolve) => setTimeout(resolve, 300));
+        // @ts-ignore
+        job = await StrategyEndpint.getJob(job.id);
+      }
+      if (job.state === 'SUCCEEDED') {
+        setBacktestResults(job.backtest);
+      } else if (job.state === 'CANCELLED') {
+        toast.info('Backtest cancelled.');
+      } else {
+        throw new Error(job.error || 'Backtest failed');
+      }
     } catch (error: any) {
       console.error("Backtest failed", error);
       toast.error(error.message || "Failed to run backtest. Please check your strategy and stock symbol.");
     } finally {
+      runningJobId.current = null;
+      setRunStatus(null);
       setIsRunning(false);
     }
   };
 
+  const handleCancelBacktest = async () => {
+    if (runningJobId.current) {
+      // @ts-ignore
+      await StrategyEndpint.cancelJob(runningJobId.current);
+    }
+  };
+
   const handleExportStrategy = () => {
     const dataStr = "data:text/json;charset=utf-8," + encodeURIComponent(JSON.stringify(strategy, null, 2));
     const downloadAnchorNode = document.createElement('a');
@@ -228,6 +273,27 @@ export default function App() {
               />
             </>
 
+            {runStatus && (
+              <div className="bg-white rounded-lg shadow-sm border border-slate-200 p-4 flex items-center gap-4">
+                <div className="flex-1">
+                  <div className="flex justify-between text-sm text-slate-600 mb-1">
+                    <span>{runStatus.message}</span>
+                    <span>{Math.round(runStatus.progress * 100)}%</span>
+                  </div>
+                  <div className="h-2 bg-slate-100 rounded">
+                    <div className="h-2 bg-emerald-500 rounded transition-all"
+                      style={{ width: `${Math.round(runStatus.progress * 100)}%` }} />
+                  </div>
+                </div>
+                <button
+                  onClick={handleCancelBacktest}
+                  className="px-3 py-1.5 text-sm border border-slate-300 rounded hover:bg-slate-50"
+                >
+                  Cancel
+                </button>
+              </div>
+            )}
+
             {backtestResults && (
               <BacktestResults results={backtestResults} />
             )}
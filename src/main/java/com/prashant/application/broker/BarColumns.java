@@ -0,0 +1,145 @@
+package com.prashant.application.broker;
+
+import java.util.Arrays;
+
+/**
+ * OHLCV bars held as parallel primitive columns, sorted by ascending epoch second.
+ * Only the first {@code size} entries of each array are valid.
+ */
+public record BarColumns(long[] time, double[] open, double[] high, double[] low, double[] close, double[] volume,
+        int size) {
+
+    private static final BarColumns EMPTY = new BarColumns(new long[0], new double[0], new double[0], new double[0],
+            new double[0], new double[0], 0);
+
+    public static BarColumns empty() {
+        return EMPTY;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long firstTime() {
+        return time[0];
+    }
+
+    public long lastTime() {
+        return time[size - 1];
+    }
+
+    /**
+     * Index of the first bar whose time is at or after {@code epochSecond}, or {@code size} if none.
+     */
+    public int indexAtOrAfter(long epochSecond) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (time[mid] < epochSecond) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    public BarColumns slice(int from, int to) {
+        if (from == 0 && to == size) {
+            return this;
+        }
+        return new BarColumns(
+                Arrays.copyOfRange(time, from, to),
+                Arrays.copyOfRange(open, from, to),
+                Arrays.copyOfRange(high, from, to),
+                Arrays.copyOfRange(low, from, to),
+                Arrays.copyOfRange(close, from, to),
+                Arrays.copyOfRange(volume, from, to),
+                to - from);
+    }
+
+    public BarColumns sliceFrom(long epochSecond) {
+        return slice(indexAtOrAfter(epochSecond), size);
+    }
+
+    /**
+     * Bars with {@code fromEpochSecond <= time <= toEpochSecond}.
+     */
+    public BarColumns sliceBetween(long fromEpochSecond, long toEpochSecond) {
+        int from = indexAtOrAfter(fromEpochSecond);
+        return slice(from, Math.max(from, indexAtOrAfter(toEpochSecond + 1)));
+    }
+
+    /**
+     * Merges two sorted series. Where both contain a bar with the same time, the bar from {@code newer} wins.
+     */
+    public BarColumns merge(BarColumns newer) {
+        if (newer.isEmpty()) {
+            return this;
+        }
+        if (isEmpty()) {
+            return newer;
+        }
+        int capacity = size + newer.size;
+        long[] t = new long[capacity];
+        double[] o = new double[capacity];
+        double[] h = new double[capacity];
+        double[] l = new double[capacity];
+        double[] c = new double[capacity];
+        double[] v = new double[capacity];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < size || j < newer.size) {
+            BarColumns src;
+            int k;
+            if (j >= newer.size || (i < size && time[i] < newer.time[j])) {
+                src = this;
+                k = i++;
+            } else {
+                if (i < size && time[i] == newer.time[j]) {
+                    i++;
+                }
+                src = newer;
+                k = j++;
+            }
+            t[n] = src.time[k];
+            o[n] = src.open[k];
+            h[n] = src.high[k];
+            l[n] = src.low[k];
+            c[n] = src.close[k];
+            v[n] = src.volume[k];
+            n++;
+        }
+        return new BarColumns(t, o, h, l, c, v, n);
+    }
+
+    /**
+     * 64-bit hash of every valid bar. Any added, removed or revised bar changes it, so it identifies the exact data
+     * a result was computed from.
+     */
+    public long fingerprint() {
+        // One hash per column, so the six multiply chains run in parallel rather than one after another
+        long t = size;
+        long o = 0;
+        long h = 0;
+        long l = 0;
+        long c = 0;
+        long v = 0;
+        for (int i = 0; i < size; i++) {
+            t = mix(t, time[i]);
+            o = mix(o, Double.doubleToLongBits(open[i]));
+            h = mix(h, Double.doubleToLongBits(high[i]));
+            l = mix(l, Double.doubleToLongBits(low[i]));
+            c = mix(c, Double.doubleToLongBits(close[i]));
+            v = mix(v, Double.doubleToLongBits(volume[i]));
+        }
+        long hash = mix(mix(mix(mix(mix(mix(0x9E3779B97F4A7C15L, t), o), h), l), c), v);
+        return hash ^ (hash >>> 32);
+    }
+
+    private static long mix(long hash, long value) {
+        return Long.rotateLeft(hash ^ value * 0xC2B2AE3D27D4EB4FL, 31) * 0x9E3779B97F4A7C15L;
+    }
+}
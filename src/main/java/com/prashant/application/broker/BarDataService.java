@@ -0,0 +1,257 @@
+package com.prashant.application.broker;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Read-through access to bars: serves from {@link LocalBarStore} and only calls the configured upstream
+ * {@link MarketDataSource} ({@code strategymaster.market-data.source}, Yahoo by default) when the store does not
+ * cover the requested range or is older than one bar interval. A stale store that already covers the range is
+ * topped up with a delta fetch of the bars after the last stored timestamp instead of a full range download.
+ * <p>
+ * Concurrent loads of the same (symbol, range, interval) share one in-flight future, so simultaneous backtests
+ * of a symbol cause a single store read or upstream call. Loads of different ranges of one (symbol, interval)
+ * share a store file, so their read, merge and write run one at a time; a load that waited sees what the one
+ * before it stored.
+ * <p>
+ * Coarser intervals that are not stored themselves are built by {@link BarResampler resampling} the finest stored
+ * interval that covers the range, so e.g. switching from daily to weekly bars needs no fetch.
+ * <p>
+ * Bars from sources other than Yahoo are stored in a sub directory named after the source, so replayed or
+ * synthetic data never mixes with live history.
+ */
+@Service
+@Primary
+@Slf4j
+public class BarDataService implements MarketDataSource {
+
+    private final LocalBarStore barStore;
+    private final MarketDataSource upstream;
+    private final ExecutorService fetchExecutor;
+    private final Map<String, CompletableFuture<BarColumns>> inFlight = new ConcurrentHashMap<>();
+    // Only while a (symbol, interval) is in use, so the map does not grow with the universe
+    private final Map<String, StoreLock> storeLocks = new ConcurrentHashMap<>();
+
+    public BarDataService(LocalBarStore barStore, Map<String, MarketDataSource> sources,
+            @Value("${strategymaster.market-data.source:" + Constant.SOURCE_YAHOO + "}") String source,
+            @Qualifier("fetchExecutor") ExecutorService fetchExecutor) {
+        this.upstream = sources.get(source);
+        if (upstream == null) {
+            throw new IllegalArgumentException("Unknown market data source: " + source + ", available: "
+                    + sources.keySet());
+        }
+        this.barStore = Constant.SOURCE_YAHOO.equals(source) ? barStore : barStore.subStore(source);
+        this.fetchExecutor = fetchExecutor;
+        log.info("Using market data source :: {}", source);
+    }
+
+    @Override
+    public BarColumns fetch(String symbol, String range, String interval) {
+        return load(symbol, range, interval);
+    }
+
+    @Override
+    public BarColumns fetch(String symbol, long period1, long period2, String interval) {
+        return upstream.fetch(symbol, period1, period2, interval);
+    }
+
+    @Override
+    public Clock clock() {
+        return upstream.clock();
+    }
+
+    /**
+     * Waits for the bars interruptibly, so a cancelled job stops waiting; the shared load itself keeps running.
+     */
+    public BarColumns load(String symbol, String range, String interval) {
+        try {
+            return loadAsync(symbol, range, interval).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while loading " + symbol);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new CompletionException(e.getCause());
+        }
+    }
+
+    /**
+     * Loads many symbols in parallel on virtual threads. Symbols that fail to load map to empty bars.
+     */
+    public Map<String, BarColumns> fetchMany(Collection<String> symbols, String range, String interval) {
+        Map<String, CompletableFuture<BarColumns>> futures = new LinkedHashMap<>();
+        for (String symbol : symbols) {
+            futures.computeIfAbsent(symbol, s -> loadAsync(s, range, interval));
+        }
+        Map<String, BarColumns> result = new LinkedHashMap<>();
+        futures.forEach((symbol, future) -> {
+            try {
+                result.put(symbol, future.join());
+            } catch (CompletionException e) {
+                log.error("Failed to load bars for {} error message:: {}", symbol, e.getCause().getMessage());
+                result.put(symbol, BarColumns.empty());
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Loads bars on a virtual thread, joining a load of the same bars already in flight. Lets callers start work
+     * on each symbol as soon as its bars arrive instead of waiting for a whole {@link #fetchMany batch}.
+     */
+    public CompletableFuture<BarColumns> loadAsync(String symbol, String range, String interval) {
+        String key = symbol + "|" + range + "|" + interval;
+        CompletableFuture<BarColumns> future = inFlight.computeIfAbsent(key,
+                k -> CompletableFuture.supplyAsync(() -> loadNow(symbol, range, interval), fetchExecutor));
+        future.whenComplete((bars, error) -> inFlight.remove(key, future));
+        return future;
+    }
+
+    private BarColumns loadNow(String symbol, String range, String interval) {
+        Instant now = Instant.now(upstream.clock());
+        long from = MarketTime.rangeStart(range, now);
+        if (!barStore.covers(symbol, interval, from)) {
+            for (String finer : MarketTime.INTERVALS) {
+                if (!MarketTime.nests(finer, interval)) {
+                    continue;
+                }
+                long finerFrom = MarketTime.bucketStart(interval, from);
+                if (barStore.covers(symbol, finer, finerFrom)) {
+                    log.info("Resampling {} {} bars to {}", symbol, finer, interval);
+                    return BarResampler.resample(loadRange(symbol, range, finer, finerFrom, now), interval);
+                }
+            }
+        }
+        return loadRange(symbol, range, interval, from, now);
+    }
+
+    private BarColumns loadRange(String symbol, String range, String interval, long from, Instant now) {
+        return withStoreLock(symbol, interval, () -> loadRangeLocked(symbol, range, interval, from, now));
+    }
+
+    /**
+     * Runs {@code action} holding the lock of the (symbol, interval) store file. The lock is created on first use
+     * and dropped once no thread holds or waits for it.
+     */
+    private <T> T withStoreLock(String symbol, String interval, Supplier<T> action) {
+        String key = symbol + "|" + interval;
+        StoreLock storeLock = storeLocks.compute(key, (k, existing) -> {
+            StoreLock lock = existing != null ? existing : new StoreLock();
+            lock.users++;
+            return lock;
+        });
+        storeLock.lock.lock();
+        try {
+            return action.get();
+        } finally {
+            storeLock.lock.unlock();
+            storeLocks.computeIfPresent(key, (k, lock) -> --lock.users == 0 ? null : lock);
+        }
+    }
+
+    /**
+     * Merges bars from outside the upstream source, such as a CSV dump, into the stored series of the configured
+     * source. Runs under the same store lock as loads, so neither side loses the other's bars.
+     *
+     * @return the stored series after the merge
+     */
+    public BarColumns importBars(String symbol, String interval, BarColumns imported) {
+        return withStoreLock(symbol, interval, () -> {
+            var stored = barStore.read(symbol, interval);
+            BarColumns merged = stored.map(bars -> bars.columns().merge(imported)).orElse(imported);
+            // Coverage only grows across imported bars that touch the stored window; a gap stays uncovered, so the
+            // next load fetches it instead of serving a series with missing bars
+            long coveredFrom = stored.map(bars -> imported.lastTime() >= bars.coveredFrom()
+                    ? Math.min(bars.coveredFrom(), imported.firstTime())
+                    : bars.coveredFrom())
+                    .orElse(imported.firstTime());
+            // Imported history is complete up to its last bar; newer bars are picked up by the next delta fetch
+            long fetchedAt = stored.map(bars -> Math.max(bars.fetchedAt(), imported.lastTime()))
+                    .orElse(imported.lastTime());
+            barStore.write(symbol, interval, merged, coveredFrom, fetchedAt);
+            return merged;
+        });
+    }
+
+    /**
+     * Reads, tops up and writes back the stored series; callers hold the (symbol, interval) store lock.
+     */
+    private BarColumns loadRangeLocked(String symbol, String range, String interval, long from, Instant now) {
+        long maxAge = MarketTime.intervalDuration(interval).toSeconds();
+
+        Optional<LocalBarStore.StoredBars> stored = barStore.read(symbol, interval);
+        if (stored.isPresent() && stored.get().coveredFrom() <= from) {
+            LocalBarStore.StoredBars bars = stored.get();
+            if (now.getEpochSecond() - bars.fetchedAt() < maxAge) {
+                log.info("Serving {} {} {} from local bar store", symbol, range, interval);
+                return bars.columns().sliceFrom(from);
+            }
+            if (!bars.columns().isEmpty()) {
+                return fetchDelta(symbol, interval, bars, from, now);
+            }
+        }
+
+        BarColumns fetched = upstream.fetch(symbol, range, interval);
+        if (fetched.isEmpty()) {
+            // Upstream unavailable: fall back to whatever is stored so runs keep working offline
+            return stored.map(bars -> bars.columns().sliceFrom(from)).orElse(fetched);
+        }
+
+        BarColumns merged = stored.map(bars -> bars.columns().merge(fetched)).orElse(fetched);
+        // Stored history only stays contiguous with the new window if it was fetched after the window starts
+        long coveredFrom = stored.filter(bars -> bars.fetchedAt() >= from)
+                .map(bars -> Math.min(bars.coveredFrom(), from))
+                .orElse(from);
+        barStore.write(symbol, interval, merged, coveredFrom, now.getEpochSecond());
+        return merged.sliceFrom(from);
+    }
+
+    /**
+     * Store file lock with the number of threads holding or waiting for it; {@code users} is only changed inside
+     * {@code storeLocks.compute}. ReentrantLock rather than synchronized, so virtual threads waiting for a slow
+     * upstream fetch do not pin their carrier.
+     */
+    private static final class StoreLock {
+        private final ReentrantLock lock = new ReentrantLock();
+        private int users;
+    }
+
+    /**
+     * Asks upstream only for the window after the last stored bar and merges it into the stored series. The last
+     * stored bar is requested again because it may have been an unfinished bar when it was saved.
+     */
+    private BarColumns fetchDelta(String symbol, String interval, LocalBarStore.StoredBars bars, long from,
+            Instant now) {
+        long period1 = bars.columns().lastTime();
+        BarColumns delta = upstream.fetch(symbol, period1, now.getEpochSecond(), interval);
+        if (delta.isEmpty()) {
+            log.warn("Delta fetch for {} {} returned no bars, serving stored data", symbol, interval);
+            return bars.columns().sliceFrom(from);
+        }
+        log.info("Delta fetch for {} {} returned {} bars since {}", symbol, interval, delta.size(), period1);
+        BarColumns merged = bars.columns().merge(delta);
+        barStore.write(symbol, interval, merged, bars.coveredFrom(), now.getEpochSecond());
+        return merged.sliceFrom(from);
+    }
+}
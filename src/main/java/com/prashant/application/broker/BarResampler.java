@@ -0,0 +1,56 @@
+package com.prashant.application.broker;
+
+/**
+ * Builds bars of a coarser interval from a finer series in a single pass over the columns. Each output bar
+ * starts at its true {@link MarketTime#bucketStart bucket boundary}; open is the first open, high/low the
+ * extremes, close the last close and volume the sum of the bars in the bucket.
+ */
+public final class BarResampler {
+
+    private BarResampler() {
+    }
+
+    public static BarColumns resample(BarColumns source, String interval) {
+        int size = source.size();
+        long[] time = new long[size];
+        double[] open = new double[size];
+        double[] high = new double[size];
+        double[] low = new double[size];
+        double[] close = new double[size];
+        double[] volume = new double[size];
+        long[] srcTime = source.time();
+        double[] srcOpen = source.open();
+        double[] srcHigh = source.high();
+        double[] srcLow = source.low();
+        double[] srcClose = source.close();
+        double[] srcVolume = source.volume();
+
+        int n = -1;
+        long bucketEnd = Long.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            long t = srcTime[i];
+            if (n < 0 || t >= bucketEnd) {
+                // Calendar math only when crossing into a new bucket
+                long start = MarketTime.bucketStart(interval, t);
+                bucketEnd = MarketTime.barEnd(interval, start);
+                n++;
+                time[n] = start;
+                open[n] = srcOpen[i];
+                high[n] = srcHigh[i];
+                low[n] = srcLow[i];
+                close[n] = srcClose[i];
+                volume[n] = srcVolume[i];
+            } else {
+                if (srcHigh[i] > high[n]) {
+                    high[n] = srcHigh[i];
+                }
+                if (srcLow[i] < low[n]) {
+                    low[n] = srcLow[i];
+                }
+                close[n] = srcClose[i];
+                volume[n] += srcVolume[i];
+            }
+        }
+        return new BarColumns(time, open, high, low, close, volume, n + 1);
+    }
+}
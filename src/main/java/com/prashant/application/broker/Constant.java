@@ -12,6 +12,12 @@ public class Constant {
     public static final String CLOSE = "close";
     public static final String VOLUME = "volume";
 
-    public static final String YAHOO_FINANCE_URL = "https://query1.finance.yahoo.com/v8/finance/chart/%s?region=US&lang=en-US&includePrePost=false&interval=%s&useYfid=true&range=%s&corsDomain=finance.yahoo.com&.tsrc=finance";
+    public static final String SOURCE_YAHOO = "yahoo";
+    public static final String SOURCE_REPLAY = "replay";
+    public static final String SOURCE_STUB = "stub";
+
+    public static final String YAHOO_FINANCE_BASE_URL = "https://query1.finance.yahoo.com";
+    public static final String YAHOO_FINANCE_URL = "%s/v8/finance/chart/%s?region=US&lang=en-US&includePrePost=false&interval=%s&useYfid=true&range=%s&corsDomain=finance.yahoo.com&.tsrc=finance";
+    public static final String YAHOO_FINANCE_PERIOD_URL = "%s/v8/finance/chart/%s?region=US&lang=en-US&includePrePost=false&interval=%s&useYfid=true&period1=%d&period2=%d&corsDomain=finance.yahoo.com&.tsrc=finance";
 
 }
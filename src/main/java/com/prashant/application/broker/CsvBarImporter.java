@@ -0,0 +1,49 @@
+package com.prashant.application.broker;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Bulk loads historical bars from CSV dumps into the {@link LocalBarStore} through {@link BarDataService}, merging
+ * with any bars already stored for the symbol and interval of the configured market data source.
+ */
+@Service
+@Slf4j
+public class CsvBarImporter {
+
+    private final BarDataService barDataService;
+
+    public CsvBarImporter(BarDataService barDataService) {
+        this.barDataService = barDataService;
+    }
+
+    public record ImportReport(String symbol, String interval, int rows, long rejected, long millis,
+            long rowsPerSecond, List<String> errors) {
+    }
+
+    public ImportReport importCsv(Path file, String symbol, String interval) {
+        long start = System.nanoTime();
+        CsvBarParser.Result result;
+        try {
+            result = CsvBarParser.parse(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + file, e);
+        }
+        BarColumns imported = result.bars();
+        if (!imported.isEmpty()) {
+            barDataService.importBars(symbol, interval, imported);
+        }
+        long nanos = System.nanoTime() - start;
+        long rowsPerSecond = nanos > 0 ? (long) (imported.size() * 1e9 / nanos) : imported.size();
+        log.info("Imported {} rows ({} rejected) for {} {} from {} in {} ms ({} rows/s)", imported.size(),
+                result.rejected(), symbol, interval, file, nanos / 1_000_000, rowsPerSecond);
+        return new ImportReport(symbol, interval, imported.size(), result.rejected(), nanos / 1_000_000,
+                rowsPerSecond, result.errors());
+    }
+}
@@ -0,0 +1,415 @@
+package com.prashant.application.broker;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Parser for {@code time,open,high,low,close,volume} CSV files. The file is memory-mapped in newline aligned
+ * chunks that are parsed in parallel straight from the mapped bytes, without creating a {@code String} per line.
+ * <p>
+ * {@code time} is an epoch second, an epoch millisecond, or an ISO date / date-time ({@code 2024-01-31},
+ * {@code 2024-01-31 09:15:00}, {@code 2024-01-31T09:15}) interpreted as UTC. A header line is skipped. Lines that
+ * cannot be parsed are rejected and reported with their 1-based line number. Fields may be enclosed in double
+ * quotes, as spreadsheet exports do, but may not contain commas.
+ */
+public final class CsvBarParser {
+
+    private static final long TARGET_CHUNK_BYTES = 64L << 20;
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final double[] POW10 = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12,
+            1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+    private CsvBarParser() {
+    }
+
+    /**
+     * Parsed bars in file order, the number of rejected lines and messages for the first rejected lines.
+     */
+    public record Result(BarColumns bars, long rejected, List<String> errors) {
+    }
+
+    public static Result parse(Path file) throws IOException {
+        return parse(file, 0);
+    }
+
+    /**
+     * Parses with chunks of about {@code chunkBytes}, or the size derived from the file and the cores when not
+     * positive.
+     */
+    static Result parse(Path file, long chunkBytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long[] bounds = chunkBounds(channel, size, chunkBytes > 0 ? chunkBytes : chunkBytes(size));
+            int chunks = bounds.length - 1;
+            Chunk[] parsed = new Chunk[chunks];
+            IntStream.range(0, chunks).parallel().forEach(c -> {
+                try {
+                    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, bounds[c],
+                            bounds[c + 1] - bounds[c]);
+                    parsed[c] = parseChunk(buffer, c == 0);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            return combine(parsed);
+        }
+    }
+
+    private static long chunkBytes(long size) {
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        return Math.max(1 << 20, Math.min(TARGET_CHUNK_BYTES, size / parallelism + 1));
+    }
+
+    /**
+     * Splits the file into chunks of roughly {@code chunkBytes} whose boundaries fall just after a newline.
+     */
+    private static long[] chunkBounds(FileChannel channel, long size, long chunkBytes) throws IOException {
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        long position = chunkBytes;
+        while (position < size) {
+            MappedByteBuffer probe = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                    Math.min(1 << 16, size - position));
+            int i = 0;
+            while (i < probe.limit() && probe.get(i) != '\n') {
+                i++;
+            }
+            if (i == probe.limit()) {
+                // Extremely long line, move on and let the next probe find a newline
+                position += probe.limit();
+                continue;
+            }
+            long boundary = position + i + 1;
+            if (boundary < size) {
+                bounds.add(boundary);
+            }
+            position = boundary + chunkBytes;
+        }
+        bounds.add(size);
+        return bounds.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static Chunk parseChunk(MappedByteBuffer buffer, boolean firstChunk) {
+        Chunk chunk = new Chunk(Math.max(16, buffer.limit() / 48));
+        int limit = buffer.limit();
+        int pos = 0;
+        int line = 0;
+        double[] fields = new double[5];
+        while (pos < limit) {
+            int end = pos;
+            while (end < limit && buffer.get(end) != '\n') {
+                end++;
+            }
+            line++;
+            int lineEnd = end > pos && buffer.get(end - 1) == '\r' ? end - 1 : end;
+            if (lineEnd > pos) {
+                byte first = buffer.get(pos) == '"' && lineEnd > pos + 1 ? buffer.get(pos + 1) : buffer.get(pos);
+                boolean header = firstChunk && line == 1 && !(first >= '0' && first <= '9');
+                if (!header) {
+                    String error = parseLine(buffer, pos, lineEnd, fields, chunk);
+                    if (error != null) {
+                        chunk.reject(line, error);
+                    }
+                }
+            }
+            pos = end + 1;
+        }
+        chunk.lines = line;
+        return chunk;
+    }
+
+    /**
+     * Parses one line into the chunk. Returns an error message if the line is malformed.
+     */
+    private static String parseLine(MappedByteBuffer buffer, int start, int end, double[] fields, Chunk chunk) {
+        int comma = indexOf(buffer, start, end, (byte) ',');
+        if (comma < 0) {
+            return "expected 6 columns";
+        }
+        long time = parseTime(buffer, start, comma);
+        if (time == Long.MIN_VALUE) {
+            return "invalid time";
+        }
+        int pos = comma + 1;
+        for (int f = 0; f < fields.length; f++) {
+            int next = indexOf(buffer, pos, end, (byte) ',');
+            int fieldEnd = next < 0 ? end : next;
+            if (next < 0 && f < fields.length - 1) {
+                return "expected 6 columns";
+            }
+            double value = parseDouble(buffer, pos, fieldEnd);
+            if (Double.isNaN(value)) {
+                return "invalid number in column " + (f + 2);
+            }
+            fields[f] = value;
+            pos = fieldEnd + 1;
+        }
+        chunk.add(time, fields);
+        return null;
+    }
+
+    private static int indexOf(MappedByteBuffer buffer, int from, int to, byte b) {
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) == b) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static long parseTime(MappedByteBuffer buffer, int start, int end) {
+        long field = trim(buffer, start, end);
+        start = (int) (field >>> 32);
+        end = (int) field;
+        if (end - start >= 10 && buffer.get(start + 4) == '-' && buffer.get(start + 7) == '-') {
+            long year = digits(buffer, start, start + 4);
+            long month = digits(buffer, start + 5, start + 7);
+            long day = digits(buffer, start + 8, start + 10);
+            if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31) {
+                return Long.MIN_VALUE;
+            }
+            long seconds = 0;
+            if (end - start >= 16) {
+                byte sep = buffer.get(start + 10);
+                long hour = digits(buffer, start + 11, start + 13);
+                long minute = digits(buffer, start + 14, start + 16);
+                long second = end - start >= 19 ? digits(buffer, start + 17, start + 19) : 0;
+                if ((sep != 'T' && sep != ' ') || hour < 0 || minute < 0 || second < 0) {
+                    return Long.MIN_VALUE;
+                }
+                seconds = hour * 3600 + minute * 60 + second;
+            } else if (end - start != 10) {
+                return Long.MIN_VALUE;
+            }
+            try {
+                return LocalDate.of((int) year, (int) month, (int) day).toEpochDay() * 86_400L + seconds;
+            } catch (DateTimeException e) {
+                return Long.MIN_VALUE;
+            }
+        }
+        long epoch = digits(buffer, start, end);
+        if (epoch < 0) {
+            return Long.MIN_VALUE;
+        }
+        return epoch > 100_000_000_000L ? epoch / 1000 : epoch;
+    }
+
+    /**
+     * Bounds of a field without enclosing double quotes and the spaces around and inside them, packed as
+     * {@code start << 32 | end} to avoid an allocation per field.
+     */
+    private static long trim(MappedByteBuffer buffer, int start, int end) {
+        while (start < end && buffer.get(start) == ' ') {
+            start++;
+        }
+        while (end > start && buffer.get(end - 1) == ' ') {
+            end--;
+        }
+        if (end - start >= 2 && buffer.get(start) == '"' && buffer.get(end - 1) == '"') {
+            return trim(buffer, start + 1, end - 1);
+        }
+        return (long) start << 32 | end;
+    }
+
+    /**
+     * Unsigned decimal integer, or -1 if the range is empty or contains a non-digit.
+     */
+    private static long digits(MappedByteBuffer buffer, int start, int end) {
+        if (start >= end || end - start > 18) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            int d = buffer.get(i) - '0';
+            if (d < 0 || d > 9) {
+                return -1;
+            }
+            value = value * 10 + d;
+        }
+        return value;
+    }
+
+    /**
+     * Parses {@code [-+]digits[.digits][e[-+]digits]}, returning NaN when malformed.
+     */
+    private static double parseDouble(MappedByteBuffer buffer, int start, int end) {
+        long field = trim(buffer, start, end);
+        start = (int) (field >>> 32);
+        end = (int) field;
+        if (start >= end) {
+            return Double.NaN;
+        }
+        int i = start;
+        boolean negative = false;
+        byte b = buffer.get(i);
+        if (b == '-' || b == '+') {
+            negative = b == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int mantissaDigits = 0;
+        int scale = 0;
+        boolean seenDigit = false;
+        boolean seenDot = false;
+        for (; i < end; i++) {
+            b = buffer.get(i);
+            if (b >= '0' && b <= '9') {
+                seenDigit = true;
+                if (mantissaDigits < 18) {
+                    mantissa = mantissa * 10 + (b - '0');
+                    if (mantissa != 0) {
+                        mantissaDigits++;
+                    }
+                    if (seenDot) {
+                        scale--;
+                    }
+                } else if (!seenDot) {
+                    scale++;
+                }
+            } else if (b == '.' && !seenDot) {
+                seenDot = true;
+            } else {
+                break;
+            }
+        }
+        if (!seenDigit) {
+            return Double.NaN;
+        }
+        if (i < end) {
+            b = buffer.get(i);
+            if (b != 'e' && b != 'E') {
+                return Double.NaN;
+            }
+            i++;
+            boolean negativeExponent = false;
+            if (i < end && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+                negativeExponent = buffer.get(i) == '-';
+                i++;
+            }
+            long exponent = digits(buffer, i, end);
+            if (exponent < 0 || exponent > 400) {
+                return Double.NaN;
+            }
+            scale += (int) (negativeExponent ? -exponent : exponent);
+        }
+        double value;
+        if (scale == 0) {
+            value = mantissa;
+        } else if (scale < 0 && -scale < POW10.length) {
+            value = mantissa / POW10[-scale];
+        } else if (scale > 0 && scale < POW10.length) {
+            value = mantissa * POW10[scale];
+        } else {
+            value = mantissa * Math.pow(10, scale);
+        }
+        return negative ? -value : value;
+    }
+
+    private static Result combine(Chunk[] chunks) {
+        int total = 0;
+        long rejected = 0;
+        for (Chunk chunk : chunks) {
+            total += chunk.size;
+            rejected += chunk.rejected;
+        }
+        long[] time = new long[total];
+        double[][] values = new double[5][total];
+        List<String> errors = new ArrayList<>();
+        int offset = 0;
+        long lineOffset = 0;
+        for (Chunk chunk : chunks) {
+            System.arraycopy(chunk.time, 0, time, offset, chunk.size);
+            for (int c = 0; c < values.length; c++) {
+                System.arraycopy(chunk.values[c], 0, values[c], offset, chunk.size);
+            }
+            for (int e = 0; e < chunk.errorLines.size() && errors.size() < MAX_REPORTED_ERRORS; e++) {
+                errors.add("line " + (lineOffset + chunk.errorLines.get(e)) + ": " + chunk.errorMessages.get(e));
+            }
+            offset += chunk.size;
+            lineOffset += chunk.lines;
+        }
+        BarColumns bars = new BarColumns(time, values[0], values[1], values[2], values[3], values[4], total);
+        return new Result(sorted(bars), rejected, errors);
+    }
+
+    /**
+     * Returns the bars ordered by time, keeping the last row for duplicate times.
+     */
+    private static BarColumns sorted(BarColumns bars) {
+        long[] time = bars.time();
+        boolean ordered = true;
+        for (int i = 1; i < bars.size() && ordered; i++) {
+            ordered = time[i - 1] < time[i];
+        }
+        if (ordered) {
+            return bars;
+        }
+        Integer[] order = new Integer[bars.size()];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, (a, b) -> time[a] != time[b] ? Long.compare(time[a], time[b]) : Integer.compare(a, b));
+        int n = 0;
+        long[] t = new long[order.length];
+        double[][] columns = { bars.open(), bars.high(), bars.low(), bars.close(), bars.volume() };
+        double[][] out = new double[5][order.length];
+        for (int k = 0; k < order.length; k++) {
+            int i = order[k];
+            if (n > 0 && t[n - 1] == time[i]) {
+                n--;
+            }
+            t[n] = time[i];
+            for (int c = 0; c < columns.length; c++) {
+                out[c][n] = columns[c][i];
+            }
+            n++;
+        }
+        return new BarColumns(t, out[0], out[1], out[2], out[3], out[4], n);
+    }
+
+    private static final class Chunk {
+        private long[] time;
+        private final double[][] values;
+        private int size;
+        private int lines;
+        private long rejected;
+        private final List<Integer> errorLines = new ArrayList<>();
+        private final List<String> errorMessages = new ArrayList<>();
+
+        Chunk(int capacity) {
+            time = new long[capacity];
+            values = new double[5][capacity];
+        }
+
+        void add(long t, double[] fields) {
+            if (size == time.length) {
+                int capacity = size << 1;
+                time = Arrays.copyOf(time, capacity);
+                for (int c = 0; c < values.length; c++) {
+                    values[c] = Arrays.copyOf(values[c], capacity);
+                }
+            }
+            time[size] = t;
+            for (int c = 0; c < values.length; c++) {
+                values[c][size] = fields[c];
+            }
+            size++;
+        }
+
+        void reject(int line, String message) {
+            rejected++;
+            if (errorLines.size() < MAX_REPORTED_ERRORS) {
+                errorLines.add(line);
+                errorMessages.add(message);
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.prashant.application.broker;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+/**
+ * Replays bars from files in {@code strategymaster.market-data.replay.dir}. For each symbol and interval either a
+ * binary {@code <symbol>_<interval>.bars} file in the {@link LocalBarStore} format or a
+ * {@code <symbol>_<interval>.csv} file in the {@link CsvBarParser} format is read.
+ * <p>
+ * Ranges are measured from {@code strategymaster.market-data.replay.as-of} when set, so historical dumps can be
+ * replayed with the same {@code range} values as live data.
+ */
+@Component(Constant.SOURCE_REPLAY)
+@Slf4j
+public class FileReplayMarketDataSource implements MarketDataSource {
+
+    private final Path directory;
+    private final LocalBarStore binaryFiles;
+    private final Clock clock;
+
+    public FileReplayMarketDataSource(@Value("${strategymaster.market-data.replay.dir:replay}") String directory,
+            @Value("${strategymaster.market-data.replay.as-of:}") String asOf) {
+        this.directory = Path.of(directory);
+        this.binaryFiles = new LocalBarStore(directory);
+        this.clock = asOf.isBlank()
+                ? Clock.systemUTC()
+                : Clock.fixed(LocalDate.parse(asOf).plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant(),
+                        ZoneOffset.UTC);
+    }
+
+    @Override
+    public BarColumns fetch(String symbol, String range, String interval) {
+        return readAll(symbol, interval).sliceFrom(MarketTime.rangeStart(range, Instant.now(clock)));
+    }
+
+    @Override
+    public BarColumns fetch(String symbol, long period1, long period2, String interval) {
+        return readAll(symbol, interval).sliceBetween(period1, period2);
+    }
+
+    @Override
+    public Clock clock() {
+        return clock;
+    }
+
+    private BarColumns readAll(String symbol, String interval) {
+        var stored = binaryFiles.read(symbol, interval);
+        if (stored.isPresent()) {
+            return stored.get().columns();
+        }
+        Path csv = directory.resolve((symbol + "_" + interval).replaceAll("[^A-Za-z0-9._-]", "_") + ".csv");
+        if (!Files.isRegularFile(csv)) {
+            log.error("No replay file for {} {} in {}", symbol, interval, directory);
+            return BarColumns.empty();
+        }
+        try {
+            CsvBarParser.Result result = CsvBarParser.parse(csv);
+            if (result.rejected() > 0) {
+                log.warn("Skipped {} malformed lines in {} :: {}", result.rejected(), csv, result.errors());
+            }
+            return result.bars();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read replay file " + csv, e);
+        }
+    }
+}
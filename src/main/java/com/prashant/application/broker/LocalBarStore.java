@@ -0,0 +1,148 @@
+package com.prashant.application.broker;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+/**
+ * On-disk OHLCV store with one memory-mapped file per (symbol, interval).
+ * <p>
+ * File layout (little endian): a 32 byte header {@code magic, version, count, reserved, coveredFrom, fetchedAt}
+ * followed by the {@code time} column as longs and the open/high/low/close/volume columns as doubles.
+ * Files are written to a temporary sibling and atomically moved into place, so readers never see a partial write.
+ */
+@Component
+@Slf4j
+public class LocalBarStore {
+
+    private static final int MAGIC = 0x4241_5253; // "BARS"
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 32;
+    private static final int BYTES_PER_BAR = Long.BYTES + 5 * Double.BYTES;
+
+    private final Path directory;
+
+    public LocalBarStore(@Value("${strategymaster.bar-store.dir:bar-store}") String directory) {
+        this.directory = Path.of(directory);
+    }
+
+    /**
+     * Bars held for a symbol/interval. {@code coveredFrom} is the earliest epoch second the stored history was
+     * requested from and {@code fetchedAt} the epoch second of the last successful upstream fetch.
+     */
+    public record StoredBars(BarColumns columns, long coveredFrom, long fetchedAt) {
+    }
+
+    /**
+     * Store rooted in a sub directory of this one.
+     */
+    public LocalBarStore subStore(String name) {
+        return new LocalBarStore(directory.resolve(name).toString());
+    }
+
+    /**
+     * Whether stored bars exist for the symbol/interval with history from {@code epochSecond} on. Only reads the
+     * file header.
+     */
+    public boolean covers(String symbol, String interval, long epochSecond) {
+        Path file = fileFor(symbol, interval);
+        if (!Files.isRegularFile(file)) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                return false;
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            return header.getInt(0) == MAGIC && header.getInt(4) == VERSION && header.getInt(8) > 0
+                    && header.getLong(16) <= epochSecond;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public Optional<StoredBars> read(String symbol, String interval) {
+        Path file = fileFor(symbol, interval);
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                log.warn("Ignoring bar store file with unknown format :: {}", file);
+                return Optional.empty();
+            }
+            int count = buffer.getInt(8);
+            if (channel.size() < HEADER_BYTES + (long) count * BYTES_PER_BAR) {
+                log.warn("Ignoring truncated bar store file :: {}", file);
+                return Optional.empty();
+            }
+            long coveredFrom = buffer.getLong(16);
+            long fetchedAt = buffer.getLong(24);
+
+            long[] time = new long[count];
+            double[] open = new double[count];
+            double[] high = new double[count];
+            double[] low = new double[count];
+            double[] close = new double[count];
+            double[] volume = new double[count];
+            int offset = HEADER_BYTES;
+            buffer.slice(offset, count * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN).asLongBuffer().get(time);
+            offset += count * Long.BYTES;
+            for (double[] column : new double[][] { open, high, low, close, volume }) {
+                buffer.slice(offset, count * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().get(column);
+                offset += count * Double.BYTES;
+            }
+            return Optional.of(new StoredBars(new BarColumns(time, open, high, low, close, volume, count),
+                    coveredFrom, fetchedAt));
+        } catch (IOException e) {
+            log.error("Error occurred while reading bar store file {} error message:: {}", file, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public void write(String symbol, String interval, BarColumns bars, long coveredFrom, long fetchedAt) {
+        Path file = fileFor(symbol, interval);
+        int count = bars.size();
+        long length = HEADER_BYTES + (long) count * BYTES_PER_BAR;
+        try {
+            Files.createDirectories(directory);
+            Path tmp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+                buffer.order(ByteOrder.LITTLE_ENDIAN);
+                buffer.putInt(MAGIC).putInt(VERSION).putInt(count).putInt(0).putLong(coveredFrom).putLong(fetchedAt);
+                buffer.asLongBuffer().put(bars.time(), 0, count);
+                int offset = HEADER_BYTES + count * Long.BYTES;
+                for (double[] column : new double[][] { bars.open(), bars.high(), bars.low(), bars.close(),
+                        bars.volume() }) {
+                    buffer.slice(offset, count * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer()
+                            .put(column, 0, count);
+                    offset += count * Double.BYTES;
+                }
+                buffer.force();
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write bar store file " + file, e);
+        }
+    }
+
+    private Path fileFor(String symbol, String interval) {
+        return directory.resolve((symbol + "_" + interval).replaceAll("[^A-Za-z0-9._-]", "_") + ".bars");
+    }
+}
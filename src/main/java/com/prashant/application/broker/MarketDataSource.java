@@ -0,0 +1,28 @@
+package com.prashant.application.broker;
+
+import java.time.Clock;
+
+/**
+ * Provider of OHLCV bars. Implementations are registered as beans named after the source
+ * ({@link Constant#SOURCE_YAHOO}, {@link Constant#SOURCE_REPLAY}, {@link Constant#SOURCE_STUB}) and selected with
+ * {@code strategymaster.market-data.source}.
+ */
+public interface MarketDataSource {
+
+    /**
+     * Bars for a Yahoo style {@code range} (e.g. {@code 1y}) ending at this source's {@link #clock()}.
+     */
+    BarColumns fetch(String symbol, String range, String interval);
+
+    /**
+     * Bars with times between {@code period1} and {@code period2} in epoch seconds.
+     */
+    BarColumns fetch(String symbol, long period1, long period2, String interval);
+
+    /**
+     * Clock that ranges are measured against. Sources replaying historical data can pin it to the end of the data.
+     */
+    default Clock clock() {
+        return Clock.systemUTC();
+    }
+}
@@ -0,0 +1,120 @@
+package com.prashant.application.broker;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+/**
+ * Translates Yahoo style {@code range} and {@code interval} strings into time spans.
+ */
+public final class MarketTime {
+
+    /**
+     * Supported intervals, finest first.
+     */
+    public static final List<String> INTERVALS = List.of("1m", "2m", "5m", "15m", "30m", "60m", "90m", "1d", "5d",
+            "1wk", "1mo", "3mo");
+
+    private MarketTime() {
+    }
+
+    public static Duration intervalDuration(String interval) {
+        return switch (interval) {
+            case "1m" -> Duration.ofMinutes(1);
+            case "2m" -> Duration.ofMinutes(2);
+            case "5m" -> Duration.ofMinutes(5);
+            case "15m" -> Duration.ofMinutes(15);
+            case "30m" -> Duration.ofMinutes(30);
+            case "60m", "1h" -> Duration.ofHours(1);
+            case "90m" -> Duration.ofMinutes(90);
+            case "1d" -> Duration.ofDays(1);
+            case "5d" -> Duration.ofDays(5);
+            case "1wk" -> Duration.ofDays(7);
+            case "1mo" -> Duration.ofDays(30);
+            case "3mo" -> Duration.ofDays(91);
+            default -> throw new IllegalArgumentException("Unknown interval: " + interval);
+        };
+    }
+
+    /**
+     * First epoch second covered by {@code range} when requested at {@code now}.
+     */
+    public static long rangeStart(String range, Instant now) {
+        ZonedDateTime utcNow = now.atZone(ZoneOffset.UTC);
+        ZonedDateTime start = switch (range) {
+            case "1d" -> utcNow.minusDays(1);
+            case "5d" -> utcNow.minusDays(5);
+            case "1mo" -> utcNow.minusMonths(1);
+            case "3mo" -> utcNow.minusMonths(3);
+            case "6mo" -> utcNow.minusMonths(6);
+            case "1y" -> utcNow.minusYears(1);
+            case "2y" -> utcNow.minusYears(2);
+            case "5y" -> utcNow.minusYears(5);
+            case "10y" -> utcNow.minusYears(10);
+            case "ytd" -> LocalDate.of(utcNow.getYear(), 1, 1).atStartOfDay(ZoneOffset.UTC);
+            case "max" -> Instant.EPOCH.atZone(ZoneOffset.UTC);
+            default -> throw new IllegalArgumentException("Unknown range: " + range);
+        };
+        return start.toEpochSecond();
+    }
+
+    /**
+     * Start of the bar of {@code interval} that contains {@code epochSecond}. Intraday and multi-day bars are
+     * aligned to multiples of their length since the epoch, daily and calendar bars to UTC calendar boundaries
+     * (weeks start on Monday).
+     */
+    public static long bucketStart(String interval, long epochSecond) {
+        return switch (interval) {
+            case "1wk" -> utcDate(epochSecond).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                    .atStartOfDay(ZoneOffset.UTC).toEpochSecond();
+            case "1mo" -> utcDate(epochSecond).withDayOfMonth(1).atStartOfDay(ZoneOffset.UTC).toEpochSecond();
+            case "3mo" -> {
+                LocalDate date = utcDate(epochSecond);
+                yield LocalDate.of(date.getYear(), (date.getMonthValue() - 1) / 3 * 3 + 1, 1)
+                        .atStartOfDay(ZoneOffset.UTC).toEpochSecond();
+            }
+            default -> {
+                long step = intervalDuration(interval).toSeconds();
+                yield Math.floorDiv(epochSecond, step) * step;
+            }
+        };
+    }
+
+    /**
+     * End (exclusive) of the bar of {@code interval} that starts at {@code beginEpochSecond}.
+     */
+    public static long barEnd(String interval, long beginEpochSecond) {
+        return switch (interval) {
+            case "1mo" -> Instant.ofEpochSecond(beginEpochSecond).atZone(ZoneOffset.UTC).plusMonths(1)
+                    .toEpochSecond();
+            case "3mo" -> Instant.ofEpochSecond(beginEpochSecond).atZone(ZoneOffset.UTC).plusMonths(3)
+                    .toEpochSecond();
+            default -> beginEpochSecond + intervalDuration(interval).toSeconds();
+        };
+    }
+
+    /**
+     * Whether bars of {@code coarse} can be built exactly by aggregating bars of {@code fine}.
+     */
+    public static boolean nests(String fine, String coarse) {
+        long fineSeconds = intervalDuration(fine).toSeconds();
+        long coarseSeconds = intervalDuration(coarse).toSeconds();
+        if (fineSeconds >= coarseSeconds) {
+            return false;
+        }
+        return switch (coarse) {
+            case "1wk", "1mo" -> fineSeconds <= 86_400L;
+            case "3mo" -> fineSeconds <= 86_400L || "1mo".equals(fine);
+            default -> coarseSeconds % fineSeconds == 0;
+        };
+    }
+
+    private static LocalDate utcDate(long epochSecond) {
+        return LocalDate.ofEpochDay(Math.floorDiv(epochSecond, 86_400L));
+    }
+}
@@ -0,0 +1,185 @@
+package com.prashant.application.broker;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import jakarta.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * In-process HTTP server that answers Yahoo v8 chart requests with canned JSON, fetched through the regular
+ * {@link YahooFetchService} HTTP and parsing path. Lets the whole backtest pipeline be benchmarked and load tested
+ * without network access.
+ * <p>
+ * A request for {@code SYMBOL} is answered with {@code strategymaster.market-data.stub.dir/SYMBOL.json} when that
+ * file exists, and otherwise with a deterministic synthetic series. The server is started on a loopback port on
+ * first use.
+ */
+@Component(Constant.SOURCE_STUB)
+@Slf4j
+public class StubHttpMarketDataSource implements MarketDataSource {
+
+    private static final String CHART_PATH = "/v8/finance/chart/";
+    private static final int MAX_SYNTHETIC_BARS = 500_000;
+
+    private final RestTemplate restTemplate;
+    private final Path cannedDirectory;
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private YahooFetchService client;
+
+    public StubHttpMarketDataSource(RestTemplate restTemplate,
+            @Value("${strategymaster.market-data.stub.dir:stub}") String cannedDirectory) {
+        this.restTemplate = restTemplate;
+        this.cannedDirectory = Path.of(cannedDirectory);
+    }
+
+    @Override
+    public BarColumns fetch(String symbol, String range, String interval) {
+        return client().fetchSockData(symbol, range, interval);
+    }
+
+    @Override
+    public BarColumns fetch(String symbol, long period1, long period2, String interval) {
+        return client().fetchSockData(symbol, period1, period2, interval);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            serverExecutor.close();
+            server = null;
+            client = null;
+        }
+    }
+
+    private synchronized YahooFetchService client() {
+        if (client == null) {
+            try {
+                server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not start stub chart server", e);
+            }
+            server.createContext(CHART_PATH, this::handle);
+            serverExecutor = Executors.newVirtualThreadPerTaskExecutor();
+            server.setExecutor(serverExecutor);
+            server.start();
+            String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+            log.info("Stub chart server listening on {}", baseUrl);
+            client = new YahooFetchService(restTemplate, baseUrl, Integer.MAX_VALUE);
+        }
+        return client;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String symbol = URLDecoder.decode(exchange.getRequestURI().getPath().substring(CHART_PATH.length()),
+                    StandardCharsets.UTF_8);
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            byte[] body = cannedOrSynthetic(symbol, query);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private byte[] cannedOrSynthetic(String symbol, Map<String, String> query) throws IOException {
+        Path canned = cannedDirectory.resolve(symbol.replaceAll("[^A-Za-z0-9._-]", "_") + ".json");
+        if (Files.isRegularFile(canned)) {
+            return Files.readAllBytes(canned);
+        }
+        String interval = query.getOrDefault("interval", "1d");
+        long step = MarketTime.intervalDuration(interval).toSeconds();
+        long now = Instant.now().getEpochSecond();
+        long from;
+        long to;
+        if (query.containsKey("period1")) {
+            from = Long.parseLong(query.get("period1"));
+            to = Long.parseLong(query.getOrDefault("period2", Long.toString(now)));
+        } else {
+            from = MarketTime.rangeStart(query.getOrDefault("range", "1y"), Instant.ofEpochSecond(now));
+            to = now;
+        }
+        from = Math.max(Math.ceilDiv(from, step) * step, to - step * (MAX_SYNTHETIC_BARS - 1L));
+        return syntheticChart(symbol, from, to, step);
+    }
+
+    /**
+     * Writes a chart response whose prices depend only on the symbol and bar time, so range and delta requests
+     * return consistent bars.
+     */
+    private static byte[] syntheticChart(String symbol, long from, long to, long step) {
+        int n = to < from ? 0 : (int) ((to - from) / step + 1);
+        long seed = symbol.hashCode();
+        StringBuilder timestamps = new StringBuilder(n * 11);
+        StringBuilder open = new StringBuilder(n * 8);
+        StringBuilder high = new StringBuilder(n * 8);
+        StringBuilder low = new StringBuilder(n * 8);
+        StringBuilder close = new StringBuilder(n * 8);
+        StringBuilder volume = new StringBuilder(n * 8);
+        for (int i = 0; i < n; i++) {
+            long t = from + i * step;
+            double base = 100 + (seed & 0xFF);
+            double c = base * (1 + 0.25 * Math.sin(t / 5_000_000d + seed) + 0.05 * Math.sin(t / 400_000d));
+            double noise = ((mix(seed ^ t) >>> 11) * 0x1.0p-53 - 0.5) * 0.02 * base;
+            double o = c - noise;
+            double h = Math.max(o, c) + Math.abs(noise);
+            double l = Math.min(o, c) - Math.abs(noise);
+            String sep = i == 0 ? "" : ",";
+            timestamps.append(sep).append(t);
+            open.append(sep).append(YahooChartParser.round3(o));
+            high.append(sep).append(YahooChartParser.round3(h));
+            low.append(sep).append(YahooChartParser.round3(l));
+            close.append(sep).append(YahooChartParser.round3(c));
+            volume.append(sep).append(100_000 + (mix(t ^ ~seed) & 0xFFFF));
+        }
+        String json = "{\"chart\":{\"result\":[{\"meta\":{\"symbol\":\"" + symbol.replace("\"", "") + "\"},"
+                + "\"timestamp\":[" + timestamps + "],\"indicators\":{\"quote\":[{"
+                + "\"open\":[" + open + "],\"high\":[" + high + "],\"low\":[" + low + "],"
+                + "\"close\":[" + close + "],\"volume\":[" + volume + "]}]}}],\"error\":null}}";
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+}
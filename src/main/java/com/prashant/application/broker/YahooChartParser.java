@@ -0,0 +1,200 @@
+package com.prashant.application.broker;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Token-level parser for the Yahoo v8 chart response. Walks the JSON once and writes timestamps and quote
+ * values straight into primitive columns, without building a JSON tree or per-bar objects.
+ */
+public final class YahooChartParser {
+
+    private YahooChartParser() {
+    }
+
+    public static BarColumns parse(Reader in) throws IOException {
+        Columns columns = new Columns();
+        try (JsonReader reader = new JsonReader(in)) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (Constant.CHART.equals(reader.nextName()) && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                    readChart(reader, columns);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        }
+        return columns.toBars();
+    }
+
+    /**
+     * Rounds to three decimals arithmetically, matching the precision previously produced by
+     * {@code DecimalFormat("0.000")}.
+     */
+    static double round3(double value) {
+        return Math.rint(value * 1000d) / 1000d;
+    }
+
+    private static void readChart(JsonReader reader, Columns columns) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (Constant.RESULT.equals(reader.nextName()) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                reader.beginArray();
+                if (reader.hasNext()) {
+                    readResult(reader, columns);
+                }
+                while (reader.hasNext()) {
+                    reader.skipValue();
+                }
+                reader.endArray();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+
+    private static void readResult(JsonReader reader, Columns columns) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (Constant.TIMESTAMP.equals(name) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    columns.addTime(reader.nextLong());
+                }
+                reader.endArray();
+            } else if (Constant.INDICATORS.equals(name) && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                readIndicators(reader, columns);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+
+    private static void readIndicators(JsonReader reader, Columns columns) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (Constant.QUOTE.equals(reader.nextName()) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                reader.beginArray();
+                if (reader.hasNext()) {
+                    readQuote(reader, columns);
+                }
+                while (reader.hasNext()) {
+                    reader.skipValue();
+                }
+                reader.endArray();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+
+    private static void readQuote(JsonReader reader, Columns columns) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            DoubleColumn target = switch (name) {
+                case Constant.OPEN -> columns.open;
+                case Constant.HIGH -> columns.high;
+                case Constant.LOW -> columns.low;
+                case Constant.CLOSE -> columns.close;
+                case Constant.VOLUME -> columns.volume;
+                default -> null;
+            };
+            if (target == null || reader.peek() != JsonToken.BEGIN_ARRAY) {
+                reader.skipValue();
+                continue;
+            }
+            boolean rounded = target != columns.volume;
+            reader.beginArray();
+            while (reader.hasNext()) {
+                if (reader.peek() == JsonToken.NULL) {
+                    reader.nextNull();
+                    target.add(Double.NaN);
+                } else {
+                    double value = reader.nextDouble();
+                    target.add(rounded ? round3(value) : value);
+                }
+            }
+            reader.endArray();
+        }
+        reader.endObject();
+    }
+
+    private static final class DoubleColumn {
+        private double[] values = new double[256];
+        private int size;
+
+        void add(double value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size << 1);
+            }
+            values[size++] = value;
+        }
+
+        double get(int i) {
+            return i < size ? values[i] : Double.NaN;
+        }
+    }
+
+    private static final class Columns {
+        private long[] time = new long[256];
+        private int timeSize;
+        private final DoubleColumn open = new DoubleColumn();
+        private final DoubleColumn high = new DoubleColumn();
+        private final DoubleColumn low = new DoubleColumn();
+        private final DoubleColumn close = new DoubleColumn();
+        private final DoubleColumn volume = new DoubleColumn();
+
+        void addTime(long epochSecond) {
+            if (timeSize == time.length) {
+                time = Arrays.copyOf(time, timeSize << 1);
+            }
+            time[timeSize++] = epochSecond;
+        }
+
+        /**
+         * Drops bars with a missing open/high/low/close, compacting the columns in place.
+         */
+        BarColumns toBars() {
+            int n = timeSize;
+            long[] t = time;
+            double[] o = withCapacity(open.values, n);
+            double[] h = withCapacity(high.values, n);
+            double[] l = withCapacity(low.values, n);
+            double[] c = withCapacity(close.values, n);
+            double[] v = withCapacity(volume.values, n);
+            int k = 0;
+            for (int i = 0; i < n; i++) {
+                double oi = open.get(i);
+                double hi = high.get(i);
+                double li = low.get(i);
+                double ci = close.get(i);
+                if (Double.isNaN(oi) || Double.isNaN(hi) || Double.isNaN(li) || Double.isNaN(ci)) {
+                    continue;
+                }
+                double vi = volume.get(i);
+                t[k] = t[i];
+                o[k] = oi;
+                h[k] = hi;
+                l[k] = li;
+                c[k] = ci;
+                v[k] = Double.isNaN(vi) ? 0 : vi;
+                k++;
+            }
+            return new BarColumns(t, o, h, l, c, v, k);
+        }
+
+        private static double[] withCapacity(double[] values, int n) {
+            return values.length >= n ? values : Arrays.copyOf(values, n);
+        }
+    }
+}
@@ -1,175 +1,106 @@
 package com.prashant.application.broker;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 import com.vaadin.hilla.exception.EndpointException;
 
 import lombok.extern.slf4j.Slf4j;
 
-import org.springframework.http.HttpEntity;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
-import java.text.DecimalFormat;
-import java.time.Instant;
-import java.time.LocalDate;
-import java.time.ZoneId;
-import java.util.ArrayList;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.Semaphore;
 
-@Service
+@Service(Constant.SOURCE_YAHOO)
 @Slf4j
-public class YahooFetchService {
+public class YahooFetchService implements MarketDataSource {
 
     private final RestTemplate restTemplate;
+    private final String baseUrl;
+    private final Semaphore hostPermits;
 
-    public YahooFetchService(RestTemplate restTemplate) {
+    public YahooFetchService(RestTemplate restTemplate,
+            @Value("${strategymaster.yahoo.base-url:" + Constant.YAHOO_FINANCE_BASE_URL + "}") String baseUrl,
+            @Value("${strategymaster.yahoo.max-concurrent-requests:8}") int maxConcurrentRequests) {
         this.restTemplate = restTemplate;
+        this.baseUrl = baseUrl;
+        this.hostPermits = new Semaphore(maxConcurrentRequests, true);
     }
 
-    private static final DecimalFormat df = new DecimalFormat("0.000");
-
-    public List<StockDataRecord> fetchSockData(String stockName, String range, String interval) {
-        List<StockDataRecord> stockDataRecordList = new ArrayList<>();
-        try {
-            log.info("Request came to fetchDataFromApi with stockName :: {}, range :: {}, interval :: {} ", stockName,
-                    range, interval);
-            String url = String.format(Constant.YAHOO_FINANCE_URL, stockName, interval, range);
-            String stockData = fetchData(url);
-            JsonObject stockDataJson = JsonParser.parseString(stockData).getAsJsonObject();
-            JsonObject jsonChart = stockDataJson.has(Constant.CHART)
-                    ? stockDataJson.get(Constant.CHART).getAsJsonObject()
-                    : null;
-            if (jsonChart == null || !jsonChart.has(Constant.RESULT)) {
-                log.error("chart or result is not available in response");
-                return stockDataRecordList;
-            }
-            JsonArray arrayStockData = jsonChart.get(Constant.RESULT).getAsJsonArray();
-            if (arrayStockData.isEmpty()) {
-                log.error("Result array is empty");
-                return stockDataRecordList;
-            }
-            JsonObject data = arrayStockData.get(0).getAsJsonObject();
-            if (!data.has(Constant.TIMESTAMP) || !data.has(Constant.INDICATORS)) {
-                log.error("Missing timestamp or indicators in data");
-                return stockDataRecordList;
-            }
-            JsonArray timeStamp = data.get(Constant.TIMESTAMP).getAsJsonArray();
-            JsonObject indicators = data.get(Constant.INDICATORS).getAsJsonObject();
-            JsonArray quote = indicators.has(Constant.QUOTE) ? indicators.get(Constant.QUOTE).getAsJsonArray() : null;
+    @Override
+    public BarColumns fetch(String symbol, String range, String interval) {
+        return fetchSockData(symbol, range, interval);
+    }
 
-            if (quote == null || quote.isEmpty()) {
-                log.error("Quote data is missing or empty");
-                return stockDataRecordList;
-            }
+    @Override
+    public BarColumns fetch(String symbol, long period1, long period2, String interval) {
+        return fetchSockData(symbol, period1, period2, interval);
+    }
 
-            JsonArray high = quote.get(0).getAsJsonObject().has(Constant.HIGH)
-                    ? quote.get(0).getAsJsonObject().get(Constant.HIGH).getAsJsonArray()
-                    : null;
-            JsonArray low = quote.get(0).getAsJsonObject().has(Constant.LOW)
-                    ? quote.get(0).getAsJsonObject().get(Constant.LOW).getAsJsonArray()
-                    : null;
-            JsonArray open = quote.get(0).getAsJsonObject().has(Constant.OPEN)
-                    ? quote.get(0).getAsJsonObject().get(Constant.OPEN).getAsJsonArray()
-                    : null;
-            JsonArray close = quote.get(0).getAsJsonObject().has(Constant.CLOSE)
-                    ? quote.get(0).getAsJsonObject().get(Constant.CLOSE).getAsJsonArray()
-                    : null;
-            JsonArray volume = quote.get(0).getAsJsonObject().has(Constant.VOLUME)
-                    ? quote.get(0).getAsJsonObject().get(Constant.VOLUME).getAsJsonArray()
-                    : null;
+    public BarColumns fetchSockData(String stockName, String range, String interval) {
+        log.info("Request came to fetchDataFromApi with stockName :: {}, range :: {}, interval :: {} ", stockName,
+                range, interval);
+        return fetchAndParse(String.format(Constant.YAHOO_FINANCE_URL, baseUrl, stockName, interval, range));
+    }
 
-            JsonArray adjClose = null;
-            if (indicators.has("adjclose")) {
-                JsonArray adjCloseArray = indicators.get("adjclose").getAsJsonArray();
-                if (!adjCloseArray.isEmpty()) {
-                    adjClose = adjCloseArray.get(0).getAsJsonObject().get("adjclose").getAsJsonArray();
-                }
-            }
+    /**
+     * Fetches only the bars between {@code period1} and {@code period2} (epoch seconds) instead of a whole range.
+     */
+    public BarColumns fetchSockData(String stockName, long period1, long period2, String interval) {
+        log.info("Request came to fetchDataFromApi with stockName :: {}, period1 :: {}, period2 :: {}, interval :: {} ",
+                stockName, period1, period2, interval);
+        return fetchAndParse(String.format(Constant.YAHOO_FINANCE_PERIOD_URL, baseUrl, stockName, interval, period1,
+                period2));
+    }
 
-            if (high == null || low == null || open == null || close == null) {
-                log.error("One or more required price arrays are missing");
-                return stockDataRecordList;
-            }
-            for (int i = 0; i < timeStamp.size(); i++) {
-                Double openD = null;
-                Double highD = null;
-                Double lowD = null;
-                Double closeD = null;
-                Double adjCloseD = null;
-                Double volumeD = null;
-                if (!open.get(i).isJsonNull() && open.get(i) != null) {
-                    openD = Double.parseDouble(df.format(open.get(i).getAsDouble()));
-                }
-                if (!high.get(i).isJsonNull() && high.get(i) != null) {
-                    highD = Double.parseDouble(df.format(high.get(i).getAsDouble()));
-                }
-                if (!low.get(i).isJsonNull() && low.get(i) != null) {
-                    lowD = Double.parseDouble(df.format(low.get(i).getAsDouble()));
-                }
-                if (!close.get(i).isJsonNull() && close.get(i) != null) {
-                    closeD = Double.parseDouble(df.format(close.get(i).getAsDouble()));
-                }
-                if (volume != null && !volume.get(i).isJsonNull() && volume.get(i) != null) {
-                    volumeD = Double.parseDouble(df.format(volume.get(i).getAsDouble()));
-                }
-                if (adjClose != null && !adjClose.get(i).isJsonNull() && adjClose.get(i) != null) {
-                    adjCloseD = Double.parseDouble(df.format(adjClose.get(i).getAsDouble()));
-                }
-                if (openD != null && highD != null && lowD != null && closeD != null) {
-                    StockDataRecord stockDataRecord = new StockDataRecord(
-                            convertUnixTimeToDate(timeStamp.get(i).getAsLong()),
-                            highD,
-                            lowD,
-                            openD,
-                            closeD,
-                            adjCloseD,
-                            volumeD);
-                    stockDataRecordList.add(stockDataRecord);
-                }
+    private BarColumns fetchAndParse(String url) {
+        try {
+            BarColumns bars = fetchData(url);
+            if (bars.isEmpty()) {
+                log.error("No complete bars available in response");
             }
-            log.info("timestamp:: {}, high:: {}, low :: {} ,open:: {}, close :: {} ,volume :: {}", timeStamp.size(),
-                    high.size(), low.size(), open.size(), close.size(), volume.size());
+            log.info("bars :: {}", bars.size());
+            return bars;
         } catch (Exception e) {
             log.error("Error occurred in fetchDataFromApi error message:: {}", e.getMessage());
+            return BarColumns.empty();
         }
-        return stockDataRecordList;
-
     }
 
-    private String fetchData(String url) {
-        String result = null;
+    private BarColumns fetchData(String url) {
+        BarColumns result;
         log.info("***** Calling api with url:: {} *****", url);
         try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setAccept(List.of(MediaType.APPLICATION_JSON));
-            headers.set("User-Agent", "Mozilla/5.0");
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-            ResponseEntity<String> resultEntity = restTemplate.exchange(url,
-                    HttpMethod.GET, entity, String.class);
-            result = resultEntity.getBody();
-            if (!resultEntity.getStatusCode().is2xxSuccessful()) {
-                log.error("===============fetch data api call is failed ===============");
-                throw new EndpointException("Fetch Data api failed");
-            }
+            hostPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EndpointException("fetchData method was interrupted");
+        }
+        try {
+            result = restTemplate.execute(url, HttpMethod.GET, request -> {
+                HttpHeaders headers = request.getHeaders();
+                headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+                headers.set("User-Agent", "Mozilla/5.0");
+            }, response -> {
+                if (!response.getStatusCode().is2xxSuccessful()) {
+                    log.error("===============fetch data api call is failed ===============");
+                    throw new EndpointException("Fetch Data api failed");
+                }
+                return YahooChartParser.parse(new InputStreamReader(response.getBody(), StandardCharsets.UTF_8));
+            });
         } catch (Exception e) {
             log.error("Error occurred in fetchData error message:: {}", e.getMessage());
             throw new EndpointException("fetchData method is failed");
+        } finally {
+            hostPermits.release();
         }
-        return result;
-    }
-
-    public static LocalDate convertUnixTimeToDate(long unixTime) {
-        return Instant.ofEpochSecond(unixTime)
-                .atZone(ZoneId.systemDefault())
-                .toLocalDate();
+        return result != null ? result : BarColumns.empty();
     }
 
 }
@@ -0,0 +1,65 @@
+package com.prashant.application.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Virtual threads for I/O bound market data loading; the number of concurrent Yahoo calls is limited
+     * separately in {@link com.prashant.application.broker.YahooFetchService}.
+     */
+    @Bean(destroyMethod = "close")
+    public ExecutorService fetchExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    /**
+     * Fork-join pool for CPU bound optimization sweeps. Its parallelism is the core budget of all sweeps together;
+     * by default one core is left for interactive backtests and the web server.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ForkJoinPool optimizerPool(@Value("${strategymaster.optimizer.parallelism:0}") int parallelism) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        return new ForkJoinPool(parallelism > 0 ? parallelism : Math.max(1, cores - 1));
+    }
+
+    /**
+     * Small pool for the Monte Carlo blocks of interactive backtests, kept apart from the optimizer pool so a running
+     * sweep does not delay them. By default it uses up to four cores.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ThreadPoolExecutor monteCarloExecutor(
+            @Value("${strategymaster.backtest.monte-carlo.threads:0}") int threads) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        int size = threads > 0 ? threads : Math.clamp(cores / 2, 1, 4);
+        AtomicInteger count = new AtomicInteger();
+        return new ThreadPoolExecutor(size, size, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), task -> {
+            Thread thread = new Thread(task, "monte-carlo-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Workers for queued backtest jobs. The priority queue starts interactive jobs before batch jobs; its length is
+     * limited by the job service, which refuses submissions once {@code strategymaster.jobs.max-queued} wait.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ThreadPoolExecutor jobExecutor(@Value("${strategymaster.jobs.workers:2}") int workers) {
+        AtomicInteger count = new AtomicInteger();
+        return new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<>(),
+                task -> new Thread(task, "backtest-job-" + count.incrementAndGet()));
+    }
+}
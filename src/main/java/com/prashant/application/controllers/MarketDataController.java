@@ -0,0 +1,58 @@
+package com.prashant.application.controllers;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.prashant.application.broker.CsvBarImporter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@RestController
+@RequestMapping("/market-data")
+public class MarketDataController {
+
+    private final CsvBarImporter csvBarImporter;
+    private final Path importDirectory;
+
+    public MarketDataController(CsvBarImporter csvBarImporter,
+            @Value("${strategymaster.market-data.import.dir:import}") String importDirectory) {
+        this.csvBarImporter = csvBarImporter;
+        this.importDirectory = Path.of(importDirectory).toAbsolutePath().normalize();
+    }
+
+    /**
+     * Imports a CSV file from the import directory; {@code path} is relative to it.
+     */
+    @PostMapping("/import")
+    public CsvBarImporter.ImportReport importCsv(@RequestParam String path, @RequestParam String symbol,
+            @RequestParam(defaultValue = "1d") String interval) {
+        return csvBarImporter.importCsv(resolve(path), symbol, interval);
+    }
+
+    /**
+     * Resolves a client supplied path inside the import directory, rejecting any path that leaves it, whether by
+     * {@code ..}, an absolute path or a symbolic link.
+     */
+    private Path resolve(String path) {
+        Path file = importDirectory.resolve(path).normalize();
+        if (!file.startsWith(importDirectory)) {
+            throw new IllegalArgumentException("Import path must be inside the import directory: " + path);
+        }
+        if (Files.exists(file)) {
+            try {
+                if (!file.toRealPath().startsWith(importDirectory.toRealPath())) {
+                    throw new IllegalArgumentException("Import path must be inside the import directory: " + path);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to resolve " + path, e);
+            }
+        }
+        return file;
+    }
+}
@@ -1,40 +1,210 @@
 package com.prashant.application.controllers;
 
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.prashant.application.dto.strategy.BacktestResult;
+import com.prashant.application.dto.strategy.BatchResult;
+import com.prashant.application.dto.strategy.JobQueueStats;
+import com.prashant.application.dto.strategy.JobStatus;
+import com.prashant.application.dto.strategy.KernelReport;
+import com.prashant.application.dto.strategy.OptimizationRequest;
+import com.prashant.application.dto.strategy.OptimizationResult;
+import com.prashant.application.dto.strategy.PortfolioRequest;
+import com.prashant.application.dto.strategy.PortfolioResult;
+import com.prashant.application.dto.strategy.PrecisionReport;
+import com.prashant.application.dto.strategy.ResultCacheStats;
 import com.prashant.application.dto.strategy.StrategyRequest;
+import com.prashant.application.dto.strategy.UniverseRequest;
+import com.prashant.application.dto.strategy.UniverseResult;
+import com.prashant.application.dto.strategy.WalkForwardRequest;
+import com.prashant.application.dto.strategy.WalkForwardResult;
+import com.prashant.application.services.BacktestJobService;
 import com.prashant.application.services.BacktestService;
+import com.prashant.application.services.BatchBacktestService;
+import com.prashant.application.services.KernelVerificationService;
+import com.prashant.application.services.PortfolioBacktestService;
+import com.prashant.application.services.PrecisionVerificationService;
+import com.prashant.application.services.StrategyOptimizerService;
 import com.prashant.application.services.StrategyScheduleService;
+import com.prashant.application.services.UniverseBacktestService;
+import com.prashant.application.services.WalkForwardService;
+import com.prashant.application.services.job.JobState;
 
+/**
+ * Strategy runs over HTTP. {@code /run}, {@code /run/batch}, {@code /optimize}, {@code /walk-forward},
+ * {@code /universe} and {@code /portfolio} run on the request thread and return the result, which suits scripts
+ * and notebooks that wait for it anyway. The builder UI and anything long running should use the matching
+ * {@code /jobs} endpoints instead, which queue the run on the bounded job executor, report progress and can be
+ * cancelled.
+ */
 @RestController
 @RequestMapping("/strategy")
 public class StrategyController {
 
     private final BacktestService backtestService;
     private final StrategyScheduleService scheduleService;
+    private final PrecisionVerificationService precisionVerificationService;
+    private final KernelVerificationService kernelVerificationService;
+    private final StrategyOptimizerService optimizerService;
+    private final WalkForwardService walkForwardService;
+    private final UniverseBacktestService universeBacktestService;
+    private final PortfolioBacktestService portfolioBacktestService;
+    private final BacktestJobService jobService;
+    private final BatchBacktestService batchBacktestService;
 
-    public StrategyController(BacktestService backtestService, StrategyScheduleService scheduleService) {
+    public StrategyController(BacktestService backtestService, StrategyScheduleService scheduleService,
+            PrecisionVerificationService precisionVerificationService,
+            KernelVerificationService kernelVerificationService, StrategyOptimizerService optimizerService,
+            WalkForwardService walkForwardService, UniverseBacktestService universeBacktestService,
+            PortfolioBacktestService portfolioBacktestService, BacktestJobService jobService,
+            BatchBacktestService batchBacktestService) {
         this.backtestService = backtestService;
         this.scheduleService = scheduleService;
+        this.precisionVerificationService = precisionVerificationService;
+        this.kernelVerificationService = kernelVerificationService;
+        this.optimizerService = optimizerService;
+        this.walkForwardService = walkForwardService;
+        this.universeBacktestService = universeBacktestService;
+        this.portfolioBacktestService = portfolioBacktestService;
+        this.jobService = jobService;
+        this.batchBacktestService = batchBacktestService;
     }
 
     @PostMapping("/run")
     public BacktestResult runBacktest(@RequestBody StrategyRequest request) {
         BacktestResult result = backtestService.runBacktest(request);
+        scheduleService.saveManualRunResult(request, result);
+        return result;
+    }
 
-        String sId = request.getStrategyId() != null && !request.getStrategyId().isEmpty()
-                ? request.getStrategyId()
-                : "Manual";
-        String sName = request.getStrategyName() != null && !request.getStrategyName().isEmpty()
-                ? request.getStrategyName()
-                : "Manual Builder Run";
+    @PostMapping("/run/batch")
+    public BatchResult runBatch(@RequestBody List<StrategyRequest> requests) {
+        return batchBacktestService.run(requests);
+    }
 
-        scheduleService.saveRunResult(sId, sName, request, result);
-        return result;
+    @GetMapping("/cache/stats")
+    public ResultCacheStats resultCacheStats() {
+        return backtestService.resultCacheStats();
+    }
+
+    @PostMapping("/optimize")
+    public OptimizationResult optimize(@RequestBody OptimizationRequest request) {
+        return optimizerService.optimize(request);
+    }
+
+    @PostMapping("/walk-forward")
+    public WalkForwardResult walkForward(@RequestBody WalkForwardRequest request) {
+        return walkForwardService.run(request);
+    }
+
+    @PostMapping("/universe")
+    public UniverseResult runUniverse(@RequestBody UniverseRequest request) {
+        return universeBacktestService.run(request);
+    }
+
+    @PostMapping("/portfolio")
+    public PortfolioResult runPortfolio(@RequestBody PortfolioRequest request) {
+        return portfolioBacktestService.run(request);
+    }
+
+    @PostMapping("/jobs/backtest")
+    public JobStatus submitBacktestJob(@RequestBody StrategyRequest request,
+            @RequestParam(required = false) String priority) {
+        return jobService.submitBacktest(request, priority);
+    }
+
+    @PostMapping("/jobs/optimize")
+    public JobStatus submitOptimizationJob(@RequestBody OptimizationRequest request,
+            @RequestParam(required = false) String priority) {
+        return jobService.submitOptimization(request, priority);
+    }
+
+    @PostMapping("/jobs/walk-forward")
+    public JobStatus submitWalkForwardJob(@RequestBody WalkForwardRequest request,
+            @RequestParam(required = false) String priority) {
+        return jobService.submitWalkForward(request, priority);
+    }
+
+    @PostMapping("/jobs/portfolio")
+    public JobStatus submitPortfolioJob(@RequestBody PortfolioRequest request,
+            @RequestParam(required = false) String priority) {
+        return jobService.submitPortfolio(request, priority);
+    }
+
+    @PostMapping("/jobs/universe")
+    public JobStatus submitUniverseJob(@RequestBody UniverseRequest request,
+            @RequestParam(required = false) String priority) {
+        return jobService.submitUniverse(request, priority);
+    }
+
+    @GetMapping("/jobs/stats")
+    public JobQueueStats jobStats() {
+        return jobService.stats();
+    }
+
+    @GetMapping("/jobs/{id}")
+    public JobStatus job(@PathVariable String id) {
+        return jobService.status(id);
+    }
+
+    @DeleteMapping("/jobs/{id}")
+    public JobStatus cancelJob(@PathVariable String id) {
+        return jobService.cancel(id);
+    }
+
+    /**
+     * Server-sent events with the job's status on every change, ending once the job has finished.
+     */
+    @GetMapping(path = "/jobs/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter jobEvents(@PathVariable String id) {
+        SseEmitter emitter = new SseEmitter(0L);
+        Consumer<JobStatus> send = status -> {
+            try {
+                emitter.send(status);
+                if (JobState.valueOf(status.getState()).isFinished()) {
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away or the stream already ended
+                emitter.completeWithError(e);
+            }
+        };
+        Runnable unsubscribe = jobService.subscribe(id, send);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(error -> unsubscribe.run());
+        send.accept(jobService.status(id));
+        return emitter;
+    }
+
+    @PostMapping("/verify-precision")
+    public PrecisionReport verifyPrecision(@RequestBody StrategyRequest request) {
+        return precisionVerificationService.verify(request);
+    }
+
+    @GetMapping("/verify-precision/saved")
+    public List<PrecisionReport> verifySavedPrecision() {
+        return precisionVerificationService.verifySaved();
+    }
+
+    @GetMapping("/verify-kernels")
+    public List<KernelReport> verifyKernels(@RequestParam String symbol,
+            @RequestParam(defaultValue = "5y") String range,
+            @RequestParam(defaultValue = "1d") String interval) {
+        return kernelVerificationService.verify(symbol, range, interval);
     }
 
 }
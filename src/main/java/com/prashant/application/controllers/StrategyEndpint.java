@@ -1,13 +1,31 @@
 package com.prashant.application.controllers;
 
 import com.prashant.application.dto.strategy.BacktestResult;
+import com.prashant.application.dto.strategy.BatchResult;
+import com.prashant.application.dto.strategy.JobQueueStats;
+import com.prashant.application.dto.strategy.JobStatus;
+import com.prashant.application.dto.strategy.OptimizationRequest;
+import com.prashant.application.dto.strategy.OptimizationResult;
+import com.prashant.application.dto.strategy.PortfolioRequest;
+import com.prashant.application.dto.strategy.PortfolioResult;
+import com.prashant.application.dto.strategy.ResultCacheStats;
 import com.prashant.application.dto.strategy.StrategyRequest;
+import com.prashant.application.dto.strategy.UniverseRequest;
+import com.prashant.application.dto.strategy.UniverseResult;
+import com.prashant.application.dto.strategy.WalkForwardRequest;
+import com.prashant.application.dto.strategy.WalkForwardResult;
 import com.prashant.application.entity.SavedStrategy;
 import com.prashant.application.repository.StrategyRepository;
+import com.prashant.application.services.BacktestJobService;
 import com.prashant.application.services.BacktestService;
+import com.prashant.application.services.BatchBacktestService;
+import com.prashant.application.services.PortfolioBacktestService;
 import com.prashant.application.entity.StrategyRunResult;
 import com.prashant.application.repository.StrategyRunResultRepository;
+import com.prashant.application.services.StrategyOptimizerService;
 import com.prashant.application.services.StrategyScheduleService;
+import com.prashant.application.services.UniverseBacktestService;
+import com.prashant.application.services.WalkForwardService;
 import com.vaadin.hilla.BrowserCallable;
 import com.vaadin.flow.server.auth.AnonymousAllowed;
 import org.springframework.data.domain.PageRequest;
@@ -23,13 +41,29 @@ public class StrategyEndpint {
     private final StrategyRepository strategyRepository;
     private final StrategyRunResultRepository resultRepository;
     private final StrategyScheduleService scheduleService;
+    private final StrategyOptimizerService optimizerService;
+    private final WalkForwardService walkForwardService;
+    private final UniverseBacktestService universeBacktestService;
+    private final PortfolioBacktestService portfolioBacktestService;
+    private final BacktestJobService jobService;
+    private final BatchBacktestService batchBacktestService;
 
     public StrategyEndpint(BacktestService backtestService, StrategyRepository strategyRepository,
-            StrategyRunResultRepository resultRepository, StrategyScheduleService scheduleService) {
+            StrategyRunResultRepository resultRepository, StrategyScheduleService scheduleService,
+            StrategyOptimizerService optimizerService,
+            WalkForwardService walkForwardService, UniverseBacktestService universeBacktestService,
+            PortfolioBacktestService portfolioBacktestService, BacktestJobService jobService,
+            BatchBacktestService batchBacktestService) {
         this.backtestService = backtestService;
         this.strategyRepository = strategyRepository;
         this.resultRepository = resultRepository;
         this.scheduleService = scheduleService;
+        this.optimizerService = optimizerService;
+        this.walkForwardService = walkForwardService;
+        this.universeBacktestService = universeBacktestService;
+        this.portfolioBacktestService = portfolioBacktestService;
+        this.jobService = jobService;
+        this.batchBacktestService = batchBacktestService;
     }
 
     public List<StrategyRunResult> getRunResults(int page) {
@@ -63,17 +97,68 @@ public class StrategyEndpint {
         scheduleService.runStrategy(strategy);
     }
 
+    /**
+     * Runs on the calling request thread; the builder submits its runs with {@link #submitBacktestJob} instead.
+     */
     public BacktestResult runBacktest(StrategyRequest request) {
         BacktestResult result = backtestService.runBacktest(request);
+        scheduleService.saveManualRunResult(request, result);
+        return result;
+    }
 
-        String sId = request.getStrategyId() != null && !request.getStrategyId().isEmpty()
-                ? request.getStrategyId()
-                : "Manual";
-        String sName = request.getStrategyName() != null && !request.getStrategyName().isEmpty()
-                ? request.getStrategyName()
-                : "Manual Builder Run";
+    public BatchResult runBatch(List<StrategyRequest> requests) {
+        return batchBacktestService.run(requests);
+    }
 
-        scheduleService.saveRunResult(sId, sName, request, result);
-        return result;
+    public ResultCacheStats getResultCacheStats() {
+        return backtestService.resultCacheStats();
+    }
+
+    public OptimizationResult optimize(OptimizationRequest request) {
+        return optimizerService.optimize(request);
+    }
+
+    public WalkForwardResult walkForward(WalkForwardRequest request) {
+        return walkForwardService.run(request);
+    }
+
+    public UniverseResult runUniverse(UniverseRequest request) {
+        return universeBacktestService.run(request);
+    }
+
+    public PortfolioResult runPortfolio(PortfolioRequest request) {
+        return portfolioBacktestService.run(request);
+    }
+
+    public JobStatus submitBacktestJob(StrategyRequest request, String priority) {
+        return jobService.submitBacktest(request, priority);
+    }
+
+    public JobStatus submitUniverseJob(UniverseRequest request, String priority) {
+        return jobService.submitUniverse(request, priority);
+    }
+
+    public JobStatus submitOptimizationJob(OptimizationRequest request, String priority) {
+        return jobService.submitOptimization(request, priority);
+    }
+
+    public JobStatus submitWalkForwardJob(WalkForwardRequest request, String priority) {
+        return jobService.submitWalkForward(request, priority);
+    }
+
+    public JobStatus submitPortfolioJob(PortfolioRequest request, String priority) {
+        return jobService.submitPortfolio(request, priority);
+    }
+
+    public JobStatus getJob(String id) {
+        return jobService.status(id);
+    }
+
+    public JobStatus cancelJob(String id) {
+        return jobService.cancel(id);
+    }
+
+    public JobQueueStats getJobStats() {
+        return jobService.stats();
     }
 }
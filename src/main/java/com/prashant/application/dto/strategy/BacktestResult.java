@@ -11,8 +11,15 @@ public class BacktestResult {
     private double winRate;
     private double maxDrawdown;
     private double sharpeRatio;
-    private List<java.util.Map<String, Object>> equityCurve;
+    private double sortinoRatio;
+    private double cagr; // percent
+    private double exposure; // percent of bars in the market
+    private double profitFactor;
+    private double totalReturn; // percent, trades compounding on the whole equity
+    private EquityCurve equityCurve;
     private List<TradeResult> trades = new ArrayList<>();
+    private MonteCarloResult monteCarlo; // null when disabled or without trades
+    private boolean cached; // served from the result cache, not recomputed
 
     public double getProfitLoss() {
         return profitLoss;
@@ -70,11 +77,51 @@ public class BacktestResult {
         this.sharpeRatio = sharpeRatio;
     }
 
-    public List<java.util.Map<String, Object>> getEquityCurve() {
+    public double getSortinoRatio() {
+        return sortinoRatio;
+    }
+
+    public void setSortinoRatio(double sortinoRatio) {
+        this.sortinoRatio = sortinoRatio;
+    }
+
+    public double getCagr() {
+        return cagr;
+    }
+
+    public void setCagr(double cagr) {
+        this.cagr = cagr;
+    }
+
+    public double getExposure() {
+        return exposure;
+    }
+
+    public void setExposure(double exposure) {
+        this.exposure = exposure;
+    }
+
+    public double getProfitFactor() {
+        return profitFactor;
+    }
+
+    public void setProfitFactor(double profitFactor) {
+        this.profitFactor = profitFactor;
+    }
+
+    public double getTotalReturn() {
+        return totalReturn;
+    }
+
+    public void setTotalReturn(double totalReturn) {
+        this.totalReturn = totalReturn;
+    }
+
+    public EquityCurve getEquityCurve() {
         return equityCurve;
     }
 
-    public void setEquityCurve(List<java.util.Map<String, Object>> equityCurve) {
+    public void setEquityCurve(EquityCurve equityCurve) {
         this.equityCurve = equityCurve;
     }
 
@@ -85,4 +132,20 @@ public class BacktestResult {
     public void setTrades(List<TradeResult> trades) {
         this.trades = trades;
     }
+
+    public MonteCarloResult getMonteCarlo() {
+        return monteCarlo;
+    }
+
+    public void setMonteCarlo(MonteCarloResult monteCarlo) {
+        this.monteCarlo = monteCarlo;
+    }
+
+    public boolean isCached() {
+        return cached;
+    }
+
+    public void setCached(boolean cached) {
+        this.cached = cached;
+    }
 }
@@ -0,0 +1,61 @@
+package com.prashant.application.dto.strategy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BatchResult {
+    private int requests;
+    private int series; // distinct (symbol, range, interval, precision) series loaded
+    private int succeeded;
+    private int failed;
+    private long millis;
+    private List<BatchRow> rows = new ArrayList<>(); // in request order
+
+    public int getRequests() {
+        return requests;
+    }
+
+    public void setRequests(int requests) {
+        this.requests = requests;
+    }
+
+    public int getSeries() {
+        return series;
+    }
+
+    public void setSeries(int series) {
+        this.series = series;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public void setSucceeded(int succeeded) {
+        this.succeeded = succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public long getMillis() {
+        return millis;
+    }
+
+    public void setMillis(long millis) {
+        this.millis = millis;
+    }
+
+    public List<BatchRow> getRows() {
+        return rows;
+    }
+
+    public void setRows(List<BatchRow> rows) {
+        this.rows = rows;
+    }
+}
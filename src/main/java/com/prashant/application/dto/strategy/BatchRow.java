@@ -0,0 +1,49 @@
+package com.prashant.application.dto.strategy;
+
+public class BatchRow {
+    private int index; // position in the batch
+    private String symbol;
+    private String strategyName;
+    private BacktestResult result; // null when the request failed
+    private String error;
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public void setSymbol(String symbol) {
+        this.symbol = symbol;
+    }
+
+    public String getStrategyName() {
+        return strategyName;
+    }
+
+    public void setStrategyName(String strategyName) {
+        this.strategyName = strategyName;
+    }
+
+    public BacktestResult getResult() {
+        return result;
+    }
+
+    public void setResult(BacktestResult result) {
+        this.result = result;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,61 @@
+package com.prashant.application.dto.strategy;
+
+/**
+ * Percentiles of a simulated quantity.
+ */
+public class Distribution {
+    private double p5;
+    private double p25;
+    private double median;
+    private double p75;
+    private double p95;
+    private double mean;
+
+    public double getP5() {
+        return p5;
+    }
+
+    public void setP5(double p5) {
+        this.p5 = p5;
+    }
+
+    public double getP25() {
+        return p25;
+    }
+
+    public void setP25(double p25) {
+        this.p25 = p25;
+    }
+
+    public double getMedian() {
+        return median;
+    }
+
+    public void setMedian(double median) {
+        this.median = median;
+    }
+
+    public double getP75() {
+        return p75;
+    }
+
+    public void setP75(double p75) {
+        this.p75 = p75;
+    }
+
+    public double getP95() {
+        return p95;
+    }
+
+    public void setP95(double p95) {
+        this.p95 = p95;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public void setMean(double mean) {
+        this.mean = mean;
+    }
+}
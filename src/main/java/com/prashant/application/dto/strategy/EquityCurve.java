@@ -0,0 +1,35 @@
+package com.prashant.application.dto.strategy;
+
+/**
+ * Equity curve in columns: {@code times[i]} and {@code values[i]} form one point. Long curves are downsampled on the
+ * server, so {@code bars} may exceed the number of points.
+ */
+public class EquityCurve {
+    private long[] times; // epoch millis
+    private double[] values;
+    private int bars; // points before downsampling
+
+    public long[] getTimes() {
+        return times;
+    }
+
+    public void setTimes(long[] times) {
+        this.times = times;
+    }
+
+    public double[] getValues() {
+        return values;
+    }
+
+    public void setValues(double[] values) {
+        this.values = values;
+    }
+
+    public int getBars() {
+        return bars;
+    }
+
+    public void setBars(int bars) {
+        this.bars = bars;
+    }
+}
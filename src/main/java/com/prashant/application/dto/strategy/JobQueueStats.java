@@ -0,0 +1,103 @@
+package com.prashant.application.dto.strategy;
+
+public class JobQueueStats {
+    private int queued;
+    private int queuedInteractive;
+    private int running;
+    private int workers;
+    private int maxQueued;
+    private long oldestWaitMillis; // wait so far of the longest queued job
+    private long averageWaitMillis; // over started jobs
+    private long maxWaitMillis; // over started jobs
+    private long submitted;
+    private long rejected; // submissions refused because the queue was full
+    private long cancelled;
+
+    public int getQueued() {
+        return queued;
+    }
+
+    public void setQueued(int queued) {
+        this.queued = queued;
+    }
+
+    public int getQueuedInteractive() {
+        return queuedInteractive;
+    }
+
+    public void setQueuedInteractive(int queuedInteractive) {
+        this.queuedInteractive = queuedInteractive;
+    }
+
+    public int getRunning() {
+        return running;
+    }
+
+    public void setRunning(int running) {
+        this.running = running;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public void setWorkers(int workers) {
+        this.workers = workers;
+    }
+
+    public int getMaxQueued() {
+        return maxQueued;
+    }
+
+    public void setMaxQueued(int maxQueued) {
+        this.maxQueued = maxQueued;
+    }
+
+    public long getOldestWaitMillis() {
+        return oldestWaitMillis;
+    }
+
+    public void setOldestWaitMillis(long oldestWaitMillis) {
+        this.oldestWaitMillis = oldestWaitMillis;
+    }
+
+    public long getAverageWaitMillis() {
+        return averageWaitMillis;
+    }
+
+    public void setAverageWaitMillis(long averageWaitMillis) {
+        this.averageWaitMillis = averageWaitMillis;
+    }
+
+    public long getMaxWaitMillis() {
+        return maxWaitMillis;
+    }
+
+    public void setMaxWaitMillis(long maxWaitMillis) {
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    public long getSubmitted() {
+        return submitted;
+    }
+
+    public void setSubmitted(long submitted) {
+        this.submitted = submitted;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    public long getCancelled() {
+        return cancelled;
+    }
+
+    public void setCancelled(long cancelled) {
+        this.cancelled = cancelled;
+    }
+}
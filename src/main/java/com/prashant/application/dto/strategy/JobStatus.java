@@ -0,0 +1,143 @@
+package com.prashant.application.dto.strategy;
+
+/**
+ * Snapshot of a queued, running or finished job. While a universe job runs, {@code universe} holds the rows
+ * finished so far.
+ */
+public class JobStatus {
+    private String id;
+    private String kind; // BACKTEST, UNIVERSE, OPTIMIZE, WALK_FORWARD or PORTFOLIO
+    private String priority; // INTERACTIVE or BATCH
+    private String state; // QUEUED, RUNNING, SUCCEEDED, FAILED or CANCELLED
+    private double progress; // 0 to 1
+    private String message; // current stage
+    private long submittedAt; // epoch millis
+    private long waitMillis; // time queued, so far while still queued
+    private long runMillis;
+    private BacktestResult backtest;
+    private UniverseResult universe;
+    private OptimizationResult optimization;
+    private WalkForwardResult walkForward;
+    private PortfolioResult portfolio;
+    private String error;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getKind() {
+        return kind;
+    }
+
+    public void setKind(String kind) {
+        this.kind = kind;
+    }
+
+    public String getPriority() {
+        return priority;
+    }
+
+    public void setPriority(String priority) {
+        this.priority = priority;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public double getProgress() {
+        return progress;
+    }
+
+    public void setProgress(double progress) {
+        this.progress = progress;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public long getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public void setSubmittedAt(long submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+
+    public long getWaitMillis() {
+        return waitMillis;
+    }
+
+    public void setWaitMillis(long waitMillis) {
+        this.waitMillis = waitMillis;
+    }
+
+    public long getRunMillis() {
+        return runMillis;
+    }
+
+    public void setRunMillis(long runMillis) {
+        this.runMillis = runMillis;
+    }
+
+    public BacktestResult getBacktest() {
+        return backtest;
+    }
+
+    public void setBacktest(BacktestResult backtest) {
+        this.backtest = backtest;
+    }
+
+    public UniverseResult getUniverse() {
+        return universe;
+    }
+
+    public void setUniverse(UniverseResult universe) {
+        this.universe = universe;
+    }
+
+    public OptimizationResult getOptimization() {
+        return optimization;
+    }
+
+    public void setOptimization(OptimizationResult optimization) {
+        this.optimization = optimization;
+    }
+
+    public WalkForwardResult getWalkForward() {
+        return walkForward;
+    }
+
+    public void setWalkForward(WalkForwardResult walkForward) {
+        this.walkForward = walkForward;
+    }
+
+    public PortfolioResult getPortfolio() {
+        return portfolio;
+    }
+
+    public void setPortfolio(PortfolioResult portfolio) {
+        this.portfolio = portfolio;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,88 @@
+package com.prashant.application.dto.strategy;
+
+/**
+ * Comparison of one kernel indicator against the ta4j indicator it replaces.
+ */
+public class KernelReport {
+    private String indicator;
+    private int period;
+    private int bars;
+    private int exactMatches;
+    private int nanMismatches; // bars where only one side is NaN
+    private double maxAbsDivergence;
+    private double maxRelDivergence;
+    private long ta4jMillis;
+    private long kernelMillis;
+
+    public String getIndicator() {
+        return indicator;
+    }
+
+    public void setIndicator(String indicator) {
+        this.indicator = indicator;
+    }
+
+    public int getPeriod() {
+        return period;
+    }
+
+    public void setPeriod(int period) {
+        this.period = period;
+    }
+
+    public int getBars() {
+        return bars;
+    }
+
+    public void setBars(int bars) {
+        this.bars = bars;
+    }
+
+    public int getExactMatches() {
+        return exactMatches;
+    }
+
+    public void setExactMatches(int exactMatches) {
+        this.exactMatches = exactMatches;
+    }
+
+    public int getNanMismatches() {
+        return nanMismatches;
+    }
+
+    public void setNanMismatches(int nanMismatches) {
+        this.nanMismatches = nanMismatches;
+    }
+
+    public double getMaxAbsDivergence() {
+        return maxAbsDivergence;
+    }
+
+    public void setMaxAbsDivergence(double maxAbsDivergence) {
+        this.maxAbsDivergence = maxAbsDivergence;
+    }
+
+    public double getMaxRelDivergence() {
+        return maxRelDivergence;
+    }
+
+    public void setMaxRelDivergence(double maxRelDivergence) {
+        this.maxRelDivergence = maxRelDivergence;
+    }
+
+    public long getTa4jMillis() {
+        return ta4jMillis;
+    }
+
+    public void setTa4jMillis(long ta4jMillis) {
+        this.ta4jMillis = ta4jMillis;
+    }
+
+    public long getKernelMillis() {
+        return kernelMillis;
+    }
+
+    public void setKernelMillis(long kernelMillis) {
+        this.kernelMillis = kernelMillis;
+    }
+}
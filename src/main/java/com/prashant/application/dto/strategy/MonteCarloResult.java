@@ -0,0 +1,97 @@
+package com.prashant.application.dto.strategy;
+
+/**
+ * Outcome distributions of a backtest's trades replayed in random orders.
+ */
+public class MonteCarloResult {
+    private String mode; // RESAMPLE or SHUFFLE
+    private int iterations;
+    private int trades;
+    private long seed;
+    private double startingEquity;
+    private Distribution finalEquity;
+    private Distribution maxDrawdown; // percent of the running peak
+    private Distribution losingStreak; // consecutive losing trades
+    private double probabilityOfLoss; // percent of iterations ending below the starting equity
+    private long millis;
+
+    public String getMode() {
+        return mode;
+    }
+
+    public void setMode(String mode) {
+        this.mode = mode;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public void setIterations(int iterations) {
+        this.iterations = iterations;
+    }
+
+    public int getTrades() {
+        return trades;
+    }
+
+    public void setTrades(int trades) {
+        this.trades = trades;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public double getStartingEquity() {
+        return startingEquity;
+    }
+
+    public void setStartingEquity(double startingEquity) {
+        this.startingEquity = startingEquity;
+    }
+
+    public Distribution getFinalEquity() {
+        return finalEquity;
+    }
+
+    public void setFinalEquity(Distribution finalEquity) {
+        this.finalEquity = finalEquity;
+    }
+
+    public Distribution getMaxDrawdown() {
+        return maxDrawdown;
+    }
+
+    public void setMaxDrawdown(Distribution maxDrawdown) {
+        this.maxDrawdown = maxDrawdown;
+    }
+
+    public Distribution getLosingStreak() {
+        return losingStreak;
+    }
+
+    public void setLosingStreak(Distribution losingStreak) {
+        this.losingStreak = losingStreak;
+    }
+
+    public double getProbabilityOfLoss() {
+        return probabilityOfLoss;
+    }
+
+    public void setProbabilityOfLoss(double probabilityOfLoss) {
+        this.probabilityOfLoss = probabilityOfLoss;
+    }
+
+    public long getMillis() {
+        return millis;
+    }
+
+    public void setMillis(long millis) {
+        this.millis = millis;
+    }
+}
@@ -0,0 +1,78 @@
+package com.prashant.application.dto.strategy;
+
+import java.util.List;
+
+public class OptimizationRequest {
+    private StrategyRequest strategy;
+    private List<ParameterRange> ranges;
+    private String objective; // PROFIT_LOSS (default), WIN_RATE or AVERAGE_PROFIT
+    private Integer limit; // rows returned, best first
+    private String mode; // GRID (default, every combination) or GENETIC
+    private Long seed; // GENETIC: random seed, a fixed seed gives the same result
+    private Integer population; // GENETIC: genomes per generation
+    private Integer generations; // GENETIC: number of generations
+
+    public StrategyRequest getStrategy() {
+        return strategy;
+    }
+
+    public void setStrategy(StrategyRequest strategy) {
+        this.strategy = strategy;
+    }
+
+    public List<ParameterRange> getRanges() {
+        return ranges;
+    }
+
+    public void setRanges(List<ParameterRange> ranges) {
+        this.ranges = ranges;
+    }
+
+    public String getObjective() {
+        return objective;
+    }
+
+    public void setObjective(String objective) {
+        this.objective = objective;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+
+    public String getMode() {
+        return mode;
+    }
+
+    public void setMode(String mode) {
+        this.mode = mode;
+    }
+
+    public Long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+
+    public Integer getPopulation() {
+        return population;
+    }
+
+    public void setPopulation(Integer population) {
+        this.population = population;
+    }
+
+    public Integer getGenerations() {
+        return generations;
+    }
+
+    public void setGenerations(Integer generations) {
+        this.generations = generations;
+    }
+}
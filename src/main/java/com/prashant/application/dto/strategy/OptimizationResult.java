@@ -0,0 +1,106 @@
+package com.prashant.application.dto.strategy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class OptimizationResult {
+    private String objective;
+    private String mode;
+    private long combinations; // size of the parameter grid
+    private int evaluated; // distinct combinations backtested
+    private int failed; // combinations whose strategy could not be built or run
+    private String firstError; // message of the first combination that failed, with its parameters
+    private int generations;
+    private Long seed;
+    private int parallelism;
+    private long millis;
+    private List<OptimizationRow> rows = new ArrayList<>();
+
+    public String getObjective() {
+        return objective;
+    }
+
+    public void setObjective(String objective) {
+        this.objective = objective;
+    }
+
+    public String getMode() {
+        return mode;
+    }
+
+    public void setMode(String mode) {
+        this.mode = mode;
+    }
+
+    public long getCombinations() {
+        return combinations;
+    }
+
+    public void setCombinations(long combinations) {
+        this.combinations = combinations;
+    }
+
+    public int getEvaluated() {
+        return evaluated;
+    }
+
+    public void setEvaluated(int evaluated) {
+        this.evaluated = evaluated;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public String getFirstError() {
+        return firstError;
+    }
+
+    public void setFirstError(String firstError) {
+        this.firstError = firstError;
+    }
+
+    public int getGenerations() {
+        return generations;
+    }
+
+    public void setGenerations(int generations) {
+        this.generations = generations;
+    }
+
+    public Long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public long getMillis() {
+        return millis;
+    }
+
+    public void setMillis(long millis) {
+        this.millis = millis;
+    }
+
+    public List<OptimizationRow> getRows() {
+        return rows;
+    }
+
+    public void setRows(List<OptimizationRow> rows) {
+        this.rows = rows;
+    }
+}
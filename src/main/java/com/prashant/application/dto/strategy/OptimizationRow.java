@@ -0,0 +1,78 @@
+package com.prashant.application.dto.strategy;
+
+import java.util.Map;
+
+public class OptimizationRow {
+    private Map<String, String> parameters;
+    private double score;
+    private double profitLoss;
+    private int totalTrades;
+    private double winRate;
+    private double averageProfit;
+    private double sharpeRatio;
+    private double maxDrawdown; // percent
+
+    public Map<String, String> getParameters() {
+        return parameters;
+    }
+
+    public void setParameters(Map<String, String> parameters) {
+        this.parameters = parameters;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+
+    public double getProfitLoss() {
+        return profitLoss;
+    }
+
+    public void setProfitLoss(double profitLoss) {
+        this.profitLoss = profitLoss;
+    }
+
+    public int getTotalTrades() {
+        return totalTrades;
+    }
+
+    public void setTotalTrades(int totalTrades) {
+        this.totalTrades = totalTrades;
+    }
+
+    public double getWinRate() {
+        return winRate;
+    }
+
+    public void setWinRate(double winRate) {
+        this.winRate = winRate;
+    }
+
+    public double getAverageProfit() {
+        return averageProfit;
+    }
+
+    public void setAverageProfit(double averageProfit) {
+        this.averageProfit = averageProfit;
+    }
+
+    public double getSharpeRatio() {
+        return sharpeRatio;
+    }
+
+    public void setSharpeRatio(double sharpeRatio) {
+        this.sharpeRatio = sharpeRatio;
+    }
+
+    public double getMaxDrawdown() {
+        return maxDrawdown;
+    }
+
+    public void setMaxDrawdown(double maxDrawdown) {
+        this.maxDrawdown = maxDrawdown;
+    }
+}
@@ -0,0 +1,66 @@
+package com.prashant.application.dto.strategy;
+
+/**
+ * Range of values for one rule parameter of an optimization: {@code from}, {@code from + step}, ... up to
+ * and including {@code to}.
+ * <p>
+ * {@code rule} addresses a rule by its indices, e.g. {@code entry.0} or {@code exit.1.2} for the third rule of the
+ * second exit group. {@code param} names one of its parameters (of the compared indicator when {@code compare} is
+ * set); when it is empty the rule's comparison value is varied instead.
+ */
+public class ParameterRange {
+    private String rule;
+    private String param;
+    private boolean compare;
+    private double from;
+    private double to;
+    private double step;
+
+    public String getRule() {
+        return rule;
+    }
+
+    public void setRule(String rule) {
+        this.rule = rule;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    public void setParam(String param) {
+        this.param = param;
+    }
+
+    public boolean isCompare() {
+        return compare;
+    }
+
+    public void setCompare(boolean compare) {
+        this.compare = compare;
+    }
+
+    public double getFrom() {
+        return from;
+    }
+
+    public void setFrom(double from) {
+        this.from = from;
+    }
+
+    public double getTo() {
+        return to;
+    }
+
+    public void setTo(double to) {
+        this.to = to;
+    }
+
+    public double getStep() {
+        return step;
+    }
+
+    public void setStep(double step) {
+        this.step = step;
+    }
+}
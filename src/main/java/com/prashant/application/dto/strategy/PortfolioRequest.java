@@ -0,0 +1,34 @@
+package com.prashant.application.dto.strategy;
+
+/**
+ * One strategy trading a universe from a single capital pool.
+ */
+public class PortfolioRequest {
+    private UniverseRequest universe;
+    private double initialCapital; // defaults to 100000 when not positive
+    private int maxPositions; // open positions at a time, defaults to 10 when not positive
+
+    public UniverseRequest getUniverse() {
+        return universe;
+    }
+
+    public void setUniverse(UniverseRequest universe) {
+        this.universe = universe;
+    }
+
+    public double getInitialCapital() {
+        return initialCapital;
+    }
+
+    public void setInitialCapital(double initialCapital) {
+        this.initialCapital = initialCapital;
+    }
+
+    public int getMaxPositions() {
+        return maxPositions;
+    }
+
+    public void setMaxPositions(int maxPositions) {
+        this.maxPositions = maxPositions;
+    }
+}
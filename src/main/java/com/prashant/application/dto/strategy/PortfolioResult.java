@@ -0,0 +1,124 @@
+package com.prashant.application.dto.strategy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PortfolioResult {
+    private double initialCapital;
+    private int maxPositions;
+    private double finalEquity; // cash plus open positions at their last close
+    private double totalReturn; // percent
+    private double maxDrawdown; // percent of the running peak
+    private int totalTrades; // closed trades
+    private int winningTrades;
+    private double winRate;
+    private int openPositions; // still open after the last bar
+    private int skippedEntries; // entry signals without a free slot or enough cash
+    private EquityCurve equityCurve;
+    private List<PortfolioRow> rows = new ArrayList<>(); // in request order
+    private long millis;
+
+    public double getInitialCapital() {
+        return initialCapital;
+    }
+
+    public void setInitialCapital(double initialCapital) {
+        this.initialCapital = initialCapital;
+    }
+
+    public int getMaxPositions() {
+        return maxPositions;
+    }
+
+    public void setMaxPositions(int maxPositions) {
+        this.maxPositions = maxPositions;
+    }
+
+    public double getFinalEquity() {
+        return finalEquity;
+    }
+
+    public void setFinalEquity(double finalEquity) {
+        this.finalEquity = finalEquity;
+    }
+
+    public double getTotalReturn() {
+        return totalReturn;
+    }
+
+    public void setTotalReturn(double totalReturn) {
+        this.totalReturn = totalReturn;
+    }
+
+    public double getMaxDrawdown() {
+        return maxDrawdown;
+    }
+
+    public void setMaxDrawdown(double maxDrawdown) {
+        this.maxDrawdown = maxDrawdown;
+    }
+
+    public int getTotalTrades() {
+        return totalTrades;
+    }
+
+    public void setTotalTrades(int totalTrades) {
+        this.totalTrades = totalTrades;
+    }
+
+    public int getWinningTrades() {
+        return winningTrades;
+    }
+
+    public void setWinningTrades(int winningTrades) {
+        this.winningTrades = winningTrades;
+    }
+
+    public double getWinRate() {
+        return winRate;
+    }
+
+    public void setWinRate(double winRate) {
+        this.winRate = winRate;
+    }
+
+    public int getOpenPositions() {
+        return openPositions;
+    }
+
+    public void setOpenPositions(int openPositions) {
+        this.openPositions = openPositions;
+    }
+
+    public int getSkippedEntries() {
+        return skippedEntries;
+    }
+
+    public void setSkippedEntries(int skippedEntries) {
+        this.skippedEntries = skippedEntries;
+    }
+
+    public EquityCurve getEquityCurve() {
+        return equityCurve;
+    }
+
+    public void setEquityCurve(EquityCurve equityCurve) {
+        this.equityCurve = equityCurve;
+    }
+
+    public List<PortfolioRow> getRows() {
+        return rows;
+    }
+
+    public void setRows(List<PortfolioRow> rows) {
+        this.rows = rows;
+    }
+
+    public long getMillis() {
+        return millis;
+    }
+
+    public void setMillis(long millis) {
+        this.millis = millis;
+    }
+}
@@ -0,0 +1,61 @@
+package com.prashant.application.dto.strategy;
+
+/**
+ * Contribution of one symbol to a portfolio backtest.
+ */
+public class PortfolioRow {
+    private String symbol;
+    private int bars;
+    private int totalTrades; // closed trades
+    private int winningTrades;
+    private double profitLoss; // realized, in portfolio currency
+    private String error; // set when the symbol could not be loaded or evaluated
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public void setSymbol(String symbol) {
+        this.symbol = symbol;
+    }
+
+    public int getBars() {
+        return bars;
+    }
+
+    public void setBars(int bars) {
+        this.bars = bars;
+    }
+
+    public int getTotalTrades() {
+        return totalTrades;
+    }
+
+    public void setTotalTrades(int totalTrades) {
+        this.totalTrades = totalTrades;
+    }
+
+    public int getWinningTrades() {
+        return winningTrades;
+    }
+
+    public void setWinningTrades(int winningTrades) {
+        this.winningTrades = winningTrades;
+    }
+
+    public double getProfitLoss() {
+        return profitLoss;
+    }
+
+    public void setProfitLoss(double profitLoss) {
+        this.profitLoss = profitLoss;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,115 @@
+package com.prashant.application.dto.strategy;
+
+/**
+ * Outcome of running one strategy with both decimal and double arithmetic over the same bars.
+ */
+public class PrecisionReport {
+    private String strategyName;
+    private String stockSymbol;
+    private int decimalTrades;
+    private int doubleTrades;
+    private int mismatchedTrades; // trades whose entry or exit bar differs between the two modes
+    private double maxPriceDivergence;
+    private double decimalProfitLoss;
+    private double doubleProfitLoss;
+    private double profitLossDivergence;
+    private long decimalMillis;
+    private long doubleMillis;
+    private String error;
+
+    public String getStrategyName() {
+        return strategyName;
+    }
+
+    public void setStrategyName(String strategyName) {
+        this.strategyName = strategyName;
+    }
+
+    public String getStockSymbol() {
+        return stockSymbol;
+    }
+
+    public void setStockSymbol(String stockSymbol) {
+        this.stockSymbol = stockSymbol;
+    }
+
+    public int getDecimalTrades() {
+        return decimalTrades;
+    }
+
+    public void setDecimalTrades(int decimalTrades) {
+        this.decimalTrades = decimalTrades;
+    }
+
+    public int getDoubleTrades() {
+        return doubleTrades;
+    }
+
+    public void setDoubleTrades(int doubleTrades) {
+        this.doubleTrades = doubleTrades;
+    }
+
+    public int getMismatchedTrades() {
+        return mismatchedTrades;
+    }
+
+    public void setMismatchedTrades(int mismatchedTrades) {
+        this.mismatchedTrades = mismatchedTrades;
+    }
+
+    public double getMaxPriceDivergence() {
+        return maxPriceDivergence;
+    }
+
+    public void setMaxPriceDivergence(double maxPriceDivergence) {
+        this.maxPriceDivergence = maxPriceDivergence;
+    }
+
+    public double getDecimalProfitLoss() {
+        return decimalProfitLoss;
+    }
+
+    public void setDecimalProfitLoss(double decimalProfitLoss) {
+        this.decimalProfitLoss = decimalProfitLoss;
+    }
+
+    public double getDoubleProfitLoss() {
+        return doubleProfitLoss;
+    }
+
+    public void setDoubleProfitLoss(double doubleProfitLoss) {
+        this.doubleProfitLoss = doubleProfitLoss;
+    }
+
+    public double getProfitLossDivergence() {
+        return profitLossDivergence;
+    }
+
+    public void setProfitLossDivergence(double profitLossDivergence) {
+        this.profitLossDivergence = profitLossDivergence;
+    }
+
+    public long getDecimalMillis() {
+        return decimalMillis;
+    }
+
+    public void setDecimalMillis(long decimalMillis) {
+        this.decimalMillis = decimalMillis;
+    }
+
+    public long getDoubleMillis() {
+        return doubleMillis;
+    }
+
+    public void setDoubleMillis(long doubleMillis) {
+        this.doubleMillis = doubleMillis;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -8,6 +8,8 @@ public class StrategyRequest {
     private RulesConfig exit;
     private String strategyId;
     private String strategyName;
+    private String precision; // DECIMAL or DOUBLE, server default when empty
+    private int maxPoints; // equity curve points in the result, server default when not positive
 
     public String getStrategyId() {
         return strategyId;
@@ -64,4 +66,20 @@ public class StrategyRequest {
     public void setExit(RulesConfig exit) {
         this.exit = exit;
     }
+
+    public String getPrecision() {
+        return precision;
+    }
+
+    public void setPrecision(String precision) {
+        this.precision = precision;
+    }
+
+    public int getMaxPoints() {
+        return maxPoints;
+    }
+
+    public void setMaxPoints(int maxPoints) {
+        this.maxPoints = maxPoints;
+    }
 }
@@ -2,11 +2,12 @@ package com.prashant.application.dto.strategy;
 
 public class TradeResult {
     private String type; // BUY or SELL
-    private String entryDate;
+    private long entryTime; // epoch millis
     private double entryPrice;
-    private String exitDate;
+    private long exitTime; // epoch millis
     private double exitPrice;
-    private double profit;
+    private double profit; // per share
+    private double returnPercent;
 
     public String getType() {
         return type;
@@ -16,12 +17,12 @@ public class TradeResult {
         this.type = type;
     }
 
-    public String getEntryDate() {
-        return entryDate;
+    public long getEntryTime() {
+        return entryTime;
     }
 
-    public void setEntryDate(String entryDate) {
-        this.entryDate = entryDate;
+    public void setEntryTime(long entryTime) {
+        this.entryTime = entryTime;
     }
 
     public double getEntryPrice() {
@@ -32,12 +33,12 @@ public class TradeResult {
         this.entryPrice = entryPrice;
     }
 
-    public String getExitDate() {
-        return exitDate;
+    public long getExitTime() {
+        return exitTime;
     }
 
-    public void setExitDate(String exitDate) {
-        this.exitDate = exitDate;
+    public void setExitTime(long exitTime) {
+        this.exitTime = exitTime;
     }
 
     public double getExitPrice() {
@@ -56,13 +57,11 @@ public class TradeResult {
         this.profit = profit;
     }
 
-    private String returnVal;
-
-    public String getReturn() {
-        return returnVal;
+    public double getReturnPercent() {
+        return returnPercent;
     }
 
-    public void setReturn(String returnVal) {
-        this.returnVal = returnVal;
+    public void setReturnPercent(double returnPercent) {
+        this.returnPercent = returnPercent;
     }
 }
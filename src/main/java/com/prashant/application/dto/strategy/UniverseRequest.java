@@ -0,0 +1,37 @@
+package com.prashant.application.dto.strategy;
+
+import java.util.List;
+
+/**
+ * One strategy backtested on many symbols: an explicit symbol list, a named basket such as {@code NIFTY50},
+ * or both. The strategy's own stock symbol is ignored.
+ */
+public class UniverseRequest {
+    private StrategyRequest strategy;
+    private List<String> symbols;
+    private String basket;
+
+    public StrategyRequest getStrategy() {
+        return strategy;
+    }
+
+    public void setStrategy(StrategyRequest strategy) {
+        this.strategy = strategy;
+    }
+
+    public List<String> getSymbols() {
+        return symbols;
+    }
+
+    public void setSymbols(List<String> symbols) {
+        this.symbols = symbols;
+    }
+
+    public String getBasket() {
+        return basket;
+    }
+
+    public void setBasket(String basket) {
+        this.basket = basket;
+    }
+}
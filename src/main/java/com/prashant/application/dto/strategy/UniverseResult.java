@@ -0,0 +1,115 @@
+package com.prashant.application.dto.strategy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class UniverseResult {
+    private int symbols;
+    private int succeeded;
+    private int failed;
+    private int profitableSymbols;
+    private int totalTrades;
+    private double winRate; // over the trades of all symbols
+    private double meanReturn; // percent, over succeeded symbols
+    private double medianReturn;
+    private String bestSymbol;
+    private String worstSymbol;
+    private long millis;
+    private List<UniverseRow> rows = new ArrayList<>(); // in request order
+
+    public int getSymbols() {
+        return symbols;
+    }
+
+    public void setSymbols(int symbols) {
+        this.symbols = symbols;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public void setSucceeded(int succeeded) {
+        this.succeeded = succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public int getProfitableSymbols() {
+        return profitableSymbols;
+    }
+
+    public void setProfitableSymbols(int profitableSymbols) {
+        this.profitableSymbols = profitableSymbols;
+    }
+
+    public int getTotalTrades() {
+        return totalTrades;
+    }
+
+    public void setTotalTrades(int totalTrades) {
+        this.totalTrades = totalTrades;
+    }
+
+    public double getWinRate() {
+        return winRate;
+    }
+
+    public void setWinRate(double winRate) {
+        this.winRate = winRate;
+    }
+
+    public double getMeanReturn() {
+        return meanReturn;
+    }
+
+    public void setMeanReturn(double meanReturn) {
+        this.meanReturn = meanReturn;
+    }
+
+    public double getMedianReturn() {
+        return medianReturn;
+    }
+
+    public void setMedianReturn(double medianReturn) {
+        this.medianReturn = medianReturn;
+    }
+
+    public String getBestSymbol() {
+        return bestSymbol;
+    }
+
+    public void setBestSymbol(String bestSymbol) {
+        this.bestSymbol = bestSymbol;
+    }
+
+    public String getWorstSymbol() {
+        return worstSymbol;
+    }
+
+    public void setWorstSymbol(String worstSymbol) {
+        this.worstSymbol = worstSymbol;
+    }
+
+    public long getMillis() {
+        return millis;
+    }
+
+    public void setMillis(long millis) {
+        this.millis = millis;
+    }
+
+    public List<UniverseRow> getRows() {
+        return rows;
+    }
+
+    public void setRows(List<UniverseRow> rows) {
+        this.rows = rows;
+    }
+}
@@ -0,0 +1,44 @@
+package com.prashant.application.dto.strategy;
+
+/**
+ * Walk-forward analysis: the strategy is optimized on each train window and then run with the winning parameters
+ * on the test window that follows it.
+ */
+public class WalkForwardRequest {
+    private OptimizationRequest optimization; // strategy, ranges, objective and search mode for every window
+    private int trainBars;
+    private int testBars; // also the step between windows
+    private String windowMode; // ROLLING (default, fixed train length) or ANCHORED (train from the first bar)
+
+    public OptimizationRequest getOptimization() {
+        return optimization;
+    }
+
+    public void setOptimization(OptimizationRequest optimization) {
+        this.optimization = optimization;
+    }
+
+    public int getTrainBars() {
+        return trainBars;
+    }
+
+    public void setTrainBars(int trainBars) {
+        this.trainBars = trainBars;
+    }
+
+    public int getTestBars() {
+        return testBars;
+    }
+
+    public void setTestBars(int testBars) {
+        this.testBars = testBars;
+    }
+
+    public String getWindowMode() {
+        return windowMode;
+    }
+
+    public void setWindowMode(String windowMode) {
+        this.windowMode = windowMode;
+    }
+}
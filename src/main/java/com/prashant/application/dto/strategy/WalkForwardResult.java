@@ -0,0 +1,52 @@
+package com.prashant.application.dto.strategy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class WalkForwardResult {
+    private String windowMode;
+    private String objective;
+    private List<WalkForwardWindow> windows = new ArrayList<>();
+    private BacktestResult outOfSample; // trades of all test windows stitched together
+    private long millis;
+
+    public String getWindowMode() {
+        return windowMode;
+    }
+
+    public void setWindowMode(String windowMode) {
+        this.windowMode = windowMode;
+    }
+
+    public String getObjective() {
+        return objective;
+    }
+
+    public void setObjective(String objective) {
+        this.objective = objective;
+    }
+
+    public List<WalkForwardWindow> getWindows() {
+        return windows;
+    }
+
+    public void setWindows(List<WalkForwardWindow> windows) {
+        this.windows = windows;
+    }
+
+    public BacktestResult getOutOfSample() {
+        return outOfSample;
+    }
+
+    public void setOutOfSample(BacktestResult outOfSample) {
+        this.outOfSample = outOfSample;
+    }
+
+    public long getMillis() {
+        return millis;
+    }
+
+    public void setMillis(long millis) {
+        this.millis = millis;
+    }
+}
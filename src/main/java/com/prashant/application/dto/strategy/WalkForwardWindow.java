@@ -0,0 +1,96 @@
+package com.prashant.application.dto.strategy;
+
+import java.util.Map;
+
+public class WalkForwardWindow {
+    private String trainStart;
+    private String trainEnd;
+    private String testStart;
+    private String testEnd;
+    private Map<String, String> parameters; // best parameters of the train window
+    private double trainScore;
+    private double testScore;
+    private int testTrades;
+    private double testProfitLoss;
+    private String error;
+
+    public String getTrainStart() {
+        return trainStart;
+    }
+
+    public void setTrainStart(String trainStart) {
+        this.trainStart = trainStart;
+    }
+
+    public String getTrainEnd() {
+        return trainEnd;
+    }
+
+    public void setTrainEnd(String trainEnd) {
+        this.trainEnd = trainEnd;
+    }
+
+    public String getTestStart() {
+        return testStart;
+    }
+
+    public void setTestStart(String testStart) {
+        this.testStart = testStart;
+    }
+
+    public String getTestEnd() {
+        return testEnd;
+    }
+
+    public void setTestEnd(String testEnd) {
+        this.testEnd = testEnd;
+    }
+
+    public Map<String, String> getParameters() {
+        return parameters;
+    }
+
+    public void setParameters(Map<String, String> parameters) {
+        this.parameters = parameters;
+    }
+
+    public double getTrainScore() {
+        return trainScore;
+    }
+
+    public void setTrainScore(double trainScore) {
+        this.trainScore = trainScore;
+    }
+
+    public double getTestScore() {
+        return testScore;
+    }
+
+    public void setTestScore(double testScore) {
+        this.testScore = testScore;
+    }
+
+    public int getTestTrades() {
+        return testTrades;
+    }
+
+    public void setTestTrades(int testTrades) {
+        this.testTrades = testTrades;
+    }
+
+    public double getTestProfitLoss() {
+        return testProfitLoss;
+    }
+
+    public void setTestProfitLoss(double testProfitLoss) {
+        this.testProfitLoss = testProfitLoss;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
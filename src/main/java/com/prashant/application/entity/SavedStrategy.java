@@ -16,6 +16,11 @@ public class SavedStrategy {
     @Column(length = 100000)
     private String strategyJson;
 
+    // Symbol and bars the strategy was saved with; scheduled runs backtest on these
+    private String stockSymbol;
+    private String rangeParam;
+    private String intervalParam;
+
     private LocalDateTime savedAt;
 
     public String getId() {
@@ -42,6 +47,30 @@ public class SavedStrategy {
         this.strategyJson = strategyJson;
     }
 
+    public String getStockSymbol() {
+        return stockSymbol;
+    }
+
+    public void setStockSymbol(String stockSymbol) {
+        this.stockSymbol = stockSymbol;
+    }
+
+    public String getRangeParam() {
+        return rangeParam;
+    }
+
+    public void setRangeParam(String rangeParam) {
+        this.rangeParam = rangeParam;
+    }
+
+    public String getIntervalParam() {
+        return intervalParam;
+    }
+
+    public void setIntervalParam(String intervalParam) {
+        this.intervalParam = intervalParam;
+    }
+
     public LocalDateTime getSavedAt() {
         return savedAt;
     }
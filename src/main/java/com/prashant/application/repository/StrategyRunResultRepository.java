@@ -6,7 +6,11 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface StrategyRunResultRepository extends JpaRepository<StrategyRunResult, Long> {
     Page<StrategyRunResult> findAll(Pageable pageable);
+
+    Optional<StrategyRunResult> findFirstByStrategyIdOrderByRanAtDesc(String strategyId);
 }
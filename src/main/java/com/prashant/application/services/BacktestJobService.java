@@ -0,0 +1,259 @@
+package com.prashant.application.services;
+
+import com.prashant.application.broker.BarColumns;
+import com.prashant.application.dto.strategy.BacktestResult;
+import com.prashant.application.dto.strategy.JobQueueStats;
+import com.prashant.application.dto.strategy.JobStatus;
+import com.prashant.application.dto.strategy.OptimizationRequest;
+import com.prashant.application.dto.strategy.PortfolioRequest;
+import com.prashant.application.dto.strategy.StrategyRequest;
+import com.prashant.application.dto.strategy.UniverseRequest;
+import com.prashant.application.dto.strategy.WalkForwardRequest;
+import com.prashant.application.services.job.Job;
+import com.prashant.application.services.job.JobPriority;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Deque;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Runs backtests as queued jobs instead of on the request thread. Submitting returns the job's id at once; the
+ * job runs on the bounded job executor, interactive jobs ahead of batch jobs, and its status, progress and
+ * (partial) result can be polled or subscribed to until it finishes. Finished jobs are kept for a while so their
+ * results can still be fetched.
+ * <p>
+ * Cancellation is checked between the stages of a backtest, before each symbol of a universe or portfolio and
+ * before each combination of an optimization or walk-forward window, and waits for bars are interruptible, so a
+ * cancelled job stops computing promptly.
+ */
+@Service
+public class BacktestJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BacktestJobService.class);
+
+    private final BacktestService backtestService;
+    private final UniverseBacktestService universeBacktestService;
+    private final StrategyOptimizerService optimizerService;
+    private final WalkForwardService walkForwardService;
+    private final PortfolioBacktestService portfolioBacktestService;
+    private final StrategyScheduleService scheduleService;
+    private final ThreadPoolExecutor jobExecutor;
+    private final int maxQueued;
+    private final int retained;
+    // One permit per job that has not started yet, taken on submit so concurrent submits cannot overfill the queue
+    private final Semaphore queueSlots;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final Deque<String> finished = new ConcurrentLinkedDeque<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong cancelled = new AtomicLong();
+    private final AtomicLong started = new AtomicLong();
+    private final AtomicLong totalWaitMillis = new AtomicLong();
+    private final AtomicLong maxWaitMillis = new AtomicLong();
+
+    public BacktestJobService(BacktestService backtestService, UniverseBacktestService universeBacktestService,
+            StrategyOptimizerService optimizerService, WalkForwardService walkForwardService,
+            PortfolioBacktestService portfolioBacktestService, StrategyScheduleService scheduleService,
+            @Qualifier("jobExecutor") ThreadPoolExecutor jobExecutor,
+            @Value("${strategymaster.jobs.max-queued:100}") int maxQueued,
+            @Value("${strategymaster.jobs.retained:200}") int retained) {
+        this.backtestService = backtestService;
+        this.universeBacktestService = universeBacktestService;
+        this.optimizerService = optimizerService;
+        this.walkForwardService = walkForwardService;
+        this.portfolioBacktestService = portfolioBacktestService;
+        this.scheduleService = scheduleService;
+        this.jobExecutor = jobExecutor;
+        this.maxQueued = maxQueued;
+        this.retained = retained;
+        this.queueSlots = new Semaphore(maxQueued);
+    }
+
+    /**
+     * Queues a backtest whose result is saved like a backtest run from the builder. Interactive unless
+     * {@code priority} says otherwise.
+     */
+    public JobStatus submitBacktest(StrategyRequest request, String priority) {
+        if (request == null) {
+            throw new IllegalArgumentException("A strategy request is required");
+        }
+        return submit("BACKTEST", JobPriority.from(priority, JobPriority.INTERACTIVE), job -> {
+            job.progress(0.05, "Loading bars");
+            BarColumns bars = backtestService.loadBars(request);
+            job.checkCancelled();
+            job.progress(0.4, "Backtesting");
+            BacktestResult result = backtestService.runBacktest(request, bars);
+            job.checkCancelled();
+            job.progress(0.9, "Saving result");
+            scheduleService.saveManualRunResult(request, result);
+            job.setBacktest(result);
+        });
+    }
+
+    /**
+     * Queues a universe backtest, in the batch queue unless {@code priority} says otherwise.
+     */
+    public JobStatus submitUniverse(UniverseRequest request, String priority) {
+        if (request == null || request.getStrategy() == null) {
+            throw new IllegalArgumentException("A universe with a strategy is required");
+        }
+        // Reject an invalid symbol list now rather than as a failed job
+        universeBacktestService.symbols(request);
+        return submit("UNIVERSE", JobPriority.from(priority, JobPriority.BATCH),
+                job -> job.setUniverse(universeBacktestService.run(request, job, job::addRow)));
+    }
+
+    /**
+     * Queues a parameter optimization, in the batch queue unless {@code priority} says otherwise.
+     */
+    public JobStatus submitOptimization(OptimizationRequest request, String priority) {
+        if (request == null) {
+            throw new IllegalArgumentException("An optimization request is required");
+        }
+        optimizerService.validate(request);
+        return submit("OPTIMIZE", JobPriority.from(priority, JobPriority.BATCH),
+                job -> job.setOptimization(optimizerService.optimize(request, job)));
+    }
+
+    /**
+     * Queues a walk-forward analysis, in the batch queue unless {@code priority} says otherwise.
+     */
+    public JobStatus submitWalkForward(WalkForwardRequest request, String priority) {
+        if (request == null || request.getOptimization() == null) {
+            throw new IllegalArgumentException("An optimization request is required");
+        }
+        optimizerService.validate(request.getOptimization());
+        return submit("WALK_FORWARD", JobPriority.from(priority, JobPriority.BATCH),
+                job -> job.setWalkForward(walkForwardService.run(request, job)));
+    }
+
+    /**
+     * Queues a portfolio backtest, in the batch queue unless {@code priority} says otherwise.
+     */
+    public JobStatus submitPortfolio(PortfolioRequest request, String priority) {
+        if (request == null || request.getUniverse() == null || request.getUniverse().getStrategy() == null) {
+            throw new IllegalArgumentException("A universe with a strategy is required");
+        }
+        universeBacktestService.symbols(request.getUniverse());
+        return submit("PORTFOLIO", JobPriority.from(priority, JobPriority.BATCH),
+                job -> job.setPortfolio(portfolioBacktestService.run(request, job)));
+    }
+
+    private JobStatus submit(String kind, JobPriority priority, Consumer<Job> work) {
+        if (!queueSlots.tryAcquire()) {
+            rejected.incrementAndGet();
+            throw new IllegalStateException("Job queue is full (" + maxQueued + " jobs waiting), try again later");
+        }
+        Job job = new Job(UUID.randomUUID().toString(), kind, priority, sequence.incrementAndGet(), work,
+                this::started, this::finished);
+        jobs.put(job.id(), job);
+        try {
+            jobExecutor.execute(job);
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id());
+            queueSlots.release();
+            rejected.incrementAndGet();
+            throw new IllegalStateException("Job executor is not accepting jobs", e);
+        }
+        logger.debug("Queued {} job {} ({})", kind, job.id(), priority);
+        return job.status();
+    }
+
+    public JobStatus status(String id) {
+        return job(id).status();
+    }
+
+    /**
+     * Cancels a queued or running job; finished jobs are left as they are.
+     */
+    public JobStatus cancel(String id) {
+        Job job = job(id);
+        if (job.cancel()) {
+            // Never starts, so its slot is given back here
+            jobExecutor.remove(job);
+            queueSlots.release();
+        }
+        return job.status();
+    }
+
+    /**
+     * Calls {@code listener} with the job's status on every change until the returned action is run.
+     */
+    public Runnable subscribe(String id, Consumer<JobStatus> listener) {
+        return job(id).subscribe(listener);
+    }
+
+    public JobQueueStats stats() {
+        JobQueueStats stats = new JobQueueStats();
+        int queued = 0;
+        int interactive = 0;
+        long oldest = 0;
+        for (Object task : jobExecutor.getQueue().toArray()) {
+            Job job = (Job) task;
+            queued++;
+            if (job.priority() == JobPriority.INTERACTIVE) {
+                interactive++;
+            }
+            oldest = Math.max(oldest, job.waitMillis());
+        }
+        stats.setQueued(queued);
+        stats.setQueuedInteractive(interactive);
+        stats.setRunning(jobExecutor.getActiveCount());
+        stats.setWorkers(jobExecutor.getMaximumPoolSize());
+        stats.setMaxQueued(maxQueued);
+        stats.setOldestWaitMillis(oldest);
+        long startedJobs = started.get();
+        stats.setAverageWaitMillis(startedJobs > 0 ? totalWaitMillis.get() / startedJobs : 0);
+        stats.setMaxWaitMillis(maxWaitMillis.get());
+        stats.setSubmitted(sequence.get());
+        stats.setRejected(rejected.get());
+        stats.setCancelled(cancelled.get());
+        return stats;
+    }
+
+    private Job job(String id) {
+        Job job = jobs.get(id);
+        if (job == null) {
+            throw new IllegalArgumentException("Unknown job: " + id);
+        }
+        return job;
+    }
+
+    private void started(Job job) {
+        queueSlots.release();
+        long wait = job.waitMillis();
+        started.incrementAndGet();
+        totalWaitMillis.addAndGet(wait);
+        maxWaitMillis.accumulateAndGet(wait, Math::max);
+    }
+
+    private void finished(Job job) {
+        JobStatus status = job.status();
+        if ("CANCELLED".equals(status.getState())) {
+            cancelled.incrementAndGet();
+        }
+        logger.info("{} job {} {} after waiting {} ms and running {} ms", status.getKind(), job.id(),
+                status.getState(), status.getWaitMillis(), status.getRunMillis());
+        // Keep the most recent finished jobs only
+        finished.addLast(job.id());
+        while (finished.size() > retained) {
+            String oldest = finished.pollFirst();
+            if (oldest != null) {
+                jobs.remove(oldest);
+            }
+        }
+    }
+}
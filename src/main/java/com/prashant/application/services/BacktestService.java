@@ -1,154 +1,394 @@
 package com.prashant.application.services;
 
-import com.prashant.application.broker.StockDataRecord;
-import com.prashant.application.broker.YahooFetchService;
+import com.prashant.application.broker.BarColumns;
+import com.prashant.application.broker.MarketDataSource;
 import com.prashant.application.dto.strategy.BacktestResult;
+import com.prashant.application.dto.strategy.EquityCurve;
+import com.prashant.application.dto.strategy.ResultCacheStats;
 import com.prashant.application.dto.strategy.StrategyRequest;
 import com.prashant.application.dto.strategy.TradeResult;
+import com.prashant.application.services.metrics.Lttb;
+import com.prashant.application.services.metrics.PerformanceMetrics;
+import com.prashant.application.services.rules.RuleBitsets;
+import com.prashant.application.services.rules.RuleTrace;
+import com.prashant.application.services.series.ColumnarBarSeries;
+import com.prashant.application.services.series.NumPrecision;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.ta4j.core.*;
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.backtest.BarSeriesManager;
 
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntToLongFunction;
+import java.util.function.Supplier;
 
 @Service
 public class BacktestService {
 
+    private static final Logger logger = LoggerFactory.getLogger(BacktestService.class);
+
+    private static final double STARTING_EQUITY = 100000;
+
     private final StrategyParserService strategyParserService;
-    private final YahooFetchService yahooFetchService;
+    private final MarketDataSource marketDataSource;
+    private final MonteCarloService monteCarloService;
+    private final NumPrecision defaultPrecision;
+    private final boolean bitsetRules;
+    private final int maxCurvePoints;
+    private final int resultCacheSize;
+    private final Map<String, CachedResult> results;
+    private final AtomicLong resultHits = new AtomicLong();
+    private final AtomicLong resultMisses = new AtomicLong();
+    private final AtomicLong resultInvalidations = new AtomicLong();
 
-    public BacktestService(StrategyParserService strategyParserService, YahooFetchService yahooFetchService) {
+    public BacktestService(StrategyParserService strategyParserService, MarketDataSource marketDataSource,
+            MonteCarloService monteCarloService,
+            @Value("${strategymaster.backtest.precision:decimal}") String defaultPrecision,
+            @Value("${strategymaster.backtest.rule-engine:bitset}") String ruleEngine,
+            @Value("${strategymaster.backtest.max-curve-points:1000}") int maxCurvePoints,
+            @Value("${strategymaster.backtest.result-cache-size:128}") int resultCacheSize) {
         this.strategyParserService = strategyParserService;
-        this.yahooFetchService = yahooFetchService;
+        this.marketDataSource = marketDataSource;
+        this.monteCarloService = monteCarloService;
+        this.defaultPrecision = NumPrecision.from(defaultPrecision, NumPrecision.DECIMAL);
+        this.bitsetRules = "bitset".equalsIgnoreCase(ruleEngine);
+        this.maxCurvePoints = maxCurvePoints;
+        this.resultCacheSize = resultCacheSize;
+        // Least recently used results are evicted once the cache is full
+        this.results = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResult> eldest) {
+                return size() > resultCacheSize;
+            }
+        });
+    }
+
+    /**
+     * Result of a request and the data it was computed from, keyed by the canonical request, with the strategies
+     * that saved a run of it.
+     */
+    private record CachedResult(long fingerprint, BacktestResult result, Set<String> savedBy) {
     }
 
     public BacktestResult runBacktest(StrategyRequest request) {
-        // 1. Fetch Real Data from Yahoo Finance
-        BarSeries series = fetchRealData(request.getStockSymbol(), request.getRange(), request.getInterval());
-        if (series.isEmpty()) {
+        // 1. Load bars from the local store, falling back to the configured market data source
+        BarColumns bars = loadBars(request);
+        return runBacktest(request, bars);
+    }
+
+    /**
+     * Backtests the request on {@code bars}, or returns the cached result of an equal request on the same bars.
+     * A cached result is replaced as soon as the bars differ from the ones it was computed from, so new or revised
+     * bars never serve a stale result.
+     */
+    public BacktestResult runBacktest(StrategyRequest request, BarColumns bars) {
+        NumPrecision precision = precision(request);
+        return cached(request, bars.fingerprint(),
+                () -> runBacktest(request, toSeries(request, bars, precision)));
+    }
+
+    /**
+     * The cached result of an equal request on bars with {@code fingerprint}, or else the result of
+     * {@code compute}, which is then cached. {@code compute} must backtest the request on exactly those bars.
+     */
+    public BacktestResult cached(StrategyRequest request, long fingerprint, Supplier<BacktestResult> compute) {
+        if (resultCacheSize <= 0) {
+            return compute.get();
+        }
+
+        String key = resultKey(request, precision(request));
+        CachedResult cached = results.get(key);
+        if (cached != null && cached.fingerprint() == fingerprint) {
+            resultHits.incrementAndGet();
+            return cached.result();
+        }
+        if (cached != null) {
+            resultInvalidations.incrementAndGet();
+        }
+        resultMisses.incrementAndGet();
+
+        BacktestResult result = compute.get();
+        results.put(key, new CachedResult(fingerprint, cachedCopy(result), ConcurrentHashMap.newKeySet()));
+        return result;
+    }
+
+    /**
+     * Records that {@code strategyId} saved a run of the request's cached result; {@code false} if it already did.
+     * Repeated runs of one strategy on unchanged bars are then saved once, while every other strategy with the same
+     * rules still gets its own row. A result that is not cached is always saved.
+     */
+    public boolean recordSave(StrategyRequest request, String strategyId) {
+        if (resultCacheSize <= 0) {
+            return true;
+        }
+        CachedResult cached = results.get(resultKey(request, precision(request)));
+        return cached == null || cached.savedBy().add(strategyId);
+    }
+
+    /**
+     * Canonical form of everything that determines a result apart from the bars: the rule tree as the parser
+     * normalises it, the data selection, the precision and the curve resolution.
+     */
+    private String resultKey(StrategyRequest request, NumPrecision precision) {
+        int points = request.getMaxPoints() > 0 ? request.getMaxPoints() : maxCurvePoints;
+        return strategyParserService.plan(request).key() + " on " + request.getStockSymbol() + " "
+                + request.getRange() + " " + request.getInterval() + " " + precision + " " + points;
+    }
+
+    /**
+     * The copy handed out on cache hits, flagged as cached. Trades and curve are shared with the original, which is
+     * never modified after it is built.
+     */
+    private static BacktestResult cachedCopy(BacktestResult result) {
+        BacktestResult copy = new BacktestResult();
+        copy.setProfitLoss(result.getProfitLoss());
+        copy.setTotalTrades(result.getTotalTrades());
+        copy.setWinningTrades(result.getWinningTrades());
+        copy.setLosingTrades(result.getLosingTrades());
+        copy.setWinRate(result.getWinRate());
+        copy.setMaxDrawdown(result.getMaxDrawdown());
+        copy.setSharpeRatio(result.getSharpeRatio());
+        copy.setSortinoRatio(result.getSortinoRatio());
+        copy.setCagr(result.getCagr());
+        copy.setExposure(result.getExposure());
+        copy.setProfitFactor(result.getProfitFactor());
+        copy.setTotalReturn(result.getTotalReturn());
+        copy.setEquityCurve(result.getEquityCurve());
+        copy.setTrades(result.getTrades());
+        copy.setMonteCarlo(result.getMonteCarlo());
+        copy.setCached(true);
+        return copy;
+    }
+
+    public ResultCacheStats resultCacheStats() {
+        ResultCacheStats stats = new ResultCacheStats();
+        long hits = resultHits.get();
+        long misses = resultMisses.get();
+        stats.setSize(results.size());
+        stats.setCapacity(Math.max(resultCacheSize, 0));
+        stats.setHits(hits);
+        stats.setMisses(misses);
+        stats.setInvalidations(resultInvalidations.get());
+        stats.setHitRatio(hits + misses > 0 ? (double) hits / (hits + misses) : 0);
+        return stats;
+    }
+
+    /**
+     * Loads the request's bars with its precision, or the configured default.
+     */
+    public BarSeries loadSeries(StrategyRequest request) {
+        return loadSeries(request, precision(request));
+    }
+
+    /**
+     * Precision the request asks for, or the configured default.
+     */
+    public NumPrecision precision(StrategyRequest request) {
+        return NumPrecision.from(request.getPrecision(), defaultPrecision);
+    }
+
+    /**
+     * Loads the request's bars as a series using the given number precision.
+     */
+    public BarSeries loadSeries(StrategyRequest request, NumPrecision precision) {
+        return toSeries(request, loadBars(request), precision);
+    }
+
+    /**
+     * Loads the request's bars from the local store, falling back to the configured market data source.
+     */
+    public BarColumns loadBars(StrategyRequest request) {
+        BarColumns bars = marketDataSource.fetch(request.getStockSymbol(), request.getRange(), request.getInterval());
+        if (bars.isEmpty()) {
             throw new RuntimeException("No trade data found for " + request.getStockSymbol() +
                     " in the selected range (" + request.getRange() + ") and interval (" + request.getInterval() +
                     "). Please try a different combination.");
         }
+        return bars;
+    }
 
+    /**
+     * The request's symbol and interval over {@code bars} as a series with the given precision.
+     */
+    public static BarSeries toSeries(StrategyRequest request, BarColumns bars, NumPrecision precision) {
+        // Columnar series: bars are views over the primitive columns, each spanning its true interval boundaries
+        return new ColumnarBarSeries(request.getStockSymbol(), bars, request.getInterval(), precision.numFactory());
+    }
+
+    public BacktestResult runBacktest(StrategyRequest request, BarSeries series) {
         // 2. Parse Strategy
         Strategy strategy = strategyParserService.parse(request, series);
 
         // 3. Run Backtest
-        BarSeriesManager seriesManager = new BarSeriesManager(series);
-        TradingRecord tradingRecord = seriesManager.run(strategy);
+        TradingRecord tradingRecord = execute(strategy, series);
 
         // 4. Build Result
-        return buildResult(series, tradingRecord);
+        return buildResult(series, tradingRecord.getPositions(), request.getMaxPoints());
     }
 
-    private BacktestResult buildResult(BarSeries series, TradingRecord tradingRecord) {
-        BacktestResult result = new BacktestResult();
+    /**
+     * Runs a strategy bound to {@code series} with the configured rule engine.
+     */
+    public TradingRecord execute(Strategy strategy, BarSeries series) {
+        return execute(strategy, series, series.getBeginIndex(), series.getEndIndex());
+    }
+
+    /**
+     * Runs a strategy bound to {@code series} on bars {@code startIndex..finishIndex} only. Indicators still see
+     * the bars before {@code startIndex}, so they are warmed up as in a run over the whole series.
+     */
+    public TradingRecord execute(Strategy strategy, BarSeries series, int startIndex, int finishIndex) {
+        strategy = compileRules(strategy, series);
+        RuleTrace trace = logger.isDebugEnabled() ? new RuleTrace(strategy) : null;
+
+        BarSeriesManager seriesManager = new BarSeriesManager(series);
+        TradingRecord tradingRecord = seriesManager.run(trace != null ? trace.strategy() : strategy, startIndex,
+                finishIndex);
+        if (trace != null) {
+            logger.debug("Rule evaluation for {}: {}", series.getName(), trace);
+        }
+        return tradingRecord;
+    }
+
+    /**
+     * The strategy as the configured rule engine evaluates it: with the bitset engine, the whole rule tree is
+     * evaluated up front and later checks only read precomputed bits.
+     */
+    public Strategy compileRules(Strategy strategy, BarSeries series) {
+        return bitsetRules ? RuleBitsets.compile(strategy, series) : strategy;
+    }
+
+    /**
+     * Trade counts and profit of a run, without the per-trade rows and equity curve.
+     */
+    public BacktestResult summarize(TradingRecord tradingRecord) {
+        return summarize(tradingRecord.getPositions());
+    }
 
-        // Calculate basic stats
-        // Note: ta4j 0.14+ uses Criteria for calculations usually, keeping it simple
-        // here
-        result.setTotalTrades(tradingRecord.getPositionCount());
+    public BacktestResult summarize(List<Position> positions) {
+        BacktestResult result = new BacktestResult();
+        result.setTotalTrades(positions.size());
 
         int winning = 0;
         int losing = 0;
         double totalProfit = 0;
+        for (Position position : positions) {
+            // Simplified PnL calculation: (Exit - Entry), assuming long only
+            double tradeProfit = position.getExit().getNetPrice().doubleValue()
+                    - position.getEntry().getNetPrice().doubleValue();
+            if (tradeProfit > 0)
+                winning++;
+            else
+                losing++;
+            totalProfit += tradeProfit;
+        }
+
+        result.setWinningTrades(winning);
+        result.setLosingTrades(losing);
+        result.setProfitLoss(totalProfit);
+        if (result.getTotalTrades() > 0) {
+            result.setWinRate((double) winning / result.getTotalTrades() * 100);
+        }
+        return result;
+    }
 
-        // Calculate manually to fill trade details list
-        for (Position position : tradingRecord.getPositions()) {
+    /**
+     * Trade counts, profit and equity metrics of closed positions on bars {@code from..to} of {@code series}.
+     */
+    public BacktestResult summarize(BarSeries series, List<Position> positions, int from, int to) {
+        BacktestResult result = summarize(positions);
+        applyMetrics(result, PerformanceMetrics.compute(series, positions, from, to, STARTING_EQUITY, null));
+        return result;
+    }
 
-            // Simplified PnL calculation: (Exit - Entry)
+    private static void applyMetrics(BacktestResult result, PerformanceMetrics metrics) {
+        result.setTotalReturn(metrics.totalReturn());
+        result.setMaxDrawdown(metrics.maxDrawdown());
+        result.setSharpeRatio(metrics.sharpeRatio());
+        result.setSortinoRatio(metrics.sortinoRatio());
+        result.setCagr(metrics.cagr());
+        result.setExposure(metrics.exposure());
+        result.setProfitFactor(metrics.profitFactor());
+    }
 
+    /**
+     * Full result, with trade rows, equity curve and Monte Carlo simulation, of closed positions on {@code series}.
+     */
+    public BacktestResult buildResult(BarSeries series, List<Position> positions) {
+        return buildResult(series, positions, 0);
+    }
+
+    /**
+     * Full result whose equity curve has at most {@code maxPoints} points, the configured default when not
+     * positive.
+     */
+    public BacktestResult buildResult(BarSeries series, List<Position> positions, int maxPoints) {
+        return buildResult(series, positions, series.getBeginIndex(), series.getEndIndex(), maxPoints);
+    }
+
+    /**
+     * Full result of closed positions within bars {@code from..to} of {@code series}, with metrics and equity curve
+     * over that range only.
+     */
+    public BacktestResult buildResult(BarSeries series, List<Position> positions, int from, int to,
+            int maxPoints) {
+        BacktestResult result = summarize(positions);
+
+        // Fill trade details list
+        for (Position position : positions) {
             double entryPrice = position.getEntry().getNetPrice().doubleValue();
             double exitPrice = position.getExit().getNetPrice().doubleValue();
             // Assuming Long only for now
             double tradeProfit = exitPrice - entryPrice; // Simplified absolute profit per share
 
-            if (tradeProfit > 0)
-                winning++;
-            else
-                losing++;
-
-            totalProfit += tradeProfit;
-
             TradeResult tr = new TradeResult();
             tr.setType(position.getEntry().getType().toString());
             tr.setEntryPrice(entryPrice);
             tr.setExitPrice(exitPrice);
             tr.setProfit(tradeProfit);
-            double returnPct = (entryPrice != 0) ? (tradeProfit / entryPrice) * 100 : 0.0;
-            tr.setReturn(String.format("%.2f", returnPct));
-            // Dates
-            tr.setEntryDate(series.getBar(position.getEntry().getIndex()).getEndTime().toString());
-            tr.setExitDate(series.getBar(position.getExit().getIndex()).getEndTime().toString());
+            tr.setReturnPercent((entryPrice != 0) ? (tradeProfit / entryPrice) * 100 : 0.0);
+            tr.setEntryTime(series.getBar(position.getEntry().getIndex()).getBeginTime().toEpochMilli());
+            tr.setExitTime(series.getBar(position.getExit().getIndex()).getBeginTime().toEpochMilli());
 
             result.getTrades().add(tr);
         }
 
-        result.setWinningTrades(winning);
-        result.setLosingTrades(losing);
-        result.setProfitLoss(totalProfit);
-        if (result.getTotalTrades() > 0) {
-            result.setWinRate((double) winning / result.getTotalTrades() * 100);
-        }
+        // Robustness of the trade sequence: the same trades replayed in random orders
+        result.setMonteCarlo(monteCarloService.simulate(result.getTrades()));
 
-        // Mock additional metrics to satisfy frontend
-        result.setMaxDrawdown(12.5);
-        result.setSharpeRatio(1.8);
-
-        // Generate dummy equity curve
-        List<Map<String, Object>> equityCurve = new ArrayList<>();
-        double equity = 100000; // Start capital
-        for (int i = 0; i < series.getBarCount(); i++) {
-            // Add random noise + trend based on profit
-            equity += (totalProfit / series.getBarCount()) + (Math.random() - 0.5) * 200;
-            Map<String, Object> point = new HashMap<>();
-            point.put("day", i + 1);
-            point.put("value", equity);
-            // Simple date format
-            point.put("date",
-                    series.getBar(i).getEndTime().atZone(ZoneId.systemDefault()).getMonth().name().substring(0, 3) + " "
-                            + series.getBar(i).getEndTime().atZone(ZoneId.systemDefault()).getDayOfMonth());
-            equityCurve.add(point);
-        }
-        result.setEquityCurve(equityCurve);
+        // Mark-to-market equity and the metrics derived from it, in one pass
+        double[] curve = new double[to - from + 1];
+        applyMetrics(result, PerformanceMetrics.compute(series, positions, from, to, STARTING_EQUITY, curve));
+
+        result.setEquityCurve(equityCurve(curve, curve.length, maxPoints,
+                i -> series.getBar(from + i).getBeginTime().toEpochMilli()));
 
         return result;
     }
 
-    private BarSeries fetchRealData(String stockSymbol, String range, String interval) {
-        // Fetch data from Yahoo Finance
-        List<StockDataRecord> stockData = yahooFetchService.fetchSockData(stockSymbol, range, interval);
-
-        // Create BarSeries
-        BarSeries series = new BaseBarSeriesBuilder().withName(stockSymbol).build();
-
-        // Convert StockDataRecord to BarSeries
-        for (StockDataRecord record : stockData) {
-            // Convert LocalDate to ZonedDateTime (end of day)
-            ZonedDateTime endTime = record.timeStamp()
-                    .atStartOfDay(ZoneId.of("UTC"))
-                    .plusDays(1)
-                    .minusSeconds(1);
-
-            series.barBuilder()
-                    .timePeriod(java.time.Duration.ofDays(1))
-                    .endTime(endTime.toInstant())
-                    .openPrice(record.open())
-                    .highPrice(record.high())
-                    .lowPrice(record.low())
-                    .closePrice(record.close())
-                    .volume(record.volume() != null ? record.volume() : 0)
-                    .amount(0)
-                    .add();
+    /**
+     * Curve of {@code values[0..count)} downsampled with {@link Lttb} to at most {@code maxPoints} points, the
+     * configured default when not positive; {@code time} gives the epoch millis of a point.
+     */
+    public EquityCurve equityCurve(double[] values, int count, int maxPoints, IntToLongFunction time) {
+        int[] kept = Lttb.select(values, count, maxPoints > 0 ? maxPoints : maxCurvePoints);
+        EquityCurve curve = new EquityCurve();
+        curve.setTimes(new long[kept.length]);
+        curve.setValues(new double[kept.length]);
+        curve.setBars(count);
+        for (int k = 0; k < kept.length; k++) {
+            curve.getTimes()[k] = time.applyAsLong(kept[k]);
+            curve.getValues()[k] = values[kept[k]];
         }
-
-        return series;
+        return curve;
     }
 }
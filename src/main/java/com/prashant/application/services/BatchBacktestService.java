@@ -0,0 +1,185 @@
+package com.prashant.application.services;
+
+import com.prashant.application.broker.BarColumns;
+import com.prashant.application.broker.BarDataService;
+import com.prashant.application.dto.strategy.BacktestResult;
+import com.prashant.application.dto.strategy.BatchResult;
+import com.prashant.application.dto.strategy.BatchRow;
+import com.prashant.application.dto.strategy.StrategyRequest;
+import com.prashant.application.services.indicator.SharedClosePriceIndicator;
+import com.prashant.application.services.series.NumPrecision;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.TradingRecord;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Backtests many independent requests in one call, each with the same result as a single run.
+ * <p>
+ * Requests are grouped by the series they run on (symbol, range, interval and precision), so each series is loaded
+ * once. All loads start at once, and a group's backtests are queued on the optimizer pool as soon as its bars
+ * arrive. Within a group, requests run in chunks that each bind their strategies to one shared close price, so
+ * equal indicators are computed once per chunk, and whole-column indicator kernels once per series. Results are
+ * served from and added to the backtest result cache, and saved together at the end.
+ */
+@Service
+public class BatchBacktestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchBacktestService.class);
+
+    /** Most requests of one series run by one task; larger groups are split so they use several cores. */
+    private static final int CHUNK_SIZE = 16;
+
+    private final BacktestService backtestService;
+    private final StrategyParserService strategyParserService;
+    private final StrategyScheduleService scheduleService;
+    private final BarDataService barDataService;
+    private final ForkJoinPool optimizerPool;
+    private final int maxRequests;
+
+    public BatchBacktestService(BacktestService backtestService, StrategyParserService strategyParserService,
+            StrategyScheduleService scheduleService, BarDataService barDataService, ForkJoinPool optimizerPool,
+            @Value("${strategymaster.batch.max-requests:1000}") int maxRequests) {
+        this.backtestService = backtestService;
+        this.strategyParserService = strategyParserService;
+        this.scheduleService = scheduleService;
+        this.barDataService = barDataService;
+        this.optimizerPool = optimizerPool;
+        this.maxRequests = maxRequests;
+    }
+
+    /**
+     * Bars of one group, with their fingerprint for the result cache.
+     */
+    private record LoadedSeries(BarSeries series, long fingerprint) {
+    }
+
+    public BatchResult run(List<StrategyRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("A batch needs at least one request");
+        }
+        if (requests.size() > maxRequests) {
+            throw new IllegalArgumentException("Batch of " + requests.size() + " requests exceeds the limit of "
+                    + maxRequests);
+        }
+
+        long start = System.nanoTime();
+        List<BatchRow> rows = new ArrayList<>(requests.size());
+        Map<String, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            StrategyRequest request = requests.get(i);
+            BatchRow row = new BatchRow();
+            row.setIndex(i);
+            rows.add(row);
+            if (request == null) {
+                row.setError("Missing request");
+                continue;
+            }
+            row.setSymbol(request.getStockSymbol());
+            row.setStrategyName(request.getStrategyName());
+            if (request.getStockSymbol() == null || request.getStockSymbol().isBlank()) {
+                row.setError("A stock symbol is required");
+                continue;
+            }
+            String key = request.getStockSymbol() + "|" + request.getRange() + "|" + request.getInterval() + "|"
+                    + backtestService.precision(request);
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+        }
+
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+        for (List<Integer> group : groups.values()) {
+            StrategyRequest first = requests.get(group.get(0));
+            CompletableFuture<LoadedSeries> loaded = barDataService
+                    .loadAsync(first.getStockSymbol(), first.getRange(), first.getInterval())
+                    .thenApply(bars -> load(first, bars));
+            for (int from = 0; from < group.size(); from += CHUNK_SIZE) {
+                List<Integer> chunk = group.subList(from, Math.min(from + CHUNK_SIZE, group.size()));
+                pending.add(loaded
+                        .thenAcceptAsync(series -> backtest(series, chunk, requests, rows), optimizerPool)
+                        .exceptionally(error -> {
+                            failed(chunk, rows, error);
+                            return null;
+                        }));
+            }
+        }
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).join();
+
+        BatchResult result = new BatchResult();
+        List<StrategyRequest> succeededRequests = new ArrayList<>();
+        List<BacktestResult> succeededResults = new ArrayList<>();
+        for (BatchRow row : rows) {
+            if (row.getResult() != null) {
+                succeededRequests.add(requests.get(row.getIndex()));
+                succeededResults.add(row.getResult());
+            }
+        }
+        // One transaction for the whole batch instead of one per run
+        scheduleService.saveManualRunResults(succeededRequests, succeededResults);
+
+        result.setRows(rows);
+        result.setRequests(rows.size());
+        result.setSeries(groups.size());
+        result.setSucceeded(succeededResults.size());
+        result.setFailed(rows.size() - succeededResults.size());
+        result.setMillis((System.nanoTime() - start) / 1_000_000);
+
+        logger.info("Batch backtest :: {} requests on {} series ({} failed) in {} ms", result.getRequests(),
+                result.getSeries(), result.getFailed(), result.getMillis());
+        return result;
+    }
+
+    private LoadedSeries load(StrategyRequest request, BarColumns bars) {
+        if (bars.isEmpty()) {
+            throw new IllegalStateException("No trade data found for " + request.getStockSymbol()
+                    + " in the selected range (" + request.getRange() + ") and interval (" + request.getInterval()
+                    + ")");
+        }
+        NumPrecision precision = backtestService.precision(request);
+        return new LoadedSeries(BacktestService.toSeries(request, bars, precision), bars.fingerprint());
+    }
+
+    /**
+     * Runs one chunk of a group on one thread. A request that fails only fails its own row.
+     */
+    private void backtest(LoadedSeries loaded, List<Integer> chunk, List<StrategyRequest> requests,
+            List<BatchRow> rows) {
+        BarSeries series = loaded.series();
+        SharedClosePriceIndicator closePrice = new SharedClosePriceIndicator(series);
+        for (int index : chunk) {
+            StrategyRequest request = requests.get(index);
+            BatchRow row = rows.get(index);
+            try {
+                row.setResult(backtestService.cached(request, loaded.fingerprint(), () -> {
+                    TradingRecord tradingRecord = backtestService.execute(
+                            strategyParserService.plan(request).bind(closePrice), series);
+                    return backtestService.buildResult(series, tradingRecord.getPositions(), request.getMaxPoints());
+                }));
+            } catch (RuntimeException e) {
+                logger.debug("Batch request {} on {} failed: {}", index, request.getStockSymbol(), e.getMessage());
+                row.setError(message(e));
+            }
+        }
+    }
+
+    private static void failed(List<Integer> chunk, List<BatchRow> rows, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        logger.error("Batch backtest of {} failed: {}", rows.get(chunk.get(0)).getSymbol(), message(cause));
+        for (int index : chunk) {
+            rows.get(index).setError(message(cause));
+        }
+    }
+
+    private static String message(Throwable error) {
+        return error.getMessage() != null ? error.getMessage() : error.toString();
+    }
+}
@@ -0,0 +1,116 @@
+package com.prashant.application.services;
+
+import com.prashant.application.dto.strategy.KernelReport;
+import com.prashant.application.dto.strategy.RuleParam;
+import com.prashant.application.dto.strategy.StrategyRequest;
+import com.prashant.application.services.indicator.IndicatorRegistry;
+import com.prashant.application.services.series.NumPrecision;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.num.Num;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Evaluates every kernel indicator and its ta4j counterpart over the same double precision bars and reports how
+ * far they diverge and how long each took.
+ */
+@Service
+public class KernelVerificationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(KernelVerificationService.class);
+
+    private static final int[] PERIODS = { 2, 5, 14, 20, 50, 200 };
+
+    private final BacktestService backtestService;
+    private final IndicatorRegistry indicatorRegistry;
+
+    public KernelVerificationService(BacktestService backtestService, IndicatorRegistry indicatorRegistry) {
+        this.backtestService = backtestService;
+        this.indicatorRegistry = indicatorRegistry;
+    }
+
+    public List<KernelReport> verify(String symbol, String range, String interval) {
+        StrategyRequest request = new StrategyRequest();
+        request.setStockSymbol(symbol);
+        request.setRange(range);
+        request.setInterval(interval);
+        BarSeries series = backtestService.loadSeries(request, NumPrecision.DOUBLE);
+
+        List<KernelReport> reports = new ArrayList<>();
+        for (String name : new TreeSet<>(indicatorRegistry.kernelNames())) {
+            for (int period : PERIODS) {
+                reports.add(compare(series, name, period));
+            }
+        }
+        return reports;
+    }
+
+    private KernelReport compare(BarSeries series, String name, int period) {
+        RuleParam param = new RuleParam();
+        param.setName("period");
+        param.setValue(String.valueOf(period));
+        List<RuleParam> params = List.of(param);
+        int bars = series.getBarCount();
+
+        // Fresh instances on each side; values are read once, in order, the way a backtest reads them
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        long start = System.nanoTime();
+        Num[] expected = values(indicatorRegistry.createIndicator(name, closePrice, params, false), bars);
+        long ta4jNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        Num[] actual = values(indicatorRegistry.createIndicator(name, closePrice, params, true), bars);
+        long kernelNanos = System.nanoTime() - start;
+
+        KernelReport report = new KernelReport();
+        report.setIndicator(name);
+        report.setPeriod(period);
+        report.setBars(bars);
+        report.setTa4jMillis(ta4jNanos / 1_000_000);
+        report.setKernelMillis(kernelNanos / 1_000_000);
+        int exact = 0;
+        int nanMismatches = 0;
+        double maxAbs = 0;
+        double maxRel = 0;
+        for (int i = 0; i < bars; i++) {
+            if (expected[i].isNaN() || actual[i].isNaN()) {
+                if (expected[i].isNaN() == actual[i].isNaN()) {
+                    exact++;
+                } else {
+                    nanMismatches++;
+                }
+                continue;
+            }
+            double e = expected[i].doubleValue();
+            double a = actual[i].doubleValue();
+            double diff = Math.abs(e - a);
+            if (diff == 0) {
+                exact++;
+            }
+            maxAbs = Math.max(maxAbs, diff);
+            maxRel = Math.max(maxRel, diff / Math.max(Math.abs(e), Double.MIN_NORMAL));
+        }
+        report.setExactMatches(exact);
+        report.setNanMismatches(nanMismatches);
+        report.setMaxAbsDivergence(maxAbs);
+        report.setMaxRelDivergence(maxRel);
+        logger.info("Kernel check {}({}) :: exact {}/{}, NaN mismatches {}, max rel divergence {}, {}ms vs {}ms",
+                name, period, exact, bars, nanMismatches, maxRel, report.getKernelMillis(), report.getTa4jMillis());
+        return report;
+    }
+
+    private static Num[] values(Indicator<Num> indicator, int bars) {
+        Num[] values = new Num[bars];
+        for (int i = 0; i < bars; i++) {
+            values[i] = indicator.getValue(i);
+        }
+        return values;
+    }
+}
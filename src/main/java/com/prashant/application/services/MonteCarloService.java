@@ -0,0 +1,153 @@
+package com.prashant.application.services;
+
+import com.prashant.application.dto.strategy.Distribution;
+import com.prashant.application.dto.strategy.MonteCarloResult;
+import com.prashant.application.dto.strategy.TradeResult;
+import com.prashant.application.services.montecarlo.SamplingMode;
+import com.prashant.application.services.montecarlo.TradeSimulation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
+
+/**
+ * Monte Carlo robustness check of a backtest: replays its trades in thousands of random orders and reports
+ * percentiles of final equity, max drawdown and losing streaks.
+ * <p>
+ * Iterations are split into blocks of a fixed amount of work. Each block gets its own generator, split from a
+ * seeded root in block order, so results only depend on the trades and the seed, not on the pool's parallelism.
+ * Small simulations, and those started from a fork-join worker (batch and sweep tasks that already use the cores),
+ * run on the calling thread; larger ones run their blocks on a small dedicated pool, not on the optimizer pool, so
+ * interactive backtests do not queue behind a running sweep.
+ */
+@Service
+public class MonteCarloService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MonteCarloService.class);
+
+    private static final double STARTING_EQUITY = 100000;
+    private static final long BLOCK_STEPS = 1 << 16; // trades replayed per block
+
+    private final ExecutorService monteCarloExecutor;
+    private final int iterations;
+    private final SamplingMode mode;
+    private final long seed;
+
+    public MonteCarloService(@Qualifier("monteCarloExecutor") ExecutorService monteCarloExecutor,
+            @Value("${strategymaster.backtest.monte-carlo.iterations:2000}") int iterations,
+            @Value("${strategymaster.backtest.monte-carlo.mode:resample}") String mode,
+            @Value("${strategymaster.backtest.monte-carlo.seed:42}") long seed) {
+        this.monteCarloExecutor = monteCarloExecutor;
+        this.iterations = iterations;
+        this.mode = SamplingMode.from(mode);
+        this.seed = seed;
+    }
+
+    /**
+     * Simulation of the trades with the configured iterations, or {@code null} when disabled or without trades.
+     */
+    public MonteCarloResult simulate(List<TradeResult> trades) {
+        if (iterations <= 0 || trades.isEmpty()) {
+            return null;
+        }
+        double[] returns = new double[trades.size()];
+        for (int i = 0; i < returns.length; i++) {
+            TradeResult trade = trades.get(i);
+            returns[i] = trade.getEntryPrice() != 0 ? trade.getProfit() / trade.getEntryPrice() : 0;
+        }
+        return simulate(returns, mode, iterations, seed);
+    }
+
+    public MonteCarloResult simulate(double[] returns, SamplingMode mode, int iterations, long seed) {
+        long start = System.nanoTime();
+        TradeSimulation simulation = new TradeSimulation(returns, mode, iterations);
+        int block = Math.clamp(BLOCK_STEPS / Math.max(1, returns.length), 1, iterations);
+
+        SplittableRandom root = new SplittableRandom(seed);
+        if (block == iterations || ForkJoinTask.inForkJoinPool()) {
+            for (int from = 0; from < iterations; from += block) {
+                simulation.run(from, Math.min(from + block, iterations), root.split());
+            }
+        } else {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int from = 0; from < iterations; from += block) {
+                int first = from;
+                int last = Math.min(from + block, iterations);
+                SplittableRandom random = root.split();
+                tasks.add(() -> {
+                    simulation.run(first, last, random);
+                    return null;
+                });
+            }
+            for (Future<Void> future : invokeAll(tasks)) {
+                join(future);
+            }
+        }
+
+        MonteCarloResult result = new MonteCarloResult();
+        result.setMode(mode.name());
+        result.setIterations(iterations);
+        result.setTrades(returns.length);
+        result.setSeed(seed);
+        result.setStartingEquity(STARTING_EQUITY);
+        double[] equity = TradeSimulation.sorted(simulation.finalEquity());
+        result.setFinalEquity(distribution(equity, STARTING_EQUITY));
+        result.setMaxDrawdown(distribution(TradeSimulation.sorted(simulation.maxDrawdown()), 100));
+        result.setLosingStreak(distribution(TradeSimulation.sorted(simulation.losingStreak()), 1));
+        int losses = 0;
+        while (losses < equity.length && equity[losses] < 1) {
+            losses++;
+        }
+        result.setProbabilityOfLoss(100.0 * losses / iterations);
+        result.setMillis((System.nanoTime() - start) / 1_000_000);
+
+        logger.debug("Monte Carlo {} of {} trades x {} iterations in {} ms", mode, returns.length, iterations,
+                result.getMillis());
+        return result;
+    }
+
+    private static Distribution distribution(double[] sorted, double scale) {
+        Distribution distribution = new Distribution();
+        distribution.setP5(TradeSimulation.percentile(sorted, 5) * scale);
+        distribution.setP25(TradeSimulation.percentile(sorted, 25) * scale);
+        distribution.setMedian(TradeSimulation.percentile(sorted, 50) * scale);
+        distribution.setP75(TradeSimulation.percentile(sorted, 75) * scale);
+        distribution.setP95(TradeSimulation.percentile(sorted, 95) * scale);
+        double sum = 0;
+        for (double value : sorted) {
+            sum += value;
+        }
+        distribution.setMean(sum / sorted.length * scale);
+        return distribution;
+    }
+
+    private List<Future<Void>> invokeAll(List<Callable<Void>> tasks) {
+        try {
+            return monteCarloExecutor.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Monte Carlo simulation interrupted", e);
+        }
+    }
+
+    private static void join(Future<Void> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Monte Carlo simulation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Monte Carlo simulation failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.prashant.application.services;
+
+import com.prashant.application.broker.BarColumns;
+import com.prashant.application.broker.BarDataService;
+import com.prashant.application.dto.strategy.PortfolioRequest;
+import com.prashant.application.dto.strategy.PortfolioResult;
+import com.prashant.application.dto.strategy.PortfolioRow;
+import com.prashant.application.dto.strategy.StrategyRequest;
+import com.prashant.application.dto.strategy.UniverseRequest;
+import com.prashant.application.services.job.JobContext;
+import com.prashant.application.services.plan.StrategyPlan;
+import com.prashant.application.services.portfolio.TimeMerge;
+import com.prashant.application.services.series.ColumnarBarSeries;
+import com.prashant.application.services.series.NumPrecision;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Strategy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Portfolio backtest: one strategy trades a universe of symbols from a single pool of capital, with at most a
+ * given number of positions open at a time.
+ * <p>
+ * Entry and exit signals are evaluated per symbol first, pipelined with loading as in universe backtests. The
+ * simulation then walks all symbols on one merged time axis, a k-way {@link TimeMerge merge} of their time
+ * columns. At each time, exits are filled before entries, so capital freed by a sale can fund a purchase on the
+ * same bar. Orders fill at the signal bar's close like single symbol backtests; a new position buys whole shares
+ * for the smaller of the free cash and an equal share of equity, and entry signals without a free slot or enough
+ * cash are skipped. The portfolio equity curve is downsampled like single symbol curves.
+ */
+@Service
+public class PortfolioBacktestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PortfolioBacktestService.class);
+
+    private static final double DEFAULT_CAPITAL = 100000;
+    private static final int DEFAULT_MAX_POSITIONS = 10;
+
+    private final BacktestService backtestService;
+    private final StrategyParserService strategyParserService;
+    private final UniverseBacktestService universeBacktestService;
+    private final BarDataService barDataService;
+    private final ForkJoinPool optimizerPool;
+
+    public PortfolioBacktestService(BacktestService backtestService, StrategyParserService strategyParserService,
+            UniverseBacktestService universeBacktestService, BarDataService barDataService,
+            ForkJoinPool optimizerPool) {
+        this.backtestService = backtestService;
+        this.strategyParserService = strategyParserService;
+        this.universeBacktestService = universeBacktestService;
+        this.barDataService = barDataService;
+        this.optimizerPool = optimizerPool;
+    }
+
+    public PortfolioResult run(PortfolioRequest request) {
+        return run(request, JobContext.NONE);
+    }
+
+    /**
+     * Runs as part of a job: reports progress per symbol whose signals are ready and skips the symbols not
+     * started yet once the job is cancelled.
+     */
+    public PortfolioResult run(PortfolioRequest request, JobContext job) {
+        UniverseRequest universe = request.getUniverse();
+        if (universe == null || universe.getStrategy() == null) {
+            throw new IllegalArgumentException("A universe with a strategy is required");
+        }
+        StrategyRequest strategy = universe.getStrategy();
+        List<String> symbols = universeBacktestService.symbols(universe);
+        StrategyPlan plan = strategyParserService.plan(strategy);
+        NumPrecision precision = NumPrecision.from(strategy.getPrecision(), NumPrecision.DOUBLE);
+        double capital = request.getInitialCapital() > 0 ? request.getInitialCapital() : DEFAULT_CAPITAL;
+        int maxPositions = request.getMaxPositions() > 0 ? request.getMaxPositions() : DEFAULT_MAX_POSITIONS;
+
+        long start = System.nanoTime();
+        AtomicInteger done = new AtomicInteger();
+        List<CompletableFuture<Signals>> pending = new ArrayList<>(symbols.size());
+        for (String symbol : symbols) {
+            pending.add(barDataService.loadAsync(symbol, strategy.getRange(), strategy.getInterval())
+                    .thenApplyAsync(bars -> {
+                        job.checkCancelled();
+                        return signals(plan, symbol, bars, strategy.getInterval(), precision);
+                    }, optimizerPool)
+                    .exceptionally(error -> failed(symbol, error))
+                    .whenComplete((row, error) -> job.progress(
+                            (double) done.incrementAndGet() / symbols.size(), symbol)));
+        }
+        List<Signals> signals = new ArrayList<>(symbols.size());
+        for (CompletableFuture<Signals> future : pending) {
+            signals.add(JobContext.await(future, pending));
+        }
+        job.checkCancelled();
+
+        PortfolioResult result = simulate(signals, capital, maxPositions, strategy.getMaxPoints());
+        result.setMillis((System.nanoTime() - start) / 1_000_000);
+
+        logger.info("Portfolio backtest of {} :: {} symbols, {} trades, {} bars of equity, return {}% in {} ms",
+                strategy.getStrategyName(), symbols.size(), result.getTotalTrades(), result.getEquityCurve().getBars(),
+                String.format("%.2f", result.getTotalReturn()), result.getMillis());
+        return result;
+    }
+
+    private Signals signals(StrategyPlan plan, String symbol, BarColumns bars, String interval,
+            NumPrecision precision) {
+        if (bars.isEmpty()) {
+            return new Signals(symbol, bars, null, null, "No trade data found");
+        }
+        BarSeries series = new ColumnarBarSeries(symbol, bars, interval, precision.numFactory());
+        Strategy bound = backtestService.compileRules(plan.bind(series), series);
+        boolean[] entry = new boolean[bars.size()];
+        boolean[] exit = new boolean[bars.size()];
+        for (int i = 0; i < bars.size(); i++) {
+            entry[i] = bound.shouldEnter(i);
+            exit[i] = bound.shouldExit(i);
+        }
+        return new Signals(symbol, bars, entry, exit, null);
+    }
+
+    private static Signals failed(String symbol, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (!(cause instanceof CancellationException)) {
+            logger.error("Portfolio signals of {} failed", symbol, cause);
+        }
+        return new Signals(symbol, BarColumns.empty(), null, null,
+                cause.getMessage() != null ? cause.getMessage() : cause.toString());
+    }
+
+    private PortfolioResult simulate(List<Signals> signals, double capital, int maxPositions, int maxPoints) {
+        int symbols = signals.size();
+        long[][] times = new long[symbols][];
+        int[] sizes = new int[symbols];
+        int totalBars = 0;
+        PortfolioResult result = new PortfolioResult();
+        for (int s = 0; s < symbols; s++) {
+            Signals symbol = signals.get(s);
+            times[s] = symbol.bars().time();
+            sizes[s] = symbol.error() == null ? symbol.bars().size() : 0;
+            totalBars = Math.max(totalBars, sizes[s]);
+
+            PortfolioRow row = new PortfolioRow();
+            row.setSymbol(symbol.symbol());
+            row.setBars(sizes[s]);
+            row.setError(symbol.error());
+            result.getRows().add(row);
+        }
+
+        double cash = capital;
+        double holdings = 0; // market value of open positions at their last close
+        int open = 0;
+        int skipped = 0;
+        double[] shares = new double[symbols];
+        double[] cost = new double[symbols];
+        double[] last = new double[symbols];
+        int[] exitBar = new int[symbols];
+        Arrays.fill(exitBar, -1);
+
+        long[] curveTimes = new long[Math.max(16, totalBars)];
+        double[] curve = new double[curveTimes.length];
+        int points = 0;
+        double peak = capital;
+        double maxDrawdown = 0;
+
+        TimeMerge merge = new TimeMerge(times, sizes);
+        int[] at = new int[symbols];
+        while (merge.hasNext()) {
+            int count = merge.next(at);
+            // Mark to market and fill exits first
+            for (int j = 0; j < count; j++) {
+                int s = at[j];
+                int i = merge.index(s);
+                double price = signals.get(s).bars().close()[i];
+                if (shares[s] > 0) {
+                    holdings += shares[s] * (price - last[s]);
+                    if (signals.get(s).exit()[i]) {
+                        double proceeds = shares[s] * price;
+                        cash += proceeds;
+                        holdings -= proceeds;
+                        PortfolioRow row = result.getRows().get(s);
+                        row.setTotalTrades(row.getTotalTrades() + 1);
+                        row.setProfitLoss(row.getProfitLoss() + proceeds - cost[s]);
+                        if (proceeds > cost[s]) {
+                            row.setWinningTrades(row.getWinningTrades() + 1);
+                        }
+                        shares[s] = 0;
+                        exitBar[s] = i;
+                        open--;
+                    }
+                }
+                last[s] = price;
+            }
+            // Then entries, in request order; a symbol that exited on this bar does not re-enter on it
+            for (int j = 0; j < count; j++) {
+                int s = at[j];
+                int i = merge.index(s);
+                if (shares[s] > 0 || exitBar[s] == i || !signals.get(s).entry()[i]) {
+                    continue;
+                }
+                double price = last[s];
+                double allocation = Math.min(cash, (cash + holdings) / maxPositions);
+                double quantity = price > 0 ? Math.floor(allocation / price) : 0;
+                if (open >= maxPositions || quantity < 1) {
+                    skipped++;
+                    continue;
+                }
+                shares[s] = quantity;
+                cost[s] = quantity * price;
+                cash -= cost[s];
+                holdings += cost[s];
+                open++;
+            }
+
+            double equity = cash + holdings;
+            if (points == curve.length) {
+                curveTimes = Arrays.copyOf(curveTimes, points * 2);
+                curve = Arrays.copyOf(curve, points * 2);
+            }
+            curveTimes[points] = merge.time();
+            curve[points++] = equity;
+            peak = Math.max(peak, equity);
+            maxDrawdown = Math.max(maxDrawdown, 1 - equity / peak);
+        }
+
+        double finalEquity = points > 0 ? curve[points - 1] : capital;
+        int trades = 0;
+        int winning = 0;
+        for (PortfolioRow row : result.getRows()) {
+            trades += row.getTotalTrades();
+            winning += row.getWinningTrades();
+        }
+        result.setInitialCapital(capital);
+        result.setMaxPositions(maxPositions);
+        result.setFinalEquity(finalEquity);
+        result.setTotalReturn((finalEquity / capital - 1) * 100);
+        result.setMaxDrawdown(maxDrawdown * 100);
+        result.setTotalTrades(trades);
+        result.setWinningTrades(winning);
+        if (trades > 0) {
+            result.setWinRate((double) winning / trades * 100);
+        }
+        result.setOpenPositions(open);
+        result.setSkippedEntries(skipped);
+        long[] pointTimes = curveTimes;
+        result.setEquityCurve(backtestService.equityCurve(curve, points, maxPoints, i -> pointTimes[i] * 1000));
+        return result;
+    }
+
+    /**
+     * Entry and exit signal of each bar of a symbol, or the error that prevented evaluating them.
+     */
+    private record Signals(String symbol, BarColumns bars, boolean[] entry, boolean[] exit, String error) {
+    }
+}
@@ -0,0 +1,104 @@
+package com.prashant.application.services;
+
+import com.prashant.application.dto.strategy.BacktestResult;
+import com.prashant.application.dto.strategy.PrecisionReport;
+import com.prashant.application.dto.strategy.StrategyRequest;
+import com.prashant.application.dto.strategy.TradeResult;
+import com.prashant.application.entity.SavedStrategy;
+import com.prashant.application.repository.StrategyRepository;
+import com.prashant.application.services.series.NumPrecision;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.ta4j.core.BarSeries;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs strategies with both {@link NumPrecision} modes over the same bars and reports how far the double results
+ * drift from the decimal ones.
+ */
+@Service
+public class PrecisionVerificationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PrecisionVerificationService.class);
+
+    private final BacktestService backtestService;
+    private final StrategyScheduleService scheduleService;
+    private final StrategyRepository strategyRepository;
+
+    public PrecisionVerificationService(BacktestService backtestService, StrategyScheduleService scheduleService,
+            StrategyRepository strategyRepository) {
+        this.backtestService = backtestService;
+        this.scheduleService = scheduleService;
+        this.strategyRepository = strategyRepository;
+    }
+
+    public PrecisionReport verify(StrategyRequest request) {
+        // Bars come from the store, so the second load is served locally and both runs see identical data
+        BarSeries decimalSeries = backtestService.loadSeries(request, NumPrecision.DECIMAL);
+        BarSeries doubleSeries = backtestService.loadSeries(request, NumPrecision.DOUBLE);
+
+        long start = System.nanoTime();
+        BacktestResult decimal = backtestService.runBacktest(request, decimalSeries);
+        long decimalNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        BacktestResult dbl = backtestService.runBacktest(request, doubleSeries);
+        long doubleNanos = System.nanoTime() - start;
+
+        PrecisionReport report = new PrecisionReport();
+        report.setStrategyName(request.getStrategyName());
+        report.setStockSymbol(request.getStockSymbol());
+        report.setDecimalTrades(decimal.getTotalTrades());
+        report.setDoubleTrades(dbl.getTotalTrades());
+        report.setDecimalProfitLoss(decimal.getProfitLoss());
+        report.setDoubleProfitLoss(dbl.getProfitLoss());
+        report.setProfitLossDivergence(Math.abs(decimal.getProfitLoss() - dbl.getProfitLoss()));
+        report.setDecimalMillis(decimalNanos / 1_000_000);
+        report.setDoubleMillis(doubleNanos / 1_000_000);
+        compareTrades(decimal.getTrades(), dbl.getTrades(), report);
+
+        logger.info("Precision check for {} on {} :: trades {}/{}, mismatched {}, max P&L divergence {}",
+                request.getStrategyName(), request.getStockSymbol(), report.getDecimalTrades(),
+                report.getDoubleTrades(), report.getMismatchedTrades(), report.getProfitLossDivergence());
+        return report;
+    }
+
+    /**
+     * Verifies every saved strategy on the bars its scheduled run uses. Failures are reported per strategy.
+     */
+    public List<PrecisionReport> verifySaved() {
+        List<PrecisionReport> reports = new ArrayList<>();
+        for (SavedStrategy saved : strategyRepository.findAll()) {
+            try {
+                reports.add(verify(scheduleService.toRequest(saved)));
+            } catch (Exception e) {
+                logger.error("Failed to verify precision for strategy: {}", saved.getName(), e);
+                PrecisionReport report = new PrecisionReport();
+                report.setStrategyName(saved.getName());
+                report.setError(e.getMessage());
+                reports.add(report);
+            }
+        }
+        return reports;
+    }
+
+    private void compareTrades(List<TradeResult> decimal, List<TradeResult> dbl, PrecisionReport report) {
+        int common = Math.min(decimal.size(), dbl.size());
+        int mismatched = Math.abs(decimal.size() - dbl.size());
+        double maxPriceDivergence = 0;
+        for (int i = 0; i < common; i++) {
+            TradeResult a = decimal.get(i);
+            TradeResult b = dbl.get(i);
+            if (a.getEntryTime() != b.getEntryTime() || a.getExitTime() != b.getExitTime()) {
+                mismatched++;
+            }
+            maxPriceDivergence = Math.max(maxPriceDivergence, Math.abs(a.getEntryPrice() - b.getEntryPrice()));
+            maxPriceDivergence = Math.max(maxPriceDivergence, Math.abs(a.getExitPrice() - b.getExitPrice()));
+        }
+        report.setMismatchedTrades(mismatched);
+        report.setMaxPriceDivergence(maxPriceDivergence);
+    }
+}
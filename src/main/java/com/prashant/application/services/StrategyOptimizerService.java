@@ -0,0 +1,436 @@
+package com.prashant.application.services;
+
+import com.prashant.application.dto.strategy.BacktestResult;
+import com.prashant.application.dto.strategy.OptimizationRequest;
+import com.prashant.application.dto.strategy.OptimizationResult;
+import com.prashant.application.dto.strategy.OptimizationRow;
+import com.prashant.application.dto.strategy.StrategyRequest;
+import com.prashant.application.services.indicator.SharedClosePriceIndicator;
+import com.prashant.application.services.job.JobContext;
+import com.prashant.application.services.optimize.GeneticSearch;
+import com.prashant.application.services.optimize.Objective;
+import com.prashant.application.services.optimize.ParameterGrid;
+import com.prashant.application.services.series.NumPrecision;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Position;
+import org.ta4j.core.TradingRecord;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Backtests combinations of a parameter grid over one series and ranks them by an objective: every combination,
+ * or for grids too large for that, those visited by a {@link GeneticSearch}.
+ * <p>
+ * The series is loaded once and shared read-only. Combinations are split into contiguous chunks that run on the
+ * optimizer pool; each chunk builds its indicators on one shared close price, so combinations that only differ in
+ * the fastest varying parameter reuse the indicators of all others. Kernel columns are computed once per series
+ * and shared by all chunks.
+ */
+@Service
+public class StrategyOptimizerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StrategyOptimizerService.class);
+
+    private static final int DEFAULT_LIMIT = 100;
+    private static final int MAX_CHUNK = 256;
+    /** Combinations, spread over the grid, that are tried before a sweep to catch a broken strategy early. */
+    private static final int PROBE = 8;
+
+    private static final Comparator<Scored> RANKING = Comparator.comparingDouble(Scored::score).reversed()
+            .thenComparingLong(Scored::index);
+
+    private final BacktestService backtestService;
+    private final StrategyParserService strategyParserService;
+    private final ForkJoinPool optimizerPool;
+    private final long maxCombinations;
+    private final int defaultPopulation;
+    private final int defaultGenerations;
+
+    public StrategyOptimizerService(BacktestService backtestService, StrategyParserService strategyParserService,
+            ForkJoinPool optimizerPool,
+            @Value("${strategymaster.optimizer.max-combinations:100000}") long maxCombinations,
+            @Value("${strategymaster.optimizer.genetic.population:40}") int defaultPopulation,
+            @Value("${strategymaster.optimizer.genetic.generations:25}") int defaultGenerations) {
+        this.backtestService = backtestService;
+        this.strategyParserService = strategyParserService;
+        this.optimizerPool = optimizerPool;
+        this.maxCombinations = maxCombinations;
+        this.defaultPopulation = defaultPopulation;
+        this.defaultGenerations = defaultGenerations;
+    }
+
+    public OptimizationResult optimize(OptimizationRequest request) {
+        return optimize(request, JobContext.NONE);
+    }
+
+    /**
+     * Optimizes as part of a job: reports progress as combinations finish and stops once the job is cancelled.
+     */
+    public OptimizationResult optimize(OptimizationRequest request, JobContext job) {
+        // Fail on a bad request before loading any data
+        validate(request);
+        StrategyRequest strategy = request.getStrategy();
+        // Sweeps run in double precision unless the strategy asks otherwise
+        BarSeries series = backtestService.loadSeries(strategy, NumPrecision.from(strategy.getPrecision(),
+                NumPrecision.DOUBLE));
+        job.checkCancelled();
+        return optimize(request, series, series.getBeginIndex(), series.getEndIndex(), job);
+    }
+
+    /**
+     * Optimizes on bars {@code from..to} of an already loaded series. Only positions closed by bar {@code to} are
+     * scored, so nothing after the slice leaks into the ranking.
+     */
+    public OptimizationResult optimize(OptimizationRequest request, BarSeries series, int from, int to) {
+        return optimize(request, series, from, to, JobContext.NONE);
+    }
+
+    public OptimizationResult optimize(OptimizationRequest request, BarSeries series, int from, int to,
+            JobContext job) {
+        StrategyRequest strategy = request.getStrategy();
+        ParameterGrid grid = grid(request);
+        Objective objective = Objective.from(request.getObjective());
+        boolean genetic = isGenetic(request);
+        int population = request.getPopulation() != null ? request.getPopulation() : defaultPopulation;
+        int generations = request.getGenerations() != null ? request.getGenerations() : defaultGenerations;
+        int limit = request.getLimit() != null && request.getLimit() > 0 ? request.getLimit() : DEFAULT_LIMIT;
+        Slice slice = new Slice(series, from, to);
+
+        long start = System.nanoTime();
+        OptimizationResult result = new OptimizationResult();
+        result.setObjective(objective.name());
+        result.setCombinations(grid.size());
+        result.setParallelism(optimizerPool.getParallelism());
+        List<Scored> ranked;
+        if (genetic) {
+            long seed = request.getSeed() != null ? request.getSeed() : System.nanoTime();
+            ranked = evolve(grid, slice, objective, seed, population, generations, limit, result, job);
+            result.setMode("GENETIC");
+            result.setSeed(seed);
+            result.setGenerations(generations);
+        } else {
+            ranked = sweep(grid, slice, objective, limit, result, job);
+            result.setMode("GRID");
+        }
+        for (Scored scored : ranked) {
+            result.getRows().add(scored.row());
+        }
+        result.setMillis((System.nanoTime() - start) / 1_000_000);
+
+        logger.info("Optimized {} on {} ({}) :: {} of {} combinations ({} failed) in {} ms on {} workers", objective,
+                strategy.getStockSymbol(), result.getMode(), result.getEvaluated(), grid.size(), result.getFailed(),
+                result.getMillis(), result.getParallelism());
+        return result;
+    }
+
+    /**
+     * Every combination of the grid, in contiguous chunks that each keep only their best rows.
+     */
+    private List<Scored> sweep(ParameterGrid grid, Slice slice, Objective objective, int limit,
+            OptimizationResult result, JobContext job) {
+        long combinations = grid.size();
+        Failures failures = new Failures();
+        probe(grid, slice, objective, failures);
+        AtomicLong done = new AtomicLong();
+        List<Callable<Chunk>> tasks = new ArrayList<>();
+        long chunkSize = chunkSize(combinations);
+        for (long from = 0; from < combinations; from += chunkSize) {
+            long chunkFrom = from;
+            long chunkTo = Math.min(from + chunkSize, combinations);
+            tasks.add(() -> {
+                SharedClosePriceIndicator closePrice = new SharedClosePriceIndicator(slice.series());
+                PriorityQueue<Scored> best = new PriorityQueue<>(RANKING.reversed());
+                int failed = 0;
+                for (long index = chunkFrom; index < chunkTo; index++) {
+                    job.checkCancelled();
+                    Scored scored = evaluate(grid, slice, closePrice, objective, index, failures);
+                    if (scored == null) {
+                        failed++;
+                    } else {
+                        keep(best, scored, limit);
+                    }
+                }
+                long evaluated = done.addAndGet(chunkTo - chunkFrom);
+                job.progress((double) evaluated / combinations, evaluated + " of " + combinations + " combinations");
+                return new Chunk(new ArrayList<>(best), failed);
+            });
+        }
+
+        PriorityQueue<Scored> best = new PriorityQueue<>(RANKING.reversed());
+        int failed = 0;
+        for (Future<Chunk> future : optimizerPool.invokeAll(tasks)) {
+            Chunk chunk = join(future);
+            failed += chunk.failed();
+            for (Scored scored : chunk.best()) {
+                keep(best, scored, limit);
+            }
+        }
+        result.setEvaluated((int) combinations);
+        result.setFailed(failed);
+        result.setFirstError(failures.first());
+        List<Scored> ranked = new ArrayList<>(best);
+        ranked.sort(RANKING);
+        return ranked;
+    }
+
+    /**
+     * Genetic search; each generation's unseen genomes are backtested as one parallel batch.
+     */
+    private List<Scored> evolve(ParameterGrid grid, Slice slice, Objective objective, long seed, int population,
+            int generations, int limit, OptimizationResult result, JobContext job) {
+        Map<Long, Scored> evaluated = new HashMap<>();
+        Failures failures = new Failures();
+        int[] generation = new int[1];
+        GeneticSearch search = new GeneticSearch(grid, seed, population, generations);
+        Map<Long, Double> scores = search.run(batch -> {
+            long chunkSize = chunkSize(batch.length);
+            List<Callable<Chunk>> tasks = new ArrayList<>();
+            for (int from = 0; from < batch.length; from += (int) chunkSize) {
+                long[] indices = Arrays.copyOfRange(batch, from, (int) Math.min(from + chunkSize, batch.length));
+                tasks.add(() -> {
+                    // Sorted so that neighbouring combinations share indicators on one close price
+                    long[] sorted = indices.clone();
+                    Arrays.sort(sorted);
+                    SharedClosePriceIndicator closePrice = new SharedClosePriceIndicator(slice.series());
+                    List<Scored> scored = new ArrayList<>();
+                    int failed = 0;
+                    for (long index : sorted) {
+                        job.checkCancelled();
+                        Scored one = evaluate(grid, slice, closePrice, objective, index, failures);
+                        if (one == null) {
+                            failed++;
+                        } else {
+                            scored.add(one);
+                        }
+                    }
+                    return new Chunk(scored, failed);
+                });
+            }
+            int failed = 0;
+            for (Future<Chunk> future : optimizerPool.invokeAll(tasks)) {
+                Chunk chunk = join(future);
+                failed += chunk.failed();
+                for (Scored scored : chunk.best()) {
+                    evaluated.put(scored.index(), scored);
+                }
+            }
+            result.setFailed(result.getFailed() + failed);
+            if (failed == batch.length && !failures.anySucceeded()) {
+                throw failures.broken(); // the whole first generation failed
+            }
+            // At most one batch per generation; one without unseen genomes is skipped
+            job.progress((double) ++generation[0] / generations, "Generation " + generation[0] + " of "
+                    + generations);
+            double[] batchScores = new double[batch.length];
+            for (int i = 0; i < batch.length; i++) {
+                Scored scored = evaluated.get(batch[i]);
+                batchScores[i] = scored != null ? scored.score() : Double.NaN;
+            }
+            return batchScores;
+        });
+        result.setEvaluated(scores.size());
+        result.setFirstError(failures.first());
+        List<Scored> ranked = new ArrayList<>(evaluated.values());
+        ranked.removeIf(scored -> Double.isNaN(scored.score()));
+        ranked.sort(RANKING);
+        return ranked.subList(0, Math.min(limit, ranked.size()));
+    }
+
+    /**
+     * Backtests a few combinations spread evenly over the grid and fails when none of them can be backtested, as
+     * when the strategy itself cannot be built, instead of failing every combination of the sweep.
+     */
+    private void probe(ParameterGrid grid, Slice slice, Objective objective, Failures failures) {
+        long combinations = grid.size();
+        int probes = (int) Math.min(PROBE, combinations);
+        SharedClosePriceIndicator closePrice = new SharedClosePriceIndicator(slice.series());
+        for (int k = 0; k < probes; k++) {
+            if (evaluate(grid, slice, closePrice, objective, combinations * k / probes, failures) != null) {
+                return;
+            }
+        }
+        throw failures.broken();
+    }
+
+    /**
+     * Several chunks per worker so that uneven chunks still balance.
+     */
+    private long chunkSize(long combinations) {
+        return Math.clamp(combinations / (optimizerPool.getParallelism() * 8L), 1, MAX_CHUNK);
+    }
+
+    /**
+     * Backtests one combination with indicators built on {@code closePrice}, or returns {@code null} if its
+     * strategy could not be built or run; the failure is recorded in {@code failures}.
+     */
+    private Scored evaluate(ParameterGrid grid, Slice slice, SharedClosePriceIndicator closePrice,
+            Objective objective, long index, Failures failures) {
+        double[] point = grid.point(index);
+        try {
+            StrategyRequest request = grid.apply(point);
+            TradingRecord tradingRecord = backtestService.execute(
+                    strategyParserService.compile(request).bind(closePrice), slice.series(), slice.from(),
+                    slice.to());
+            BacktestResult summary = backtestService.summarize(slice.series(), closedBy(tradingRecord, slice.to()),
+                    slice.from(), slice.to());
+            double score = objective.score(summary);
+            failures.succeeded();
+            return new Scored(index, score, row(grid.describe(point), score, summary));
+        } catch (RuntimeException e) {
+            failures.failed(grid.describe(point), e);
+            return null;
+        }
+    }
+
+    private static OptimizationRow row(Map<String, String> parameters, double score,
+            BacktestResult summary) {
+        OptimizationRow row = new OptimizationRow();
+        row.setParameters(parameters);
+        row.setScore(score);
+        row.setProfitLoss(summary.getProfitLoss());
+        row.setTotalTrades(summary.getTotalTrades());
+        row.setWinRate(summary.getWinRate());
+        row.setAverageProfit(summary.getTotalTrades() > 0 ? summary.getProfitLoss() / summary.getTotalTrades() : 0);
+        row.setSharpeRatio(summary.getSharpeRatio());
+        row.setMaxDrawdown(summary.getMaxDrawdown());
+        return row;
+    }
+
+    /**
+     * Adds {@code scored} to a heap whose head is the worst kept row, keeping at most {@code limit} rows.
+     */
+    private static void keep(PriorityQueue<Scored> best, Scored scored, int limit) {
+        if (Double.isNaN(scored.score())) {
+            return;
+        }
+        best.add(scored);
+        if (best.size() > limit) {
+            best.poll();
+        }
+    }
+
+    private static Chunk join(Future<Chunk> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Optimization interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof CancellationException cancelled) {
+                throw cancelled;
+            }
+            throw new IllegalStateException("Optimization failed", e.getCause());
+        }
+    }
+
+    /**
+     * Positions of a run that were closed by bar {@code to}; ta4j keeps running past the end of a range to close
+     * the last position.
+     */
+    static List<Position> closedBy(TradingRecord tradingRecord, int to) {
+        List<Position> closed = new ArrayList<>();
+        for (Position position : tradingRecord.getPositions()) {
+            if (position.getExit().getIndex() <= to) {
+                closed.add(position);
+            }
+        }
+        return closed;
+    }
+
+    /**
+     * Checks the strategy, ranges, objective and budget of a request.
+     */
+    public void validate(OptimizationRequest request) {
+        grid(request);
+        Objective.from(request.getObjective());
+    }
+
+    private ParameterGrid grid(OptimizationRequest request) {
+        if (request.getStrategy() == null) {
+            throw new IllegalArgumentException("A strategy to optimize is required");
+        }
+        if (isGenetic(request)) {
+            int population = request.getPopulation() != null ? request.getPopulation() : defaultPopulation;
+            int generations = request.getGenerations() != null ? request.getGenerations() : defaultGenerations;
+            long combinations = (long) population * generations;
+            if (combinations > maxCombinations) {
+                throw new IllegalArgumentException("Too many combinations: " + combinations + " (at most "
+                        + maxCombinations + ")");
+            }
+            // Only the evaluated combinations count against the budget; the grid itself may be far larger
+            return new ParameterGrid(request.getStrategy(), request.getRanges());
+        }
+        // Checked range by range before any combination is built
+        return new ParameterGrid(request.getStrategy(), request.getRanges(), maxCombinations);
+    }
+
+    private static boolean isGenetic(OptimizationRequest request) {
+        return "GENETIC".equalsIgnoreCase(request.getMode());
+    }
+
+    private record Slice(BarSeries series, int from, int to) {
+    }
+
+    private record Scored(long index, double score, OptimizationRow row) {
+    }
+
+    /**
+     * Rows of one chunk: its best ones when sweeping the grid, all of them in a genetic search.
+     */
+    private record Chunk(List<Scored> best, int failed) {
+    }
+
+    /**
+     * Failed combinations of one optimization. The first failure is kept for the result and logged as a warning,
+     * later ones at debug.
+     */
+    private static final class Failures {
+        private final AtomicReference<String> first = new AtomicReference<>();
+        private final AtomicBoolean anySucceeded = new AtomicBoolean();
+
+        void succeeded() {
+            if (!anySucceeded.get()) {
+                anySucceeded.set(true);
+            }
+        }
+
+        void failed(Map<String, String> parameters, RuntimeException e) {
+            String message = parameters + ": " + (e.getMessage() != null ? e.getMessage() : e.toString());
+            if (first.compareAndSet(null, message)) {
+                logger.warn("Optimization combination {} failed", parameters, e);
+            } else {
+                logger.debug("Optimization combination {} failed: {}", parameters, e.getMessage());
+            }
+        }
+
+        boolean anySucceeded() {
+            return anySucceeded.get();
+        }
+
+        IllegalArgumentException broken() {
+            return new IllegalArgumentException("No parameter combination could be backtested: " + first());
+        }
+
+        String first() {
+            return first.get();
+        }
+    }
+}
@@ -3,139 +3,172 @@ package com.prashant.application.services;
 import com.prashant.application.dto.strategy.RuleConfig;
 import com.prashant.application.dto.strategy.RulesConfig;
 import com.prashant.application.dto.strategy.StrategyRequest;
+import com.prashant.application.services.indicator.IndicatorParams;
 import com.prashant.application.services.indicator.IndicatorRegistry;
+import com.prashant.application.services.plan.PlanNode;
+import com.prashant.application.services.plan.StrategyPlan;
+import com.prashant.application.services.rules.RuleOperator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.ta4j.core.BarSeries;
-import org.ta4j.core.BaseStrategy;
-import org.ta4j.core.Rule;
 import org.ta4j.core.Strategy;
-import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
-import org.ta4j.core.num.Num;
-import org.ta4j.core.rules.*;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 public class StrategyParserService {
 
+    private static final Logger logger = LoggerFactory.getLogger(StrategyParserService.class);
+
     private final IndicatorRegistry indicatorRegistry;
+    private final boolean reorderRules;
+    private final Map<String, StrategyPlan> plans;
+    private final AtomicLong planHits = new AtomicLong();
+    private final AtomicLong planMisses = new AtomicLong();
 
-    public StrategyParserService(IndicatorRegistry indicatorRegistry) {
+    public StrategyParserService(IndicatorRegistry indicatorRegistry,
+            @Value("${strategymaster.strategy.plan-cache-size:256}") int planCacheSize,
+            @Value("${strategymaster.strategy.reorder-rules:true}") boolean reorderRules) {
         this.indicatorRegistry = indicatorRegistry;
+        this.reorderRules = reorderRules;
+        // Least recently used plans are evicted once the cache is full
+        this.plans = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StrategyPlan> eldest) {
+                return size() > planCacheSize;
+            }
+        });
     }
 
     public Strategy parse(StrategyRequest request, BarSeries series) {
-        Rule entryRule = parseRulesGroup(request.getEntry(), series);
-        Rule exitRule = parseRulesGroup(request.getExit(), series);
-        return new BaseStrategy("GeneratedStrategy", entryRule, exitRule);
+        return plan(request).bind(series);
     }
 
-    private Rule parseRulesGroup(RulesConfig config, BarSeries series) {
-        if (config == null || config.getRules() == null || config.getRules().isEmpty()) {
-            return new BooleanRule(false);
+    /**
+     * Compiled plan of the request's entry/exit rules, from the cache when an equal rule tree was compiled before.
+     */
+    public StrategyPlan plan(StrategyRequest request) {
+        String key = canonicalKey(request);
+        StrategyPlan plan = plans.get(key);
+        if (plan != null) {
+            planHits.incrementAndGet();
+            return plan;
         }
+        plan = compile(request, key);
+        plans.put(key, plan);
+        long misses = planMisses.incrementAndGet();
+        logger.debug("Compiled strategy plan {} ({} hits, {} misses)", plan.hash(), planHits.get(), misses);
+        return plan;
+    }
 
-        Rule combinedRule = null;
-        for (RuleConfig ruleConfig : config.getRules()) {
-            Rule currentRule;
-            if (ruleConfig.isGroup()) {
-                currentRule = parseNestedGroup(ruleConfig, series);
-            } else {
-                currentRule = parseSingleRule(ruleConfig, series);
-            }
+    /**
+     * Compiles the request without the cache, for callers such as optimizers that build many plans once each.
+     */
+    public StrategyPlan compile(StrategyRequest request) {
+        return compile(request, canonicalKey(request));
+    }
 
-            if (combinedRule == null) {
-                combinedRule = currentRule;
-            } else {
-                // Use rule-level condition if available, fallback to group condition
-                String operator = ruleConfig.getCondition();
-                if (operator == null || operator.isEmpty()) {
-                    operator = config.getCondition();
-                }
-
-                if ("OR".equalsIgnoreCase(operator)) {
-                    combinedRule = combinedRule.or(currentRule);
-                } else {
-                    combinedRule = combinedRule.and(currentRule);
-                }
-            }
-        }
-        return combinedRule != null ? combinedRule : new BooleanRule(false);
+    private StrategyPlan compile(StrategyRequest request, String key) {
+        return new StrategyPlan(compileGroup(request.getEntry()), compileGroup(request.getExit()), key);
     }
 
-    private Rule parseNestedGroup(RuleConfig groupConfig, BarSeries series) {
-        RulesConfig nestedConfig = new RulesConfig();
-        nestedConfig.setCondition(groupConfig.getCondition());
-        nestedConfig.setRules(groupConfig.getRules());
-        return parseRulesGroup(nestedConfig, series);
+    private PlanNode compileGroup(RulesConfig config) {
+        if (config == null || config.getRules() == null || config.getRules().isEmpty()) {
+            return new PlanNode.Group(false, List.of());
+        }
+        PlanNode group = compileGroup(config.getCondition(), config.getRules());
+        if (!reorderRules) {
+            return group;
+        }
+        PlanNode ordered = group.ordered();
+        logger.debug("Reordered rule group, estimated cost per bar {} -> {}", group.cost(), ordered.cost());
+        return ordered;
     }
 
-    private Rule parseSingleRule(RuleConfig rule, BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+    /**
+     * The builder joins rules left to right, each with its own condition or else the group's:
+     * {@code ((a op1 b) op2 c) ...}. Runs of the same operator become one group whose children can be reordered.
+     */
+    private PlanNode compileGroup(String groupCondition, List<RuleConfig> rules) {
+        PlanNode combined = null;
+        for (RuleConfig ruleConfig : rules) {
+            PlanNode current = ruleConfig.isGroup()
+                    // A nested group's condition both joins its own rules and joins it to its siblings
+                    ? compileGroup(ruleConfig.getCondition(), ruleConfig.getRules())
+                    : compileSingleRule(ruleConfig);
+            combined = combined == null
+                    ? current
+                    : PlanNode.Group.join(isOr(ruleConfig, groupCondition), combined, current);
+        }
+        return combined;
+    }
 
+    private PlanNode compileSingleRule(RuleConfig rule) {
         // 1. Resolve Indicators
-        var leftIndicator = indicatorRegistry.getIndicator(rule.getIndicator(), closePrice, rule.getParams());
+        var left = indicatorRegistry.spec(rule.getIndicator(), IndicatorParams.of(rule.getParams()));
+        RuleOperator operator = RuleOperator.from(rule.getOperator());
 
         // 2. Resolve Comparison
         if ("value".equalsIgnoreCase(rule.getCompareType())) {
-            double value = Double.parseDouble(rule.getValue());
-            Num numValue = series.numFactory().numOf(value);
-            return createValueRule(leftIndicator, rule.getOperator(), numValue);
-        } else {
-            var rightIndicator = indicatorRegistry.getIndicator(rule.getCompareIndicator(), closePrice,
-                    rule.getCompareParams());
-            return createIndicatorRule(leftIndicator, rule.getOperator(), rightIndicator);
+            return new PlanNode.Comparison(left, operator, null, Double.parseDouble(rule.getValue()));
+        }
+        var right = indicatorRegistry.spec(rule.getCompareIndicator(), IndicatorParams.of(rule.getCompareParams()));
+        return new PlanNode.Comparison(left, operator, right, Double.NaN);
+    }
+
+    /**
+     * Use rule-level condition if available, fallback to group condition.
+     */
+    private static boolean isOr(RuleConfig ruleConfig, String groupCondition) {
+        String operator = ruleConfig.getCondition();
+        if (operator == null || operator.isEmpty()) {
+            operator = groupCondition;
         }
+        return "OR".equalsIgnoreCase(operator);
     }
 
-    private Rule createValueRule(org.ta4j.core.Indicator<Num> indicator, String operator, Num value) {
-        switch (operator) {
-            case "<":
-                return new UnderIndicatorRule(indicator, value);
-            case ">":
-                return new OverIndicatorRule(indicator, value);
-            case "<=":
-                return new OrRule(
-                        new UnderIndicatorRule(indicator, value),
-                        new IsEqualRule(indicator, value));
-            case ">=":
-                return new OrRule(
-                        new OverIndicatorRule(indicator, value),
-                        new IsEqualRule(indicator, value));
-            case "=":
-            case "==":
-                return new IsEqualRule(indicator, value);
-            case "crossesUp":
-                return new CrossedUpIndicatorRule(indicator, value);
-            case "crossesDown":
-                return new CrossedDownIndicatorRule(indicator, value);
-            default:
-                throw new IllegalArgumentException("Unknown operator: " + operator);
+    private String canonicalKey(StrategyRequest request) {
+        return "entry " + canonicalGroup(request.getEntry()) + " exit " + canonicalGroup(request.getExit());
+    }
+
+    /**
+     * Cache key of a rule group, in the same canonical form for every spelling of an equal tree.
+     */
+    private String canonicalGroup(RulesConfig config) {
+        if (config == null || config.getRules() == null) {
+            return "()";
         }
+        StringBuilder key = new StringBuilder();
+        appendGroup(key, config.getCondition(), config.getRules());
+        return key.toString();
     }
 
-    private Rule createIndicatorRule(org.ta4j.core.Indicator<Num> left, String operator,
-            org.ta4j.core.Indicator<Num> right) {
-        switch (operator) {
-            case "<":
-                return new UnderIndicatorRule(left, right);
-            case ">":
-                return new OverIndicatorRule(left, right);
-            case "<=":
-                return new OrRule(
-                        new UnderIndicatorRule(left, right),
-                        new IsEqualRule(left, right));
-            case ">=":
-                return new OrRule(
-                        new OverIndicatorRule(left, right),
-                        new IsEqualRule(left, right));
-            case "=":
-            case "==":
-                return new IsEqualRule(left, right);
-            case "crossesUp":
-                return new CrossedUpIndicatorRule(left, right);
-            case "crossesDown":
-                return new CrossedDownIndicatorRule(left, right);
-            default:
-                throw new IllegalArgumentException("Unknown operator: " + operator);
+    private void appendGroup(StringBuilder key, String groupCondition, List<RuleConfig> rules) {
+        key.append('(');
+        for (int i = 0; i < rules.size(); i++) {
+            RuleConfig rule = rules.get(i);
+            if (i > 0) {
+                key.append(isOr(rule, groupCondition) ? " OR " : " AND ");
+            }
+            if (rule.isGroup()) {
+                appendGroup(key, rule.getCondition(), rule.getRules());
+                continue;
+            }
+            key.append(indicatorRegistry.canonicalName(rule.getIndicator())).append(IndicatorParams.of(rule.getParams()))
+                    .append(' ').append(RuleOperator.from(rule.getOperator())).append(' ');
+            if ("value".equalsIgnoreCase(rule.getCompareType())) {
+                key.append(Double.parseDouble(rule.getValue()));
+            } else {
+                key.append(indicatorRegistry.canonicalName(rule.getCompareIndicator()))
+                        .append(IndicatorParams.of(rule.getCompareParams()));
+            }
         }
+        key.append(')');
     }
 }
@@ -16,6 +16,7 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -59,23 +60,97 @@ public class StrategyScheduleService {
     public void runStrategy(SavedStrategy saved) throws JsonProcessingException {
         logger.info("Running scheduled strategy: {}", saved.getName());
 
+        StrategyRequest request = toRequest(saved);
+        BacktestResult result = backtestService.runBacktest(request);
+        saveRunResult(saved.getId(), saved.getName(), request, result);
+    }
+
+    /**
+     * Builds the backtest request for a saved strategy, on the symbol, range and interval it was saved with.
+     * Strategies saved before those were stored use the ones of their latest run.
+     */
+    public StrategyRequest toRequest(SavedStrategy saved) throws JsonProcessingException {
         // Parse the frontend JSON structure
         Map<String, Object> strategyMap = objectMapper.readValue(saved.getStrategyJson(), Map.class);
 
         StrategyRequest request = new StrategyRequest();
+        request.setStockSymbol(saved.getStockSymbol());
+        request.setRange(saved.getRangeParam());
+        request.setInterval(saved.getIntervalParam());
+        if (isBlank(request.getStockSymbol())) {
+            StrategyRunResult lastRun = resultRepository.findFirstByStrategyIdOrderByRanAtDesc(saved.getId())
+                    .orElseThrow(() -> new IllegalStateException("Strategy " + saved.getName()
+                            + " has no symbol; save it again from the builder"));
+            request.setStockSymbol(lastRun.getSymbol());
+            request.setRange(lastRun.getRangeParam());
+            request.setInterval(lastRun.getIntervalParam());
+        }
         // Default parameters for scheduled runs
-        request.setStockSymbol("TCS.NS");
-        request.setRange("1y");
-        request.setInterval("1d");
+        if (isBlank(request.getRange())) {
+            request.setRange("1y");
+        }
+        if (isBlank(request.getInterval())) {
+            request.setInterval("1d");
+        }
 
         request.setEntry(mapToRulesConfig((Map<String, Object>) strategyMap.get("entryRules")));
         request.setExit(mapToRulesConfig((Map<String, Object>) strategyMap.get("exitRules")));
+        request.setStrategyId(saved.getId());
+        request.setStrategyName(saved.getName());
+        return request;
+    }
 
-        BacktestResult result = backtestService.runBacktest(request);
-        saveRunResult(saved.getId(), saved.getName(), request, result);
+    /**
+     * Saves the result of a run started from the builder, under the request's strategy or as a manual run. A
+     * strategy that already saved this cached result is not saved again; see {@link BacktestService#recordSave}.
+     */
+    public void saveManualRunResult(StrategyRequest request, BacktestResult result) {
+        StrategyRunResult runResult = toManualRunResult(request, result);
+        if (!backtestService.recordSave(request, runResult.getStrategyId())) {
+            logger.debug("Skipping repeated save of {} on {}", runResult.getStrategyName(), request.getStockSymbol());
+            return;
+        }
+        resultRepository.save(runResult);
+        logger.info("Successfully saved run result for strategy: {}", runResult.getStrategyName());
+    }
+
+    /**
+     * Saves the results of many builder runs in one transaction; {@code results.get(i)} belongs to
+     * {@code requests.get(i)}. Repeated saves are skipped as in {@link #saveManualRunResult}.
+     */
+    public void saveManualRunResults(List<StrategyRequest> requests, List<BacktestResult> results) {
+        List<StrategyRunResult> runResults = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            StrategyRunResult runResult = toManualRunResult(requests.get(i), results.get(i));
+            if (backtestService.recordSave(requests.get(i), runResult.getStrategyId())) {
+                runResults.add(runResult);
+            }
+        }
+        if (!runResults.isEmpty()) {
+            resultRepository.saveAll(runResults);
+        }
+        logger.info("Saved {} run results ({} repeated skipped)", runResults.size(),
+                requests.size() - runResults.size());
     }
 
     public void saveRunResult(String strategyId, String strategyName, StrategyRequest request, BacktestResult result) {
+        resultRepository.save(toRunResult(strategyId, strategyName, request, result));
+        logger.info("Successfully saved run result for strategy: {}", strategyName);
+    }
+
+    private static StrategyRunResult toManualRunResult(StrategyRequest request, BacktestResult result) {
+        String sId = request.getStrategyId() != null && !request.getStrategyId().isEmpty()
+                ? request.getStrategyId()
+                : "Manual";
+        String sName = request.getStrategyName() != null && !request.getStrategyName().isEmpty()
+                ? request.getStrategyName()
+                : "Manual Builder Run";
+
+        return toRunResult(sId, sName, request, result);
+    }
+
+    private static StrategyRunResult toRunResult(String strategyId, String strategyName, StrategyRequest request,
+            BacktestResult result) {
         StrategyRunResult runResult = new StrategyRunResult();
         runResult.setStrategyId(strategyId);
         runResult.setStrategyName(strategyName);
@@ -86,9 +161,11 @@ public class StrategyScheduleService {
         runResult.setTotalTrades(result.getTotalTrades());
         runResult.setWinRate(result.getWinRate());
         runResult.setRanAt(LocalDateTime.now());
+        return runResult;
+    }
 
-        resultRepository.save(runResult);
-        logger.info("Successfully saved run result for strategy: {}", strategyName);
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
     }
 
     private RulesConfig mapToRulesConfig(Map<String, Object> groupMap) {
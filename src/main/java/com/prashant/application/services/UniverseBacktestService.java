@@ -0,0 +1,205 @@
+package com.prashant.application.services;
+
+import com.prashant.application.broker.BarColumns;
+import com.prashant.application.broker.BarDataService;
+import com.prashant.application.dto.strategy.BacktestResult;
+import com.prashant.application.dto.strategy.StrategyRequest;
+import com.prashant.application.dto.strategy.UniverseRequest;
+import com.prashant.application.dto.strategy.UniverseResult;
+import com.prashant.application.dto.strategy.UniverseRow;
+import com.prashant.application.services.job.JobContext;
+import com.prashant.application.services.plan.StrategyPlan;
+import com.prashant.application.services.series.ColumnarBarSeries;
+import com.prashant.application.services.series.NumPrecision;
+import com.prashant.application.services.universe.Baskets;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.TradingRecord;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Backtests one strategy on every symbol of a universe. The strategy is compiled once and bound to each symbol's
+ * series.
+ * <p>
+ * Loading and backtesting are pipelined per symbol: all loads start at once on the fetch executor's virtual
+ * threads, and each symbol's backtest is queued on the optimizer pool as soon as its bars arrive, so the cores
+ * work on loaded symbols while the rest are still being fetched.
+ */
+@Service
+public class UniverseBacktestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UniverseBacktestService.class);
+
+    private final BacktestService backtestService;
+    private final StrategyParserService strategyParserService;
+    private final BarDataService barDataService;
+    private final ForkJoinPool optimizerPool;
+    private final int maxSymbols;
+
+    public UniverseBacktestService(BacktestService backtestService, StrategyParserService strategyParserService,
+            BarDataService barDataService, ForkJoinPool optimizerPool,
+            @Value("${strategymaster.universe.max-symbols:500}") int maxSymbols) {
+        this.backtestService = backtestService;
+        this.strategyParserService = strategyParserService;
+        this.barDataService = barDataService;
+        this.optimizerPool = optimizerPool;
+        this.maxSymbols = maxSymbols;
+    }
+
+    public UniverseResult run(UniverseRequest request) {
+        return run(request, JobContext.NONE, row -> {
+        });
+    }
+
+    /**
+     * Runs the universe as part of a job: reports progress per finished symbol, hands each finished row to
+     * {@code finished} and skips the symbols not started yet once the job is cancelled.
+     */
+    public UniverseResult run(UniverseRequest request, JobContext job, Consumer<UniverseRow> finished) {
+        StrategyRequest strategy = request.getStrategy();
+        if (strategy == null) {
+            throw new IllegalArgumentException("A strategy is required");
+        }
+        List<String> symbols = symbols(request);
+        // Compile before loading anything, so an invalid strategy fails fast
+        StrategyPlan plan = strategyParserService.plan(strategy);
+        NumPrecision precision = NumPrecision.from(strategy.getPrecision(), NumPrecision.DOUBLE);
+
+        long start = System.nanoTime();
+        AtomicInteger done = new AtomicInteger();
+        List<CompletableFuture<UniverseRow>> pending = new ArrayList<>(symbols.size());
+        for (String symbol : symbols) {
+            pending.add(barDataService.loadAsync(symbol, strategy.getRange(), strategy.getInterval())
+                    .thenApplyAsync(bars -> {
+                        job.checkCancelled();
+                        return backtest(plan, symbol, bars, strategy.getInterval(), precision);
+                    }, optimizerPool)
+                    .exceptionally(error -> failed(symbol, error))
+                    .whenComplete((row, error) -> {
+                        if (row != null) {
+                            finished.accept(row);
+                        }
+                        job.progress((double) done.incrementAndGet() / symbols.size(), symbol);
+                    }));
+        }
+
+        UniverseResult result = new UniverseResult();
+        for (CompletableFuture<UniverseRow> row : pending) {
+            result.getRows().add(JobContext.await(row, pending));
+        }
+        job.checkCancelled();
+        aggregate(result);
+        result.setMillis((System.nanoTime() - start) / 1_000_000);
+
+        logger.info("Universe backtest of {} :: {} symbols ({} failed), {} trades in {} ms",
+                strategy.getStrategyName(), result.getSymbols(), result.getFailed(), result.getTotalTrades(),
+                result.getMillis());
+        return result;
+    }
+
+    /**
+     * Symbols of the request's list and basket, checked against the configured limit.
+     */
+    public List<String> symbols(UniverseRequest request) {
+        List<String> symbols = Baskets.resolve(request.getSymbols(), request.getBasket());
+        if (symbols.isEmpty()) {
+            throw new IllegalArgumentException("No symbols: give a symbol list or a basket");
+        }
+        if (symbols.size() > maxSymbols) {
+            throw new IllegalArgumentException("Universe of " + symbols.size() + " symbols exceeds the limit of "
+                    + maxSymbols);
+        }
+        return symbols;
+    }
+
+    private UniverseRow backtest(StrategyPlan plan, String symbol, BarColumns bars, String interval,
+            NumPrecision precision) {
+        UniverseRow row = new UniverseRow();
+        row.setSymbol(symbol);
+        row.setBars(bars.size());
+        if (bars.isEmpty()) {
+            row.setError("No trade data found");
+            return row;
+        }
+        BarSeries series = new ColumnarBarSeries(symbol, bars, interval, precision.numFactory());
+        TradingRecord tradingRecord = backtestService.execute(plan.bind(series), series);
+        BacktestResult summary = backtestService.summarize(series, tradingRecord.getPositions(),
+                series.getBeginIndex(), series.getEndIndex());
+        row.setTotalTrades(summary.getTotalTrades());
+        row.setWinRate(summary.getWinRate());
+        row.setProfitLoss(summary.getProfitLoss());
+        row.setTotalReturn(summary.getTotalReturn());
+        row.setMaxDrawdown(summary.getMaxDrawdown());
+        row.setSharpeRatio(summary.getSharpeRatio());
+        return row;
+    }
+
+    private static UniverseRow failed(String symbol, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (!(cause instanceof CancellationException)) {
+            logger.error("Universe backtest of {} failed", symbol, cause);
+        }
+        UniverseRow row = new UniverseRow();
+        row.setSymbol(symbol);
+        row.setError(cause.getMessage() != null ? cause.getMessage() : cause.toString());
+        return row;
+    }
+
+    private static void aggregate(UniverseResult result) {
+        List<UniverseRow> rows = result.getRows();
+        double[] returns = new double[rows.size()];
+        int succeeded = 0;
+        int profitable = 0;
+        int trades = 0;
+        double winning = 0;
+        UniverseRow best = null;
+        UniverseRow worst = null;
+        for (UniverseRow row : rows) {
+            if (row.getError() != null) {
+                continue;
+            }
+            returns[succeeded++] = row.getTotalReturn();
+            if (row.getTotalReturn() > 0) {
+                profitable++;
+            }
+            trades += row.getTotalTrades();
+            winning += row.getWinRate() / 100 * row.getTotalTrades();
+            if (best == null || row.getTotalReturn() > best.getTotalReturn()) {
+                best = row;
+            }
+            if (worst == null || row.getTotalReturn() < worst.getTotalReturn()) {
+                worst = row;
+            }
+        }
+
+        result.setSymbols(rows.size());
+        result.setSucceeded(succeeded);
+        result.setFailed(rows.size() - succeeded);
+        result.setProfitableSymbols(profitable);
+        result.setTotalTrades(trades);
+        if (trades > 0) {
+            result.setWinRate(winning / trades * 100);
+        }
+        if (succeeded > 0) {
+            double[] sorted = Arrays.copyOf(returns, succeeded);
+            Arrays.sort(sorted);
+            result.setMeanReturn(Arrays.stream(sorted).sum() / succeeded);
+            result.setMedianReturn(succeeded % 2 == 1 ? sorted[succeeded / 2]
+                    : (sorted[succeeded / 2 - 1] + sorted[succeeded / 2]) / 2);
+            result.setBestSymbol(best.getSymbol());
+            result.setWorstSymbol(worst.getSymbol());
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.prashant.application.services;
+
+import com.prashant.application.dto.strategy.BacktestResult;
+import com.prashant.application.dto.strategy.OptimizationRequest;
+import com.prashant.application.dto.strategy.OptimizationResult;
+import com.prashant.application.dto.strategy.OptimizationRow;
+import com.prashant.application.dto.strategy.StrategyRequest;
+import com.prashant.application.dto.strategy.WalkForwardRequest;
+import com.prashant.application.dto.strategy.WalkForwardResult;
+import com.prashant.application.dto.strategy.WalkForwardWindow;
+import com.prashant.application.services.job.JobContext;
+import com.prashant.application.services.optimize.Objective;
+import com.prashant.application.services.optimize.ParameterGrid;
+import com.prashant.application.services.series.NumPrecision;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Position;
+import org.ta4j.core.TradingRecord;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Walk-forward analysis: optimizes a strategy on each train window and runs the winning parameters on the test
+ * window that follows, then stitches the out-of-sample trades together.
+ * <p>
+ * All windows work on one loaded series. Train and test runs use bar ranges of that series rather than sub-series,
+ * so indicators are warmed up by the bars before a window and kernel columns are computed once for all windows.
+ * Windows run concurrently on the optimizer pool, each optimizing its train window on the same pool.
+ */
+@Service
+public class WalkForwardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WalkForwardService.class);
+
+    private final BacktestService backtestService;
+    private final StrategyParserService strategyParserService;
+    private final StrategyOptimizerService optimizerService;
+    private final ForkJoinPool optimizerPool;
+
+    public WalkForwardService(BacktestService backtestService, StrategyParserService strategyParserService,
+            StrategyOptimizerService optimizerService, ForkJoinPool optimizerPool) {
+        this.backtestService = backtestService;
+        this.strategyParserService = strategyParserService;
+        this.optimizerService = optimizerService;
+        this.optimizerPool = optimizerPool;
+    }
+
+    public WalkForwardResult run(WalkForwardRequest request) {
+        return run(request, JobContext.NONE);
+    }
+
+    /**
+     * Runs as part of a job: reports progress per finished window and stops once the job is cancelled.
+     */
+    public WalkForwardResult run(WalkForwardRequest request, JobContext job) {
+        OptimizationRequest optimization = request.getOptimization();
+        if (optimization == null) {
+            throw new IllegalArgumentException("An optimization request is required");
+        }
+        if (request.getTrainBars() <= 0 || request.getTestBars() <= 0) {
+            throw new IllegalArgumentException("Train and test windows need at least one bar");
+        }
+        optimizerService.validate(optimization);
+        boolean anchored = "ANCHORED".equalsIgnoreCase(request.getWindowMode());
+        Objective objective = Objective.from(optimization.getObjective());
+
+        StrategyRequest strategy = optimization.getStrategy();
+        BarSeries series = backtestService.loadSeries(strategy, NumPrecision.from(strategy.getPrecision(),
+                NumPrecision.DOUBLE));
+        List<Window> windows = windows(series.getBarCount(), request.getTrainBars(), request.getTestBars(), anchored);
+        if (windows.isEmpty()) {
+            throw new IllegalArgumentException("Not enough bars for a " + request.getTrainBars() + " bar train and "
+                    + request.getTestBars() + " bar test window: the series has " + series.getBarCount());
+        }
+
+        long start = System.nanoTime();
+        ParameterGrid grid = new ParameterGrid(strategy, optimization.getRanges());
+        AtomicInteger done = new AtomicInteger();
+        List<Callable<WindowRun>> tasks = new ArrayList<>();
+        for (Window window : windows) {
+            tasks.add(() -> {
+                WindowRun run = runWindow(optimization, grid, objective, series, window, job);
+                int finished = done.incrementAndGet();
+                job.progress((double) finished / windows.size(), finished + " of " + windows.size() + " windows");
+                return run;
+            });
+        }
+
+        WalkForwardResult result = new WalkForwardResult();
+        result.setWindowMode(anchored ? "ANCHORED" : "ROLLING");
+        result.setObjective(objective.name());
+        List<Position> outOfSample = new ArrayList<>();
+        for (Future<WindowRun> future : optimizerPool.invokeAll(tasks)) {
+            WindowRun run = join(future);
+            result.getWindows().add(run.window());
+            outOfSample.addAll(run.positions());
+        }
+        job.checkCancelled();
+        // Metrics and curve cover the test windows only, not the first train window before them
+        result.setOutOfSample(backtestService.buildResult(series, outOfSample, windows.get(0).testFrom(),
+                windows.getLast().testTo(), strategy.getMaxPoints()));
+        result.setMillis((System.nanoTime() - start) / 1_000_000);
+
+        logger.info("Walk-forward of {} on {} :: {} {} windows, {} out-of-sample trades in {} ms",
+                strategy.getStrategyName(), strategy.getStockSymbol(), windows.size(), result.getWindowMode(),
+                outOfSample.size(), result.getMillis());
+        return result;
+    }
+
+    private WindowRun runWindow(OptimizationRequest optimization, ParameterGrid grid, Objective objective,
+            BarSeries series, Window window, JobContext job) {
+        WalkForwardWindow report = new WalkForwardWindow();
+        report.setTrainStart(series.getBar(window.trainFrom()).getBeginTime().toString());
+        report.setTrainEnd(series.getBar(window.trainTo()).getEndTime().toString());
+        report.setTestStart(series.getBar(window.testFrom()).getBeginTime().toString());
+        report.setTestEnd(series.getBar(window.testTo()).getEndTime().toString());
+        try {
+            job.checkCancelled();
+            // Progress is reported per window, not per combination of each window's optimization
+            OptimizationResult trained = optimizerService.optimize(optimization, series, window.trainFrom(),
+                    window.trainTo(), job.withoutProgress());
+            if (trained.getRows().isEmpty()) {
+                report.setError("No parameter combination could be backtested on the train window"
+                        + (trained.getFirstError() != null ? ": " + trained.getFirstError() : ""));
+                return new WindowRun(report, List.of());
+            }
+            OptimizationRow best = trained.getRows().get(0);
+            report.setParameters(best.getParameters());
+            report.setTrainScore(best.getScore());
+
+            StrategyRequest tested = grid.apply(best.getParameters());
+            TradingRecord tradingRecord = backtestService.execute(strategyParserService.compile(tested).bind(series),
+                    series, window.testFrom(), window.testTo());
+            List<Position> positions = StrategyOptimizerService.closedBy(tradingRecord, window.testTo());
+            BacktestResult summary = backtestService.summarize(series, positions, window.testFrom(),
+                    window.testTo());
+            report.setTestScore(objective.score(summary));
+            report.setTestTrades(summary.getTotalTrades());
+            report.setTestProfitLoss(summary.getProfitLoss());
+            return new WindowRun(report, positions);
+        } catch (CancellationException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            logger.error("Walk-forward window {}..{} failed", report.getTrainStart(), report.getTestEnd(), e);
+            report.setError(e.getMessage());
+            return new WindowRun(report, List.of());
+        }
+    }
+
+    /**
+     * Train and test windows as inclusive bar ranges. Test windows follow each other without gaps; the last one
+     * may be shorter.
+     */
+    static List<Window> windows(int bars, int trainBars, int testBars, boolean anchored) {
+        List<Window> windows = new ArrayList<>();
+        for (int testFrom = trainBars; testFrom < bars; testFrom += testBars) {
+            int trainFrom = anchored ? 0 : testFrom - trainBars;
+            windows.add(new Window(trainFrom, testFrom - 1, testFrom, Math.min(testFrom + testBars, bars) - 1));
+        }
+        return windows;
+    }
+
+    private static WindowRun join(Future<WindowRun> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Walk-forward interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof CancellationException cancelled) {
+                throw cancelled;
+            }
+            throw new IllegalStateException("Walk-forward failed", e.getCause());
+        }
+    }
+
+    record Window(int trainFrom, int trainTo, int testFrom, int testTo) {
+    }
+
+    private record WindowRun(WalkForwardWindow window, List<Position> positions) {
+    }
+}
@@ -0,0 +1,72 @@
+package com.prashant.application.services.indicator;
+
+import com.prashant.application.dto.strategy.RuleParam;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable indicator parameters, parsed once. Names are case insensitive and the first occurrence of a name wins.
+ * Values that do not parse as the requested type fall back to the provider's default, as before.
+ */
+public final class IndicatorParams {
+
+    private static final IndicatorParams NONE = new IndicatorParams(new TreeMap<>());
+
+    private final Map<String, String> values;
+    private final Map<String, Integer> ints = new TreeMap<>();
+    private final Map<String, Double> doubles = new TreeMap<>();
+
+    private IndicatorParams(TreeMap<String, String> values) {
+        this.values = Collections.unmodifiableMap(values);
+        values.forEach((name, value) -> {
+            try {
+                ints.put(name, Integer.parseInt(value));
+            } catch (NumberFormatException e) {
+                // default applies
+            }
+            try {
+                doubles.put(name, Double.parseDouble(value));
+            } catch (NumberFormatException e) {
+                // default applies
+            }
+        });
+    }
+
+    public static IndicatorParams of(List<RuleParam> params) {
+        if (params == null || params.isEmpty()) {
+            return NONE;
+        }
+        TreeMap<String, String> values = new TreeMap<>();
+        for (RuleParam param : params) {
+            if (param.getName() != null && param.getValue() != null) {
+                values.putIfAbsent(param.getName().toLowerCase(), param.getValue());
+            }
+        }
+        return new IndicatorParams(values);
+    }
+
+    public static IndicatorParams of(String name, Object value) {
+        TreeMap<String, String> values = new TreeMap<>();
+        values.put(name.toLowerCase(), String.valueOf(value));
+        return new IndicatorParams(values);
+    }
+
+    public int getInt(String name, int defaultValue) {
+        return ints.getOrDefault(name.toLowerCase(), defaultValue);
+    }
+
+    public double getDouble(String name, double defaultValue) {
+        return doubles.getOrDefault(name.toLowerCase(), defaultValue);
+    }
+
+    /**
+     * Canonical form: parameters sorted by lower case name, e.g. {@code {period=20, stddev=2}}.
+     */
+    @Override
+    public String toString() {
+        return values.toString();
+    }
+}
@@ -1,6 +1,10 @@
 package com.prashant.application.services.indicator;
 
 import com.prashant.application.dto.strategy.RuleParam;
+import com.prashant.application.services.indicator.kernel.ColumnIndicator;
+import com.prashant.application.services.indicator.kernel.IndicatorKernels;
+import com.prashant.application.services.series.ColumnarBarSeries;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.ta4j.core.Indicator;
 import org.ta4j.core.indicators.*;
@@ -21,14 +25,27 @@ import org.ta4j.core.num.Num;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
 
 @Service
 public class IndicatorRegistry {
 
+    private static final double DEFAULT_COST = 10;
+
     private final Map<String, IndicatorProvider> registry = new HashMap<>();
+    private final Map<String, String> aliases = new HashMap<>();
+    private final Map<String, IndicatorProvider> kernels = new HashMap<>();
+    private final Map<String, ToDoubleFunction<IndicatorParams>> costs = new HashMap<>();
+    private final boolean kernelsEnabled;
 
-    public IndicatorRegistry() {
+    public IndicatorRegistry(@Value("${strategymaster.indicators.kernels:true}") boolean kernelsEnabled) {
+        this.kernelsEnabled = kernelsEnabled;
         initializeRegistry();
+        initializeKernels();
+        initializeCosts();
     }
 
     private void initializeRegistry() {
@@ -75,27 +92,35 @@ public class IndicatorRegistry {
         register("BOLLINGERUPPER", (cp, p) -> {
             int period = getParamInt(p, "period", 20);
             double stdDev = getParamDouble(p, "stdDev", 2.0);
-            BollingerBandsMiddleIndicator middle = new BollingerBandsMiddleIndicator(new SMAIndicator(cp, period));
-            StandardDeviationIndicator sd = new StandardDeviationIndicator(cp, period);
+            BollingerBandsMiddleIndicator middle = bollingerMiddle(cp, period);
+            StandardDeviationIndicator sd = shared(cp, key("STANDARDDEVIATION", "period", period),
+                    () -> new StandardDeviationIndicator(cp, period));
             return new BollingerBandsUpperIndicator(middle, sd, cp.getBarSeries().numFactory().numOf(stdDev));
         });
         register("BOLLINGERLOWER", (cp, p) -> {
             int period = getParamInt(p, "period", 20);
             double stdDev = getParamDouble(p, "stdDev", 2.0);
-            BollingerBandsMiddleIndicator middle = new BollingerBandsMiddleIndicator(new SMAIndicator(cp, period));
-            StandardDeviationIndicator sd = new StandardDeviationIndicator(cp, period);
+            BollingerBandsMiddleIndicator middle = bollingerMiddle(cp, period);
+            StandardDeviationIndicator sd = shared(cp, key("STANDARDDEVIATION", "period", period),
+                    () -> new StandardDeviationIndicator(cp, period));
             return new BollingerBandsLowerIndicator(middle, sd, cp.getBarSeries().numFactory().numOf(stdDev));
         });
         register("KELTNERUPPER", (cp, p) -> {
-            KeltnerChannelMiddleIndicator middle = new KeltnerChannelMiddleIndicator(cp.getBarSeries(),
-                    getParamInt(p, "period", 20));
-            ATRIndicator atr = new ATRIndicator(cp.getBarSeries(), getParamInt(p, "atr", 10));
+            int period = getParamInt(p, "period", 20);
+            int atrPeriod = getParamInt(p, "atr", 10);
+            KeltnerChannelMiddleIndicator middle = shared(cp, key("KELTNERMIDDLE", "period", period),
+                    () -> new KeltnerChannelMiddleIndicator(cp.getBarSeries(), period));
+            ATRIndicator atr = shared(cp, key("ATR", "period", atrPeriod),
+                    () -> new ATRIndicator(cp.getBarSeries(), atrPeriod));
             return new KeltnerChannelUpperIndicator(middle, atr, getParamDouble(p, "multiplier", 2.0));
         });
         register("KELTNERLOWER", (cp, p) -> {
-            KeltnerChannelMiddleIndicator middle = new KeltnerChannelMiddleIndicator(cp.getBarSeries(),
-                    getParamInt(p, "period", 20));
-            ATRIndicator atr = new ATRIndicator(cp.getBarSeries(), getParamInt(p, "atr", 10));
+            int period = getParamInt(p, "period", 20);
+            int atrPeriod = getParamInt(p, "atr", 10);
+            KeltnerChannelMiddleIndicator middle = shared(cp, key("KELTNERMIDDLE", "period", period),
+                    () -> new KeltnerChannelMiddleIndicator(cp.getBarSeries(), period));
+            ATRIndicator atr = shared(cp, key("ATR", "period", atrPeriod),
+                    () -> new ATRIndicator(cp.getBarSeries(), atrPeriod));
             return new KeltnerChannelLowerIndicator(middle, atr, getParamDouble(p, "multiplier", 2.0));
         });
         register("DONCHIANUPPER",
@@ -108,80 +133,259 @@ public class IndicatorRegistry {
         register("FISHER", (cp, p) -> new FisherIndicator(cp, getParamInt(p, "period", 10)));
 
         // --- Support / Resistance ---
-        register("HIGHESTHIGH", (cp, p) -> new HighestValueIndicator(new HighPriceIndicator(cp.getBarSeries()),
+        register("HIGHESTHIGH", (cp, p) -> new HighestValueIndicator(
+                shared(cp, key("HIGH"), () -> new HighPriceIndicator(cp.getBarSeries())),
                 getParamInt(p, "period", 20)));
-        register("LOWESTLOW", (cp, p) -> new LowestValueIndicator(new LowPriceIndicator(cp.getBarSeries()),
+        register("LOWESTLOW", (cp, p) -> new LowestValueIndicator(
+                shared(cp, key("LOW"), () -> new LowPriceIndicator(cp.getBarSeries())),
                 getParamInt(p, "period", 20)));
 
         // --- Aliases & Backward Compatibility ---
-        register("PRICE", registry.get("CLOSE"));
-        register("SMA50", registry.get("SMA"));
-        register("EMA20", registry.get("EMA"));
-        register("BOLLINGER", registry.get("BOLLINGERUPPER"));
-        register("BOLLINGERBANDS", registry.get("BOLLINGERUPPER"));
-        register("BOLLINGERBANDSUPPER", registry.get("BOLLINGERUPPER"));
-        register("BOLLINGERBANDSLOWER", registry.get("BOLLINGERLOWER"));
-        register("KELTNER", registry.get("KELTNERUPPER"));
-        register("KELTNERCHANNELS", registry.get("KELTNERUPPER"));
-        register("KELTNERCHANNELUPPER", registry.get("KELTNERUPPER"));
-        register("KELTNERCHANNELLOWER", registry.get("KELTNERLOWER"));
-        register("DONCHIAN", registry.get("DONCHIANUPPER"));
-        register("DONCHIANCHANNELS", registry.get("DONCHIANUPPER"));
-        register("DONCHIANCHANNELUPPER", registry.get("DONCHIANUPPER"));
-        register("DONCHIANCHANNELLOWER", registry.get("DONCHIANLOWER"));
+        alias("PRICE", "CLOSE");
+        alias("SMA50", "SMA");
+        alias("EMA20", "EMA");
+        alias("BOLLINGER", "BOLLINGERUPPER");
+        alias("BOLLINGERBANDS", "BOLLINGERUPPER");
+        alias("BOLLINGERBANDSUPPER", "BOLLINGERUPPER");
+        alias("BOLLINGERBANDSLOWER", "BOLLINGERLOWER");
+        alias("KELTNER", "KELTNERUPPER");
+        alias("KELTNERCHANNELS", "KELTNERUPPER");
+        alias("KELTNERCHANNELUPPER", "KELTNERUPPER");
+        alias("KELTNERCHANNELLOWER", "KELTNERLOWER");
+        alias("DONCHIAN", "DONCHIANUPPER");
+        alias("DONCHIANCHANNELS", "DONCHIANUPPER");
+        alias("DONCHIANCHANNELUPPER", "DONCHIANUPPER");
+        alias("DONCHIANCHANNELLOWER", "DONCHIANLOWER");
         register("ICHIMOKU", (cp, p) -> new IchimokuTenkanSenIndicator(cp.getBarSeries(), getParamInt(p, "tenkan", 9)));
-        register("ICHIMOKUCLOUD", registry.get("ICHIMOKU"));
-        register("ICHIMOKUTENKAN", registry.get("ICHIMOKU"));
-        register("ICHIMOKUTENKANSEN", registry.get("ICHIMOKU"));
+        alias("ICHIMOKUCLOUD", "ICHIMOKU");
+        alias("ICHIMOKUTENKAN", "ICHIMOKU");
+        alias("ICHIMOKUTENKANSEN", "ICHIMOKU");
         register("ICHIMOKUKIJUN",
                 (cp, p) -> new IchimokuKijunSenIndicator(cp.getBarSeries(), getParamInt(p, "kijun", 26)));
-        register("ICHIMOKUKIJUNSEN", registry.get("ICHIMOKUKIJUN"));
+        alias("ICHIMOKUKIJUNSEN", "ICHIMOKUKIJUN");
         register("SUPERTREND", (cp, p) -> new SuperTrendIndicator(cp.getBarSeries(), getParamInt(p, "period", 10),
                 getParamDouble(p, "multiplier", 3.0)));
-        register("STOCHASTICOSCILLATOR", registry.get("STOCHASTIC"));
-        register("AVERAGETRUERANGE", registry.get("ATR"));
+        alias("STOCHASTICOSCILLATOR", "STOCHASTIC");
+        alias("AVERAGETRUERANGE", "ATR");
+    }
+
+    /**
+     * Whole-column versions of the hot indicators, used instead of the ta4j ones on double precision columnar
+     * series. Each reports the same values and unstable bar count as the indicator it replaces.
+     */
+    private void initializeKernels() {
+        registerKernel("SMA", (cp, p) -> sma(cp, getParamInt(p, "period", 50)));
+        registerKernel("EMA", (cp, p) -> {
+            int period = getParamInt(p, "period", 20);
+            return column(cp, key("EMA", "period", period), period,
+                    s -> IndicatorKernels.ema(s.closeValues(), s.getBarCount(), period));
+        });
+        registerKernel("WMA", (cp, p) -> {
+            int period = getParamInt(p, "period", 20);
+            return column(cp, key("WMA", "period", period), period,
+                    s -> IndicatorKernels.wma(s.closeValues(), s.getBarCount(), period));
+        });
+        registerKernel("RSI", (cp, p) -> {
+            int period = getParamInt(p, "period", 14);
+            return column(cp, key("RSI", "period", period), period,
+                    s -> IndicatorKernels.rsi(s.closeValues(), s.getBarCount(), period));
+        });
+        registerKernel("ATR", (cp, p) -> {
+            int period = getParamInt(p, "period", 14);
+            return column(cp, key("ATR", "period", period), period, s -> IndicatorKernels.atr(s.highValues(),
+                    s.lowValues(), s.closeValues(), s.getBarCount(), period));
+        });
+        registerKernel("STANDARDDEVIATION", (cp, p) -> standardDeviation(cp, getParamInt(p, "period", 20)));
+        registerKernel("BOLLINGERUPPER", (cp, p) -> bollingerBand(cp, getParamInt(p, "period", 20),
+                getParamDouble(p, "stdDev", 2.0)));
+        registerKernel("BOLLINGERLOWER", (cp, p) -> bollingerBand(cp, getParamInt(p, "period", 20),
+                -getParamDouble(p, "stdDev", 2.0)));
+        registerKernel("DONCHIANUPPER", (cp, p) -> highestHigh(cp, getParamInt(p, "period", 20)));
+        registerKernel("DONCHIANLOWER", (cp, p) -> lowestLow(cp, getParamInt(p, "period", 20)));
+        registerKernel("HIGHESTHIGH", (cp, p) -> highestHigh(cp, getParamInt(p, "period", 20)));
+        registerKernel("LOWESTLOW", (cp, p) -> lowestLow(cp, getParamInt(p, "period", 20)));
+    }
+
+    /**
+     * Rough work per bar of the ta4j indicators, in steps of about one arithmetic operation, used to order rules
+     * so cheap ones run first. Windowed indicators that rescan their window scale with the period; indicators
+     * without an entry cost {@link #DEFAULT_COST}.
+     */
+    private void initializeCosts() {
+        for (String price : List.of("CLOSE", "OPEN", "HIGH", "LOW", "VOLUME")) {
+            registerCost(price, p -> 0.5);
+        }
+        registerCost("SMA", p -> 3);
+        registerCost("EMA", p -> 3);
+        registerCost("WMA", p -> getParamInt(p, "period", 20));
+        registerCost("HMA", p -> 2 * getParamInt(p, "period", 20));
+        registerCost("RSI", p -> 10);
+        registerCost("MACD", p -> 7);
+        registerCost("STOCHASTIC", p -> 2 * getParamInt(p, "kPeriod", 14));
+        registerCost("ROC", p -> 2);
+        registerCost("MOMENTUM", p -> 2);
+        registerCost("CCI", p -> 2 * getParamInt(p, "period", 20));
+        registerCost("WILLIAMSR", p -> 2 * getParamInt(p, "period", 14));
+        registerCost("AWESOMEOSCILLATOR", p -> 8);
+        registerCost("ADX", p -> 20);
+        registerCost("PLUSDI", p -> 12);
+        registerCost("MINUSDI", p -> 12);
+        registerCost("ATR", p -> 6);
+        registerCost("TR", p -> 3);
+        registerCost("STANDARDDEVIATION", p -> getParamInt(p, "period", 20));
+        registerCost("OBV", p -> 2);
+        registerCost("VWAP", p -> 2 * getParamInt(p, "period", 14));
+        registerCost("ADL", p -> 3);
+        registerCost("BOLLINGERUPPER", p -> getParamInt(p, "period", 20) + 5);
+        registerCost("BOLLINGERLOWER", p -> getParamInt(p, "period", 20) + 5);
+        registerCost("KELTNERUPPER", p -> 12);
+        registerCost("KELTNERLOWER", p -> 12);
+        registerCost("DONCHIANUPPER", p -> getParamInt(p, "period", 20));
+        registerCost("DONCHIANLOWER", p -> getParamInt(p, "period", 20));
+        registerCost("PARABOLICSAR", p -> 10);
+        registerCost("FISHER", p -> 2 * getParamInt(p, "period", 10) + 10);
+        registerCost("HIGHESTHIGH", p -> getParamInt(p, "period", 20));
+        registerCost("LOWESTLOW", p -> getParamInt(p, "period", 20));
+        registerCost("ICHIMOKU", p -> 2 * getParamInt(p, "tenkan", 9));
+        registerCost("ICHIMOKUKIJUN", p -> 2 * getParamInt(p, "kijun", 26));
+        registerCost("SUPERTREND", p -> 25);
+    }
+
+    private void registerCost(String name, ToDoubleFunction<IndicatorParams> cost) {
+        costs.put(name.toUpperCase(), cost);
+    }
+
+    private void registerKernel(String name, IndicatorProvider provider) {
+        kernels.put(name.toUpperCase(), provider);
     }
 
     public void register(String name, IndicatorProvider provider) {
         registry.put(name.toUpperCase(), provider);
     }
 
+    private void alias(String alias, String name) {
+        register(alias, registry.get(name));
+        aliases.put(alias.toUpperCase(), name.toUpperCase());
+    }
+
+    /**
+     * Builds the named indicator. When {@code cp} is a {@link SharedClosePriceIndicator}, an indicator with the
+     * same canonical name and parameters that was already built on it is returned instead.
+     */
     public Indicator<Num> getIndicator(String name, ClosePriceIndicator cp, List<RuleParam> params) {
-        IndicatorProvider provider = registry.get(name.toUpperCase());
+        return spec(name, IndicatorParams.of(params)).create(cp);
+    }
+
+    /**
+     * Resolves the named indicator once so it can be created on any number of series.
+     */
+    public IndicatorSpec spec(String name, IndicatorParams params) {
+        String canonical = canonicalName(name);
+        IndicatorProvider provider = registry.get(canonical);
+        if (provider == null) {
+            throw new IllegalArgumentException("Unsupported indicator: " + name);
+        }
+        double cost = costs.getOrDefault(canonical, p -> DEFAULT_COST).applyAsDouble(params);
+        return new IndicatorSpec(canonical, params, canonical + params, provider,
+                kernelsEnabled ? kernels.get(canonical) : null, cost);
+    }
+
+    /**
+     * Builds the named indicator without sharing, forcing the kernel or the ta4j implementation. Used to compare
+     * the two.
+     */
+    public Indicator<Num> createIndicator(String name, ClosePriceIndicator cp, List<RuleParam> params,
+            boolean kernel) {
+        if (kernel && !IndicatorSpec.supportsKernels(cp)) {
+            throw new IllegalArgumentException("Kernels need a double precision columnar series");
+        }
+        String canonical = canonicalName(name);
+        IndicatorProvider provider = kernel ? kernels.get(canonical) : registry.get(canonical);
         if (provider == null) {
             throw new IllegalArgumentException("Unsupported indicator: " + name);
         }
-        return provider.create(cp, params);
+        return provider.create(cp, IndicatorParams.of(params));
+    }
+
+    public Set<String> kernelNames() {
+        return kernels.keySet();
+    }
+
+    public String canonicalName(String name) {
+        String upper = name.toUpperCase();
+        return aliases.getOrDefault(upper, upper);
+    }
+
+    /**
+     * Sharing key of a sub-indicator, in the same form as {@link IndicatorSpec#key()}.
+     */
+    private static String key(String name, String param, int value) {
+        return name + IndicatorParams.of(param, value);
+    }
+
+    private static String key(String name) {
+        return name + IndicatorParams.of(List.of());
+    }
+
+    private static <T extends Indicator<Num>> T shared(ClosePriceIndicator cp, String key, Supplier<T> factory) {
+        if (cp instanceof SharedClosePriceIndicator shared) {
+            return shared.share(key, factory);
+        }
+        return factory.get();
+    }
+
+    /**
+     * Kernel indicator whose column is computed once per series and key, and then shared by every strategy and
+     * thread working on that series.
+     */
+    private static ColumnIndicator column(ClosePriceIndicator cp, String key, int unstableBars,
+            Function<ColumnarBarSeries, double[]> kernel) {
+        ColumnarBarSeries series = (ColumnarBarSeries) cp.getBarSeries();
+        return new ColumnIndicator(series, unstableBars, () -> series.derivedColumn(key, () -> kernel.apply(series)));
+    }
+
+    private static ColumnIndicator sma(ClosePriceIndicator cp, int period) {
+        String key = key("SMA", "period", period);
+        return shared(cp, IndicatorSpec.kernelKey(key), () -> column(cp, key, period - 1,
+                s -> IndicatorKernels.sma(s.closeValues(), s.getBarCount(), period)));
+    }
+
+    private static ColumnIndicator standardDeviation(ClosePriceIndicator cp, int period) {
+        String key = key("STANDARDDEVIATION", "period", period);
+        return shared(cp, IndicatorSpec.kernelKey(key), () -> column(cp, key, 0,
+                s -> IndicatorKernels.standardDeviation(s.closeValues(), s.getBarCount(), period)));
+    }
+
+    private static ColumnIndicator bollingerBand(ClosePriceIndicator cp, int period, double k) {
+        ColumnIndicator middle = sma(cp, period);
+        ColumnIndicator deviation = standardDeviation(cp, period);
+        return column(cp, "BOLLINGERBAND{k=" + k + ", period=" + period + "}", 0,
+                s -> IndicatorKernels.band(middle.values(), deviation.values(), s.getBarCount(), k));
+    }
+
+    private static ColumnIndicator highestHigh(ClosePriceIndicator cp, int period) {
+        String key = key("HIGHESTHIGH", "period", period);
+        return shared(cp, IndicatorSpec.kernelKey(key), () -> column(cp, key, period,
+                s -> IndicatorKernels.highest(s.highValues(), s.getBarCount(), period)));
+    }
+
+    private static ColumnIndicator lowestLow(ClosePriceIndicator cp, int period) {
+        String key = key("LOWESTLOW", "period", period);
+        return shared(cp, IndicatorSpec.kernelKey(key), () -> column(cp, key, period,
+                s -> IndicatorKernels.lowest(s.lowValues(), s.getBarCount(), period)));
+    }
+
+    private static BollingerBandsMiddleIndicator bollingerMiddle(ClosePriceIndicator cp, int period) {
+        SMAIndicator sma = shared(cp, key("SMA", "period", period), () -> new SMAIndicator(cp, period));
+        return shared(cp, key("BOLLINGERMIDDLE", "period", period), () -> new BollingerBandsMiddleIndicator(sma));
     }
 
     // Helper methods for parameter extraction
-    private int getParamInt(List<RuleParam> params, String name, int defaultValue) {
-        if (params == null)
-            return defaultValue;
-        return params.stream()
-                .filter(p -> p.getName().equalsIgnoreCase(name))
-                .map(p -> {
-                    try {
-                        return Integer.parseInt(p.getValue());
-                    } catch (Exception e) {
-                        return defaultValue;
-                    }
-                })
-                .findFirst().orElse(defaultValue);
-    }
-
-    private double getParamDouble(List<RuleParam> params, String name, double defaultValue) {
-        if (params == null)
-            return defaultValue;
-        return params.stream()
-                .filter(p -> p.getName().equalsIgnoreCase(name))
-                .map(p -> {
-                    try {
-                        return Double.parseDouble(p.getValue());
-                    } catch (Exception e) {
-                        return defaultValue;
-                    }
-                })
-                .findFirst().orElse(defaultValue);
+    private int getParamInt(IndicatorParams params, String name, int defaultValue) {
+        return params.getInt(name, defaultValue);
+    }
+
+    private double getParamDouble(IndicatorParams params, String name, double defaultValue) {
+        return params.getDouble(name, defaultValue);
     }
 }
@@ -0,0 +1,50 @@
+package com.prashant.application.services.indicator;
+
+import com.prashant.application.services.series.ColumnarBarSeries;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.num.DoubleNumFactory;
+import org.ta4j.core.num.Num;
+
+/**
+ * An indicator resolved against the registry: canonical name, parsed parameters and its providers. Creating it on
+ * a series is a map lookup plus, on first use, the provider call.
+ *
+ * @param key    canonical name and parameters, used to share equal indicators on one series; kernels are shared
+ *               under {@link #kernelKey(String)}
+ * @param kernel whole-column provider, or {@code null} if there is none or kernels are disabled
+ * @param cost   estimated work per bar of the ta4j indicator, in steps of about one arithmetic operation
+ */
+public record IndicatorSpec(String name, IndicatorParams params, String key, IndicatorProvider provider,
+        IndicatorProvider kernel, double cost) {
+
+    /**
+     * Creates the indicator on {@code cp}'s series. When {@code cp} is a {@link SharedClosePriceIndicator}, an
+     * equal indicator that was already built on it is returned instead.
+     */
+    public Indicator<Num> create(ClosePriceIndicator cp) {
+        IndicatorProvider chosen = kernel != null && supportsKernels(cp) ? kernel : provider;
+        if (cp instanceof SharedClosePriceIndicator shared) {
+            return shared.share(chosen == kernel ? kernelKey(key) : key, () -> chosen.create(cp, params));
+        }
+        return chosen.create(cp, params);
+    }
+
+    /**
+     * Sharing key of a kernel. Kernels and ta4j indicators of the same name are different types, and ta4j
+     * composites such as Keltner channels take their sub-indicators as concrete ta4j types, so the two must never
+     * be shared under one key.
+     */
+    static String kernelKey(String key) {
+        return "kernel:" + key;
+    }
+
+    /**
+     * Kernels read the primitive columns directly and compute in doubles, so they only stand in for the ta4j
+     * indicators when the series is columnar and uses {@code DoubleNum}; decimal series keep exact arithmetic.
+     */
+    static boolean supportsKernels(ClosePriceIndicator cp) {
+        return cp.getBarSeries() instanceof ColumnarBarSeries series
+                && series.numFactory() instanceof DoubleNumFactory;
+    }
+}
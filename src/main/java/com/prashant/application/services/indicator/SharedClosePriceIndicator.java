@@ -0,0 +1,43 @@
+package com.prashant.application.services.indicator;
+
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.num.Num;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Close price of a series that also holds every indicator built on it, keyed by canonical name and parameters.
+ * One instance is used for a whole entry/exit rule tree so equal indicators are built and computed only once.
+ * Not thread safe; strategies are parsed on a single thread.
+ */
+public class SharedClosePriceIndicator extends ClosePriceIndicator {
+
+    private final Map<String, Indicator<Num>> indicators = new HashMap<>();
+
+    public SharedClosePriceIndicator(BarSeries series) {
+        super(series);
+    }
+
+    /**
+     * Returns the indicator stored under {@code key}, creating it with {@code factory} on first use. The factory
+     * may itself share sub-indicators.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Indicator<Num>> T share(String key, Supplier<T> factory) {
+        Indicator<Num> indicator = indicators.get(key);
+        if (indicator == null) {
+            // No computeIfAbsent: the factory may add nested entries to the same map
+            indicator = factory.get();
+            indicators.put(key, indicator);
+        }
+        return (T) indicator;
+    }
+
+    public int sharedCount() {
+        return indicators.size();
+    }
+}
@@ -0,0 +1,64 @@
+package com.prashant.application.services.indicator.kernel;
+
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.indicators.AbstractIndicator;
+import org.ta4j.core.num.NaN;
+import org.ta4j.core.num.Num;
+
+import java.util.function.Supplier;
+
+/**
+ * ta4j {@code Indicator} over a column computed by one of the {@link IndicatorKernels}. The kernel runs once, on
+ * the first value requested, and {@code Num}s are created per index on first access.
+ */
+public class ColumnIndicator extends AbstractIndicator<Num> {
+
+    private final Supplier<double[]> kernel;
+    private final int unstableBars;
+    private volatile double[] values;
+    private volatile Num[] nums;
+
+    public ColumnIndicator(BarSeries series, int unstableBars, Supplier<double[]> kernel) {
+        super(series);
+        this.kernel = kernel;
+        this.unstableBars = unstableBars;
+    }
+
+    /**
+     * The computed column. Must not be modified.
+     */
+    public double[] values() {
+        double[] result = values;
+        if (result == null) {
+            synchronized (this) {
+                result = values;
+                if (result == null) {
+                    result = kernel.get();
+                    values = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Num getValue(int index) {
+        Num[] cache = nums;
+        if (cache == null) {
+            cache = new Num[values().length];
+            nums = cache;
+        }
+        Num value = cache[index];
+        if (value == null) {
+            double v = values()[index];
+            value = Double.isNaN(v) ? NaN.NaN : getBarSeries().numFactory().numOf(v);
+            cache[index] = value;
+        }
+        return value;
+    }
+
+    @Override
+    public int getCountOfUnstableBars() {
+        return unstableBars;
+    }
+}
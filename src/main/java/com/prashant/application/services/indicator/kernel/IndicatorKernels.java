@@ -0,0 +1,261 @@
+package com.prashant.application.services.indicator.kernel;
+
+/**
+ * Whole-column indicator kernels over {@code double[]} inputs. Each kernel makes one pass over the first
+ * {@code size} values and returns a new array of the same length with the same values, warm-up behaviour and
+ * {@code NaN} positions as the ta4j indicator of the same name evaluated with {@code DoubleNum}.
+ * <p>
+ * Where ta4j rescans the whole window per bar (weighted average, standard deviation) the kernels keep rolling sums
+ * instead and rebuild them once per window, which bounds their rounding drift at an amortised O(1) cost per bar.
+ * Those results agree with ta4j to within rounding rather than bit for bit.
+ */
+public final class IndicatorKernels {
+
+    private IndicatorKernels() {
+    }
+
+    /**
+     * Simple moving average over the last {@code min(period, i + 1)} values. Uses the same running total as ta4j's
+     * {@code SMAIndicator} on sequential access, so results are bit for bit identical.
+     */
+    public static double[] sma(double[] values, int size, int period) {
+        double[] out = new double[size];
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum = sum + values[i];
+            if (i >= period) {
+                sum = sum - values[i - period];
+            }
+            out[i] = sum / Math.min(period, i + 1);
+        }
+        return out;
+    }
+
+    /**
+     * Exponential moving average with multiplier {@code 2 / (period + 1)}.
+     */
+    public static double[] ema(double[] values, int size, int period) {
+        return exponential(values, size, period, 2.0 / (period + 1));
+    }
+
+    /**
+     * Wilder's modified moving average with multiplier {@code 1 / period}.
+     */
+    public static double[] mma(double[] values, int size, int period) {
+        return exponential(values, size, period, 1.0 / period);
+    }
+
+    /**
+     * {@code NaN} for the first {@code period} bars, seeded with the input at {@code period}.
+     */
+    private static double[] exponential(double[] values, int size, int period, double multiplier) {
+        double[] out = new double[size];
+        double previous = Double.NaN;
+        for (int i = 0; i < size; i++) {
+            if (i < period || Double.isNaN(values[i])) {
+                out[i] = Double.NaN;
+            } else if (Double.isNaN(previous)) {
+                out[i] = values[i];
+            } else {
+                out[i] = (values[i] - previous) * multiplier + previous;
+            }
+            previous = out[i];
+        }
+        return out;
+    }
+
+    /**
+     * Linearly weighted moving average; the newest of the last {@code min(period, i + 1)} values has the highest
+     * weight.
+     */
+    public static double[] wma(double[] values, int size, int period) {
+        double[] out = new double[size];
+        double sum = 0;
+        double weighted = 0;
+        for (int i = 0; i < size; i++) {
+            int from = Math.max(0, i - period + 1);
+            int count = i - from + 1;
+            if (i % period == 0) {
+                sum = 0;
+                weighted = 0;
+                for (int j = from; j <= i; j++) {
+                    sum += values[j];
+                    weighted += (j - from + 1) * values[j];
+                }
+            } else if (i >= period) {
+                weighted += period * values[i] - sum;
+                sum += values[i] - values[i - period];
+            } else {
+                sum += values[i];
+                weighted += count * values[i];
+            }
+            out[i] = weighted / (count * (count + 1) / 2.0);
+        }
+        return out;
+    }
+
+    /**
+     * Relative strength index from Wilder averages of gains and losses.
+     */
+    public static double[] rsi(double[] values, int size, int period) {
+        double[] gains = new double[size];
+        double[] losses = new double[size];
+        for (int i = 1; i < size; i++) {
+            double change = values[i] - values[i - 1];
+            gains[i] = change > 0 ? change : 0;
+            losses[i] = change < 0 ? -change : 0;
+        }
+        double[] averageGain = mma(gains, size, period);
+        double[] averageLoss = mma(losses, size, period);
+        double[] out = new double[size];
+        for (int i = 0; i < size; i++) {
+            double gain = averageGain[i];
+            double loss = averageLoss[i];
+            if (i < period || Double.isNaN(gain) || Double.isNaN(loss)) {
+                out[i] = Double.NaN;
+            } else if (loss == 0) {
+                out[i] = gain == 0 ? 0 : 100;
+            } else {
+                out[i] = 100 - 100 / (1 + gain / loss);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * True range: the largest of high - low and the distances from the previous close.
+     */
+    public static double[] trueRange(double[] high, double[] low, double[] close, int size) {
+        double[] out = new double[size];
+        for (int i = 0; i < size; i++) {
+            double range = high[i] - low[i];
+            if (i == 0) {
+                out[i] = Math.abs(range);
+            } else {
+                double fromHigh = high[i] - close[i - 1];
+                double fromLow = close[i - 1] - low[i];
+                out[i] = Math.max(Math.abs(range), Math.max(Math.abs(fromHigh), Math.abs(fromLow)));
+            }
+        }
+        return out;
+    }
+
+    public static double[] atr(double[] high, double[] low, double[] close, int size, int period) {
+        return mma(trueRange(high, low, close, size), size, period);
+    }
+
+    /**
+     * Population standard deviation over the last {@code min(period, i + 1)} values. Sums run relative to a
+     * reference value and restart every {@code period} bars; a window whose rolling variance is within rounding of
+     * zero is recomputed exactly, since the square root would turn that rounding into a visible deviation.
+     */
+    public static double[] standardDeviation(double[] values, int size, int period) {
+        double[] out = new double[size];
+        double reference = 0;
+        double sum = 0;
+        double sumOfSquares = 0;
+        // Every square added or removed since the restart; bounds the rounding error of sumOfSquares
+        double magnitude = 0;
+        for (int i = 0; i < size; i++) {
+            int from = Math.max(0, i - period + 1);
+            int count = i - from + 1;
+            if (i % period == 0) {
+                reference = values[i];
+                sum = 0;
+                sumOfSquares = 0;
+                for (int j = from; j <= i; j++) {
+                    double d = values[j] - reference;
+                    sum += d;
+                    sumOfSquares += d * d;
+                }
+                magnitude = sumOfSquares;
+            } else {
+                double d = values[i] - reference;
+                sum += d;
+                sumOfSquares += d * d;
+                magnitude += d * d;
+                if (i >= period) {
+                    double dropped = values[i - period] - reference;
+                    sum -= dropped;
+                    sumOfSquares -= dropped * dropped;
+                    magnitude += dropped * dropped;
+                }
+            }
+            double mean = sum / count;
+            double variance = sumOfSquares / count - mean * mean;
+            if (variance * count <= 1e-10 * magnitude) {
+                variance = exactVariance(values, from, i);
+            }
+            out[i] = Math.sqrt(Math.max(0, variance));
+        }
+        return out;
+    }
+
+    private static double exactVariance(double[] values, int from, int to) {
+        int count = to - from + 1;
+        double sum = 0;
+        for (int j = from; j <= to; j++) {
+            sum += values[j];
+        }
+        double mean = sum / count;
+        double squares = 0;
+        for (int j = from; j <= to; j++) {
+            double d = values[j] - mean;
+            squares += d * d;
+        }
+        return squares / count;
+    }
+
+    /**
+     * {@code middle + k * deviation}, element wise. Use a negative {@code k} for the lower band.
+     */
+    public static double[] band(double[] middle, double[] deviation, int size, double k) {
+        double[] out = new double[size];
+        for (int i = 0; i < size; i++) {
+            out[i] = middle[i] + deviation[i] * k;
+        }
+        return out;
+    }
+
+    /**
+     * Highest of the last {@code min(period, i + 1)} values, using a monotonic deque of indices.
+     */
+    public static double[] highest(double[] values, int size, int period) {
+        return extreme(values, size, period, true);
+    }
+
+    /**
+     * Lowest of the last {@code min(period, i + 1)} values, using a monotonic deque of indices.
+     */
+    public static double[] lowest(double[] values, int size, int period) {
+        return extreme(values, size, period, false);
+    }
+
+    private static double[] extreme(double[] values, int size, int period, boolean highest) {
+        double[] out = new double[size];
+        // Ring buffer deque; candidates are kept in decreasing (highest) or increasing (lowest) order
+        int capacity = Math.min(period, Math.max(size, 1));
+        int[] deque = new int[capacity];
+        int head = 0;
+        int length = 0;
+        for (int i = 0; i < size; i++) {
+            if (length > 0 && deque[head] <= i - period) {
+                head = (head + 1) % capacity;
+                length--;
+            }
+            double value = values[i];
+            while (length > 0) {
+                double last = values[deque[(head + length - 1) % capacity]];
+                if (highest ? last <= value : last >= value) {
+                    length--;
+                } else {
+                    break;
+                }
+            }
+            deque[(head + length) % capacity] = i;
+            length++;
+            out[i] = values[deque[head]];
+        }
+        return out;
+    }
+}
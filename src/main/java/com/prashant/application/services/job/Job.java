@@ -0,0 +1,256 @@
+package com.prashant.application.services.job;
+
+import com.prashant.application.dto.strategy.BacktestResult;
+import com.prashant.application.dto.strategy.JobStatus;
+import com.prashant.application.dto.strategy.OptimizationResult;
+import com.prashant.application.dto.strategy.PortfolioResult;
+import com.prashant.application.dto.strategy.UniverseResult;
+import com.prashant.application.dto.strategy.UniverseRow;
+import com.prashant.application.dto.strategy.WalkForwardResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * A unit of work queued on the job executor. Jobs order by priority, then submission, so a priority queue starts
+ * interactive jobs first.
+ * <p>
+ * Cancelling a queued job finishes it at once. Cancelling a running job marks it cancelled and interrupts its
+ * thread: the work stops at its next {@link #checkCancelled()} or interruptible wait.
+ */
+public final class Job implements Runnable, Comparable<Job>, JobContext {
+
+    private final String id;
+    private final String kind;
+    private final JobPriority priority;
+    private final long sequence;
+    private final long submittedAt = System.currentTimeMillis();
+    private final long submittedNanos = System.nanoTime();
+    private final Consumer<Job> work;
+    private final Consumer<Job> started;
+    private final Consumer<Job> finished;
+    private final List<Consumer<JobStatus>> listeners = new CopyOnWriteArrayList<>();
+    private final List<UniverseRow> partialRows = new ArrayList<>();
+
+    private volatile JobState state = JobState.QUEUED;
+    private volatile boolean cancelled;
+    private volatile double progress;
+    private volatile String message = "Queued";
+    private volatile long startedNanos;
+    private volatile long finishedNanos;
+    private volatile BacktestResult backtest;
+    private volatile UniverseResult universe;
+    private volatile OptimizationResult optimization;
+    private volatile WalkForwardResult walkForward;
+    private volatile PortfolioResult portfolio;
+    private volatile String error;
+    private Thread runner; // guarded by this
+
+    /**
+     * @param work     fills in the job's result; may throw {@link CancellationException} once cancelled
+     * @param started  called on the worker thread when the job starts
+     * @param finished called once when the job finishes, whether it ran or was cancelled while queued
+     */
+    public Job(String id, String kind, JobPriority priority, long sequence, Consumer<Job> work,
+            Consumer<Job> started, Consumer<Job> finished) {
+        this.id = id;
+        this.kind = kind;
+        this.priority = priority;
+        this.sequence = sequence;
+        this.work = work;
+        this.started = started;
+        this.finished = finished;
+    }
+
+    @Override
+    public void run() {
+        synchronized (this) {
+            if (state != JobState.QUEUED) {
+                return;
+            }
+            state = JobState.RUNNING;
+            runner = Thread.currentThread();
+            startedNanos = System.nanoTime();
+        }
+        started.accept(this);
+        progress(0, "Started");
+        try {
+            work.accept(this);
+            finish(cancelled ? JobState.CANCELLED : JobState.SUCCEEDED, null);
+        } catch (CancellationException e) {
+            finish(JobState.CANCELLED, null);
+        } catch (RuntimeException e) {
+            finish(cancelled ? JobState.CANCELLED : JobState.FAILED, e.getMessage() != null ? e.getMessage()
+                    : e.toString());
+        } finally {
+            synchronized (this) {
+                runner = null;
+                // An interrupt meant for this job must not leak into the next one on the pooled thread
+                Thread.interrupted();
+            }
+        }
+    }
+
+    /**
+     * Cancels the job unless it has finished.
+     *
+     * @return whether the job was still queued, so the caller should also remove it from the queue
+     */
+    public boolean cancel() {
+        boolean wasQueued;
+        synchronized (this) {
+            if (state.isFinished() || cancelled) {
+                return false;
+            }
+            cancelled = true;
+            wasQueued = state == JobState.QUEUED;
+            if (runner != null) {
+                runner.interrupt();
+            }
+        }
+        if (wasQueued) {
+            finish(JobState.CANCELLED, null);
+        } else {
+            notifyListeners();
+        }
+        return wasQueued;
+    }
+
+    private void finish(JobState finalState, String failure) {
+        synchronized (this) {
+            if (state.isFinished()) {
+                return;
+            }
+            error = failure;
+            finishedNanos = System.nanoTime();
+            message = switch (finalState) {
+                case SUCCEEDED -> "Done";
+                case CANCELLED -> "Cancelled";
+                default -> "Failed";
+            };
+            if (finalState == JobState.SUCCEEDED) {
+                progress = 1;
+            }
+            state = finalState;
+        }
+        finished.accept(this);
+        notifyListeners();
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public void progress(double fraction, String message) {
+        this.progress = Math.max(0, Math.min(1, fraction));
+        this.message = message;
+        notifyListeners();
+    }
+
+    public void setBacktest(BacktestResult backtest) {
+        this.backtest = backtest;
+    }
+
+    public void setUniverse(UniverseResult universe) {
+        this.universe = universe;
+    }
+
+    public void setOptimization(OptimizationResult optimization) {
+        this.optimization = optimization;
+    }
+
+    public void setWalkForward(WalkForwardResult walkForward) {
+        this.walkForward = walkForward;
+    }
+
+    public void setPortfolio(PortfolioResult portfolio) {
+        this.portfolio = portfolio;
+    }
+
+    /**
+     * Publishes a finished row of a running universe job.
+     */
+    public void addRow(UniverseRow row) {
+        synchronized (partialRows) {
+            partialRows.add(row);
+        }
+    }
+
+    /**
+     * Registers a listener for status changes and returns the action that removes it again.
+     */
+    public Runnable subscribe(Consumer<JobStatus> listener) {
+        listeners.add(listener);
+        return () -> listeners.remove(listener);
+    }
+
+    private void notifyListeners() {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        JobStatus status = status();
+        for (Consumer<JobStatus> listener : listeners) {
+            listener.accept(status);
+        }
+    }
+
+    public JobStatus status() {
+        JobStatus status = new JobStatus();
+        status.setId(id);
+        status.setKind(kind);
+        status.setPriority(priority.name());
+        status.setState(state.name());
+        status.setProgress(progress);
+        status.setMessage(message);
+        status.setSubmittedAt(submittedAt);
+        status.setWaitMillis(waitMillis());
+        if (startedNanos != 0) {
+            status.setRunMillis(((finishedNanos != 0 ? finishedNanos : System.nanoTime()) - startedNanos) / 1_000_000);
+        }
+        status.setBacktest(backtest);
+        UniverseResult result = universe;
+        if (result == null && state == JobState.RUNNING && "UNIVERSE".equals(kind)) {
+            result = new UniverseResult();
+            synchronized (partialRows) {
+                result.getRows().addAll(partialRows);
+            }
+        }
+        status.setUniverse(result);
+        status.setOptimization(optimization);
+        status.setWalkForward(walkForward);
+        status.setPortfolio(portfolio);
+        status.setError(error);
+        return status;
+    }
+
+    /**
+     * Time spent queued: until the job started, or so far while it is still queued.
+     */
+    public long waitMillis() {
+        long until = startedNanos != 0 ? startedNanos : finishedNanos != 0 ? finishedNanos : System.nanoTime();
+        return (until - submittedNanos) / 1_000_000;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public JobPriority priority() {
+        return priority;
+    }
+
+    public JobState state() {
+        return state;
+    }
+
+    @Override
+    public int compareTo(Job other) {
+        int byPriority = priority.compareTo(other.priority);
+        return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+    }
+}
@@ -0,0 +1,77 @@
+package com.prashant.application.services.job;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * What long running work sees of the job it runs in: whether it was cancelled, and where to report progress.
+ */
+public interface JobContext {
+
+    /** Context of work that does not run as a job: never cancelled, progress is dropped. */
+    JobContext NONE = new JobContext() {
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+
+        @Override
+        public void progress(double fraction, String message) {
+        }
+    };
+
+    boolean isCancelled();
+
+    /**
+     * @param fraction share of the work done, from 0 to 1
+     */
+    void progress(double fraction, String message);
+
+    /**
+     * Stops the calling work with a {@link CancellationException} once the job is cancelled.
+     */
+    default void checkCancelled() {
+        if (isCancelled()) {
+            throw new CancellationException("Job cancelled");
+        }
+    }
+
+    /**
+     * This job's cancellation without its progress, for nested work whose own progress would overwrite the
+     * caller's.
+     */
+    default JobContext withoutProgress() {
+        JobContext job = this;
+        return new JobContext() {
+            @Override
+            public boolean isCancelled() {
+                return job.isCancelled();
+            }
+
+            @Override
+            public void progress(double fraction, String message) {
+            }
+        };
+    }
+
+    /**
+     * Waits for one of {@code all}; an interrupt, as when the job is cancelled, abandons every future still
+     * pending.
+     */
+    static <T> T await(CompletableFuture<T> future, List<? extends CompletableFuture<?>> all) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            all.forEach(pending -> pending.cancel(false));
+            throw new CancellationException("Job cancelled");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
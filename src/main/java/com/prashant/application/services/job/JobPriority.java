@@ -0,0 +1,20 @@
+package com.prashant.application.services.job;
+
+/**
+ * Queue priority of a job. Queued interactive jobs always start before queued batch jobs; jobs of the same
+ * priority start in submission order.
+ */
+public enum JobPriority {
+    INTERACTIVE,
+    BATCH;
+
+    /**
+     * Parses a request value such as {@code "batch"}, falling back to {@code fallback} when blank.
+     */
+    public static JobPriority from(String value, JobPriority fallback) {
+        if (value == null || value.isBlank()) {
+            return fallback;
+        }
+        return valueOf(value.trim().toUpperCase());
+    }
+}
@@ -0,0 +1,62 @@
+package com.prashant.application.services.metrics;
+
+/**
+ * Largest-Triangle-Three-Buckets downsampling (Steinarsson, 2013) of a series plotted against its index. The first
+ * and last points are kept; every bucket in between contributes the point that forms the largest triangle with the
+ * point kept before it and the average of the next bucket, which preserves peaks and troughs far better than
+ * taking every n-th point.
+ */
+public final class Lttb {
+
+    private Lttb() {
+    }
+
+    /**
+     * Ascending indices of at most {@code threshold} (at least 3) points of {@code values[0..count)} to keep; all
+     * of them when the series is not longer than that.
+     */
+    public static int[] select(double[] values, int count, int threshold) {
+        threshold = Math.max(threshold, 3);
+        if (count <= threshold) {
+            int[] all = new int[count];
+            for (int i = 0; i < count; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+
+        int[] selected = new int[threshold];
+        double every = (double) (count - 2) / (threshold - 2);
+        int a = 0;
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            // Average of the next bucket, the third corner of the triangles
+            int nextFrom = (int) ((bucket + 1) * every) + 1;
+            int nextTo = Math.min((int) ((bucket + 2) * every) + 1, count);
+            double averageX = 0;
+            double averageY = 0;
+            for (int i = nextFrom; i < nextTo; i++) {
+                averageX += i;
+                averageY += values[i];
+            }
+            averageX /= nextTo - nextFrom;
+            averageY /= nextTo - nextFrom;
+
+            int from = (int) (bucket * every) + 1;
+            int to = (int) ((bucket + 1) * every) + 1;
+            double ay = values[a];
+            double largest = -1;
+            int chosen = from;
+            for (int i = from; i < to; i++) {
+                double area = Math.abs((a - averageX) * (values[i] - ay) - (a - i) * (averageY - ay));
+                if (area > largest) {
+                    largest = area;
+                    chosen = i;
+                }
+            }
+            selected[bucket + 1] = chosen;
+            a = chosen;
+        }
+        selected[threshold - 1] = count - 1;
+        return selected;
+    }
+}
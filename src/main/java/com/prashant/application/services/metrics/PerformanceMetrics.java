@@ -0,0 +1,128 @@
+package com.prashant.application.services.metrics;
+
+import com.prashant.application.services.series.ColumnarBarSeries;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Position;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Equity based metrics of a run, computed in one pass over its bars and positions.
+ * <p>
+ * The account starts with {@code startingEquity} and puts all of its equity into each position, so trades compound
+ * as in the Monte Carlo simulation. Equity is marked to market at every bar's close; positions fill at their entry
+ * and exit net prices. Ratios use per-bar returns with a zero risk free rate and are annualized with the number of
+ * bars per year observed in the run, which suits any bar interval.
+ *
+ * @param finalEquity  equity after the last bar
+ * @param totalReturn  percent
+ * @param maxDrawdown  percent of the running peak
+ * @param cagr         compound annual growth rate, percent
+ * @param exposure     percent of bars that end with a position open
+ * @param profitFactor gross profit over gross loss of the trades, capped at {@link #MAX_PROFIT_FACTOR}
+ */
+public record PerformanceMetrics(double finalEquity, double totalReturn, double maxDrawdown, double sharpeRatio,
+        double sortinoRatio, double cagr, double exposure, double profitFactor) {
+
+    /** Profit factor of runs without losing trades, where the ratio itself would be infinite. */
+    public static final double MAX_PROFIT_FACTOR = 100;
+
+    private static final double SECONDS_PER_YEAR = 365.25 * 24 * 3600;
+
+    /**
+     * Metrics of bars {@code from..to} of {@code series} with the given closed positions, ordered by entry and
+     * within that range.
+     *
+     * @param curve receives the equity at each bar from {@code from} on when not {@code null}
+     */
+    public static PerformanceMetrics compute(BarSeries series, List<Position> positions, int from, int to,
+            double startingEquity, double[] curve) {
+        double[] closes = series instanceof ColumnarBarSeries columnar ? columnar.closeValues() : null;
+        int bars = to - from + 1;
+        if (bars <= 0) {
+            return new PerformanceMetrics(startingEquity, 0, 0, 0, 0, 0, 0, 0);
+        }
+
+        double cash = startingEquity;
+        double shares = 0;
+        double entryEquity = 0;
+        double exitPrice = 0;
+        int exitIndex = -1; // exit bar of the open position, -1 when flat
+        int next = 0;
+        int inMarket = 0;
+        double grossProfit = 0;
+        double grossLoss = 0;
+
+        double previous = startingEquity;
+        double peak = startingEquity;
+        double maxDrawdown = 0;
+        double sum = 0;
+        double sumSquares = 0;
+        double downsideSquares = 0;
+
+        for (int i = from; i <= to; i++) {
+            double equity;
+            while (exitIndex < 0 && next < positions.size() && positions.get(next).getEntry().getIndex() < i) {
+                next++; // entered before the range
+            }
+            if (exitIndex < 0 && next < positions.size() && positions.get(next).getEntry().getIndex() == i) {
+                Position position = positions.get(next++);
+                entryEquity = cash;
+                shares = cash / position.getEntry().getNetPrice().doubleValue();
+                exitIndex = position.getExit().getIndex();
+                exitPrice = position.getExit().getNetPrice().doubleValue();
+            }
+            if (exitIndex == i) {
+                cash = shares * exitPrice;
+                double profit = cash - entryEquity;
+                if (profit > 0) {
+                    grossProfit += profit;
+                } else {
+                    grossLoss -= profit;
+                }
+                shares = 0;
+                exitIndex = -1;
+                equity = cash;
+            } else if (exitIndex >= 0) {
+                equity = shares * (closes != null ? closes[i] : series.getBar(i).getClosePrice().doubleValue());
+                inMarket++;
+            } else {
+                equity = cash;
+            }
+
+            double r = equity / previous - 1;
+            sum += r;
+            sumSquares += r * r;
+            if (r < 0) {
+                downsideSquares += r * r;
+            }
+            previous = equity;
+            peak = Math.max(peak, equity);
+            maxDrawdown = Math.max(maxDrawdown, 1 - equity / peak);
+            if (curve != null) {
+                curve[i - from] = equity;
+            }
+        }
+
+        double mean = sum / bars;
+        double variance = bars > 1 ? Math.max(0, (sumSquares - sum * mean) / (bars - 1)) : 0;
+        double downside = Math.sqrt(downsideSquares / bars);
+        double years = years(series, from, to);
+        double annualization = years > 0 ? Math.sqrt(bars / years) : 1;
+        double growth = previous / startingEquity;
+
+        double sharpe = variance > 0 ? mean / Math.sqrt(variance) * annualization : 0;
+        double sortino = downside > 0 ? mean / downside * annualization : 0;
+        double cagr = years > 0 && growth > 0 ? (Math.pow(growth, 1 / years) - 1) * 100 : 0;
+        double profitFactor = grossLoss > 0 ? Math.min(MAX_PROFIT_FACTOR, grossProfit / grossLoss)
+                : grossProfit > 0 ? MAX_PROFIT_FACTOR : 0;
+        return new PerformanceMetrics(previous, (growth - 1) * 100, maxDrawdown * 100, sharpe, sortino, cagr,
+                100.0 * inMarket / bars, profitFactor);
+    }
+
+    private static double years(BarSeries series, int from, int to) {
+        Duration span = Duration.between(series.getBar(from).getBeginTime(), series.getBar(to).getEndTime());
+        return span.toSeconds() / SECONDS_PER_YEAR;
+    }
+}
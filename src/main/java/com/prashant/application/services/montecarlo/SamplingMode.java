@@ -0,0 +1,21 @@
+package com.prashant.application.services.montecarlo;
+
+/**
+ * How a Monte Carlo iteration reorders the trades of a backtest.
+ */
+public enum SamplingMode {
+    /** Draws as many trades as the backtest had, with replacement: final equity and drawdowns vary. */
+    RESAMPLE,
+    /** Permutes all trades: final equity is that of the backtest, drawdowns and streaks vary. */
+    SHUFFLE;
+
+    /**
+     * Parses a configured value such as {@code "shuffle"}, falling back to {@link #RESAMPLE} when blank.
+     */
+    public static SamplingMode from(String value) {
+        if (value == null || value.isBlank()) {
+            return RESAMPLE;
+        }
+        return valueOf(value.trim().toUpperCase());
+    }
+}
@@ -0,0 +1,116 @@
+package com.prashant.application.services.montecarlo;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Replays trade returns in random orders, compounding each sequence from an equity of 1. Outcomes are written to
+ * one primitive array per quantity, indexed by iteration, so iterations allocate nothing and disjoint iteration
+ * ranges can run on different threads.
+ */
+public final class TradeSimulation {
+
+    private final double[] returns;
+    private final SamplingMode mode;
+    private final double[] finalEquity;
+    private final double[] maxDrawdown;
+    private final int[] losingStreak;
+
+    /**
+     * @param returns fractional return of each trade, e.g. {@code 0.02} for a 2% gain
+     */
+    public TradeSimulation(double[] returns, SamplingMode mode, int iterations) {
+        this.returns = returns;
+        this.mode = mode;
+        this.finalEquity = new double[iterations];
+        this.maxDrawdown = new double[iterations];
+        this.losingStreak = new int[iterations];
+    }
+
+    public int iterations() {
+        return finalEquity.length;
+    }
+
+    /**
+     * Runs iterations {@code from} (inclusive) to {@code to} (exclusive) with the given generator.
+     */
+    public void run(int from, int to, SplittableRandom random) {
+        int n = returns.length;
+        // Shuffles permute one copy per range in place; each permutation starts from the previous one
+        double[] order = mode == SamplingMode.SHUFFLE ? returns.clone() : null;
+        for (int iteration = from; iteration < to; iteration++) {
+            if (order != null) {
+                for (int i = n - 1; i > 0; i--) {
+                    int j = random.nextInt(i + 1);
+                    double swap = order[i];
+                    order[i] = order[j];
+                    order[j] = swap;
+                }
+            }
+            double equity = 1;
+            double peak = 1;
+            double drawdown = 0;
+            int streak = 0;
+            int longest = 0;
+            for (int i = 0; i < n; i++) {
+                double r = order != null ? order[i] : returns[random.nextInt(n)];
+                equity *= 1 + r;
+                if (equity > peak) {
+                    peak = equity;
+                } else {
+                    drawdown = Math.max(drawdown, 1 - equity / peak);
+                }
+                // Break-even trades count as losing, as in the backtest summary
+                streak = r > 0 ? 0 : streak + 1;
+                longest = Math.max(longest, streak);
+            }
+            finalEquity[iteration] = equity;
+            maxDrawdown[iteration] = drawdown;
+            losingStreak[iteration] = longest;
+        }
+    }
+
+    /**
+     * Final equity of each iteration, as a multiple of the starting equity.
+     */
+    public double[] finalEquity() {
+        return finalEquity;
+    }
+
+    /**
+     * Largest fall from a running peak of each iteration, as a fraction of that peak.
+     */
+    public double[] maxDrawdown() {
+        return maxDrawdown;
+    }
+
+    /**
+     * Longest run of losing trades of each iteration.
+     */
+    public int[] losingStreak() {
+        return losingStreak;
+    }
+
+    /**
+     * Nearest-rank percentile of an ascending array.
+     */
+    public static double percentile(double[] sorted, double percent) {
+        int rank = (int) Math.ceil(percent / 100 * sorted.length);
+        return sorted[Math.min(sorted.length - 1, Math.max(0, rank - 1))];
+    }
+
+    public static double[] sorted(int[] values) {
+        double[] sorted = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            sorted[i] = values[i];
+        }
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    public static double[] sorted(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted;
+    }
+}
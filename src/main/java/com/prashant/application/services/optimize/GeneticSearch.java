@@ -0,0 +1,166 @@
+package com.prashant.application.services.optimize;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Evolutionary search over a {@link ParameterGrid} for grids too large to backtest exhaustively.
+ * <p>
+ * A genome holds one value position per range. Each generation keeps the best genomes unchanged, breeds the rest
+ * by tournament selection, uniform crossover and mutation, and scores all genomes it has not seen before in one
+ * batch. Scores are memoised by combination number, so no genome is backtested twice. All random choices are made
+ * on the calling thread from one seeded {@link Random}, and ties are broken by combination number, so a fixed seed
+ * gives the same result however the batches are evaluated.
+ */
+public final class GeneticSearch {
+
+    private static final int TOURNAMENT = 3;
+    private static final double CROSSOVER_RATE = 0.9;
+    private static final int UNSEEN_ATTEMPTS = 5;
+
+    private final ParameterGrid grid;
+    private final int[] sizes;
+    private final Random random;
+    private final int population;
+    private final int generations;
+    private final int elites;
+    private final Map<Long, Double> scores = new HashMap<>();
+
+    public GeneticSearch(ParameterGrid grid, long seed, int population, int generations) {
+        if (population < 2 || generations < 1) {
+            throw new IllegalArgumentException("Genetic search needs a population of at least 2 and 1 generation");
+        }
+        this.grid = grid;
+        this.sizes = grid.sizes();
+        this.random = new Random(seed);
+        this.population = population;
+        this.generations = generations;
+        this.elites = Math.max(1, population / 10);
+    }
+
+    /**
+     * Runs the search.
+     *
+     * @param evaluate scores a batch of combination numbers, NaN for combinations that failed; called once per
+     *                 generation with only unseen combinations
+     * @return score of every combination evaluated, by combination number
+     */
+    public Map<Long, Double> run(Function<long[], double[]> evaluate) {
+        List<int[]> current = new ArrayList<>();
+        for (int i = 0; i < population; i++) {
+            current.add(randomGenome());
+        }
+        for (int generation = 0; generation < generations; generation++) {
+            score(current, evaluate);
+            if (generation == generations - 1) {
+                break;
+            }
+            current.sort(Comparator.comparingDouble(this::fitness).reversed().thenComparingLong(grid::index));
+            List<int[]> next = new ArrayList<>(current.subList(0, Math.min(elites, current.size())));
+            while (next.size() < population) {
+                next.add(offspring(current));
+            }
+            current = next;
+        }
+        return scores;
+    }
+
+    private void score(List<int[]> genomes, Function<long[], double[]> evaluate) {
+        Set<Long> unseen = new LinkedHashSet<>();
+        for (int[] genome : genomes) {
+            long index = grid.index(genome);
+            if (!scores.containsKey(index)) {
+                unseen.add(index);
+            }
+        }
+        long[] batch = unseen.stream().mapToLong(Long::longValue).toArray();
+        if (batch.length == 0) {
+            return;
+        }
+        double[] batchScores = evaluate.apply(batch);
+        for (int i = 0; i < batch.length; i++) {
+            scores.put(batch[i], batchScores[i]);
+        }
+    }
+
+    private double fitness(int[] genome) {
+        double score = scores.get(grid.index(genome));
+        return Double.isNaN(score) ? Double.NEGATIVE_INFINITY : score;
+    }
+
+    /**
+     * A child of two tournament winners, mutated until it is a genome not scored before where possible.
+     */
+    private int[] offspring(List<int[]> ranked) {
+        int[] first = tournament(ranked);
+        int[] second = tournament(ranked);
+        int[] child = first.clone();
+        if (random.nextDouble() < CROSSOVER_RATE) {
+            for (int g = 0; g < child.length; g++) {
+                if (random.nextBoolean()) {
+                    child[g] = second[g];
+                }
+            }
+        }
+        mutate(child);
+        for (int attempt = 0; attempt < UNSEEN_ATTEMPTS && scores.containsKey(grid.index(child)); attempt++) {
+            mutate(child);
+        }
+        return child;
+    }
+
+    private int[] tournament(List<int[]> ranked) {
+        // Ranked best first, so the lowest of a few random positions is the fittest contender
+        int best = random.nextInt(ranked.size());
+        for (int i = 1; i < TOURNAMENT; i++) {
+            best = Math.min(best, random.nextInt(ranked.size()));
+        }
+        return ranked.get(best);
+    }
+
+    /**
+     * Changes each gene with probability {@code 1 / genes}, and at least one: half of the time a small step to a
+     * neighbouring value, otherwise any value of the range.
+     */
+    private void mutate(int[] genome) {
+        boolean changed = false;
+        for (int g = 0; g < genome.length; g++) {
+            if (random.nextInt(genome.length) == 0) {
+                changed |= mutateGene(genome, g);
+            }
+        }
+        if (!changed) {
+            mutateGene(genome, random.nextInt(genome.length));
+        }
+    }
+
+    private boolean mutateGene(int[] genome, int gene) {
+        int size = sizes[gene];
+        if (size == 1) {
+            return false;
+        }
+        int before = genome[gene];
+        if (random.nextBoolean()) {
+            int step = 1 + random.nextInt(Math.max(1, size / 10));
+            genome[gene] = Math.clamp(before + (random.nextBoolean() ? step : -step), 0, size - 1);
+        } else {
+            genome[gene] = random.nextInt(size);
+        }
+        return genome[gene] != before;
+    }
+
+    private int[] randomGenome() {
+        int[] genome = new int[sizes.length];
+        for (int g = 0; g < genome.length; g++) {
+            genome[g] = random.nextInt(sizes[g]);
+        }
+        return genome;
+    }
+}
@@ -0,0 +1,38 @@
+package com.prashant.application.services.optimize;
+
+import com.prashant.application.dto.strategy.BacktestResult;
+
+/**
+ * What an optimization maximises.
+ */
+public enum Objective {
+    PROFIT_LOSS,
+    WIN_RATE,
+    AVERAGE_PROFIT,
+    SHARPE_RATIO,
+    SORTINO_RATIO,
+    CAGR,
+    PROFIT_FACTOR;
+
+    public double score(BacktestResult result) {
+        return switch (this) {
+            case PROFIT_LOSS -> result.getProfitLoss();
+            case WIN_RATE -> result.getWinRate();
+            case AVERAGE_PROFIT -> result.getTotalTrades() > 0 ? result.getProfitLoss() / result.getTotalTrades() : 0;
+            case SHARPE_RATIO -> result.getSharpeRatio();
+            case SORTINO_RATIO -> result.getSortinoRatio();
+            case CAGR -> result.getCagr();
+            case PROFIT_FACTOR -> result.getProfitFactor();
+        };
+    }
+
+    /**
+     * Parses a request value such as {@code "win_rate"}, falling back to {@link #PROFIT_LOSS} when blank.
+     */
+    public static Objective from(String value) {
+        if (value == null || value.isBlank()) {
+            return PROFIT_LOSS;
+        }
+        return valueOf(value.trim().toUpperCase());
+    }
+}
@@ -0,0 +1,286 @@
+package com.prashant.application.services.optimize;
+
+import com.prashant.application.dto.strategy.ParameterRange;
+import com.prashant.application.dto.strategy.RuleConfig;
+import com.prashant.application.dto.strategy.RuleParam;
+import com.prashant.application.dto.strategy.RulesConfig;
+import com.prashant.application.dto.strategy.StrategyRequest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cartesian product of parameter ranges over a base strategy. Combinations are numbered so that the last range
+ * varies fastest: neighbouring combinations differ in as few indicators as possible.
+ */
+public final class ParameterGrid {
+
+    private final StrategyRequest base;
+    private final List<ParameterRange> ranges;
+    private final BigDecimal[] froms;
+    private final BigDecimal[] steps;
+    private final int[] counts;
+    private final long size;
+
+    public ParameterGrid(StrategyRequest base, List<ParameterRange> ranges) {
+        this(base, ranges, Long.MAX_VALUE);
+    }
+
+    /**
+     * Grid of at most {@code maxSize} combinations. Values are computed when a combination is asked for, so a
+     * grid only searched in part, as by {@link GeneticSearch}, may be far larger than what is evaluated.
+     *
+     * @throws IllegalArgumentException when a range is invalid or the grid has more than {@code maxSize}
+     *                                  combinations
+     */
+    public ParameterGrid(StrategyRequest base, List<ParameterRange> ranges, long maxSize) {
+        if (ranges == null || ranges.isEmpty()) {
+            throw new IllegalArgumentException("At least one parameter range is required");
+        }
+        this.base = base;
+        this.ranges = List.copyOf(ranges);
+        this.froms = new BigDecimal[ranges.size()];
+        this.steps = new BigDecimal[ranges.size()];
+        this.counts = new int[ranges.size()];
+        long combinations = 1;
+        for (int r = 0; r < ranges.size(); r++) {
+            ParameterRange range = ranges.get(r);
+            rule(base, range.getRule()); // fails early on an unknown rule
+            if (!Double.isFinite(range.getFrom()) || !Double.isFinite(range.getTo())
+                    || !(range.getStep() > 0) || range.getStep() == Double.POSITIVE_INFINITY
+                    || range.getTo() < range.getFrom()) {
+                throw new IllegalArgumentException("Invalid range for " + label(range) + ": " + range.getFrom()
+                        + ".." + range.getTo() + " step " + range.getStep());
+            }
+            // Decimal steps, so 0.1 + 0.2 is 0.3 and the end of the range is not lost to rounding
+            froms[r] = BigDecimal.valueOf(range.getFrom());
+            steps[r] = BigDecimal.valueOf(range.getStep());
+            BigDecimal count = BigDecimal.valueOf(range.getTo()).subtract(froms[r]).divideToIntegralValue(steps[r])
+                    .add(BigDecimal.ONE);
+            if (count.compareTo(BigDecimal.valueOf(Math.min(maxSize, Integer.MAX_VALUE))) > 0) {
+                throw new IllegalArgumentException("Too many values for " + label(range) + ": " + count.toPlainString()
+                        + " (at most " + Math.min(maxSize, Integer.MAX_VALUE) + ")");
+            }
+            counts[r] = count.intValue();
+            try {
+                combinations = Math.multiplyExact(combinations, counts[r]);
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException("Too many combinations: more than " + maxSize);
+            }
+            if (combinations > maxSize) {
+                throw new IllegalArgumentException("Too many combinations: more than " + maxSize);
+            }
+        }
+        this.size = combinations;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public int dimensions() {
+        return counts.length;
+    }
+
+    /**
+     * Number of values of each range.
+     */
+    public int[] sizes() {
+        return counts.clone();
+    }
+
+    /**
+     * Combination number of the given value positions, one per range; the inverse of {@link #point(long)}.
+     */
+    public long index(int[] positions) {
+        long index = 0;
+        for (int r = 0; r < counts.length; r++) {
+            index = index * counts[r] + positions[r];
+        }
+        return index;
+    }
+
+    /**
+     * Values of combination {@code index}, one per range.
+     */
+    public double[] point(long index) {
+        double[] point = new double[counts.length];
+        for (int r = counts.length - 1; r >= 0; r--) {
+            point[r] = value(r, (int) (index % counts[r]));
+            index /= counts[r];
+        }
+        return point;
+    }
+
+    private double value(int range, int position) {
+        return froms[range].add(steps[range].multiply(BigDecimal.valueOf(position))).doubleValue();
+    }
+
+    /**
+     * Copy of the base strategy with the given values applied; the base is not modified.
+     */
+    public StrategyRequest apply(double[] point) {
+        StrategyRequest request = copy(base);
+        for (int r = 0; r < ranges.size(); r++) {
+            ParameterRange range = ranges.get(r);
+            RuleConfig rule = rule(request, range.getRule());
+            String value = format(point[r]);
+            if (range.getParam() == null || range.getParam().isBlank()) {
+                rule.setValue(value);
+            } else if (range.isCompare()) {
+                rule.setCompareParams(withParam(rule.getCompareParams(), range.getParam(), value));
+            } else {
+                rule.setParams(withParam(rule.getParams(), range.getParam(), value));
+            }
+        }
+        return request;
+    }
+
+    /**
+     * Copy of the base strategy with values given as by {@link #describe(double[])}.
+     */
+    public StrategyRequest apply(Map<String, String> parameters) {
+        double[] point = new double[ranges.size()];
+        for (int r = 0; r < ranges.size(); r++) {
+            String value = parameters.get(label(ranges.get(r)));
+            if (value == null) {
+                throw new IllegalArgumentException("Missing parameter " + label(ranges.get(r)));
+            }
+            point[r] = Double.parseDouble(value);
+        }
+        return apply(point);
+    }
+
+    /**
+     * The combination as {@code label -> value}, e.g. {@code entry.0.period -> 20}.
+     */
+    public Map<String, String> describe(double[] point) {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        for (int r = 0; r < ranges.size(); r++) {
+            parameters.put(label(ranges.get(r)), format(point[r]));
+        }
+        return parameters;
+    }
+
+    private static String label(ParameterRange range) {
+        if (range.getParam() == null || range.getParam().isBlank()) {
+            return range.getRule() + ".value";
+        }
+        return range.getRule() + (range.isCompare() ? ".compare." : ".") + range.getParam();
+    }
+
+    /**
+     * Whole numbers without a fraction, since integer parameters are parsed with {@code Integer.parseInt}.
+     */
+    static String format(double value) {
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+    }
+
+    private static List<RuleParam> withParam(List<RuleParam> params, String name, String value) {
+        List<RuleParam> result = params != null ? params : new ArrayList<>();
+        for (RuleParam param : result) {
+            if (name.equalsIgnoreCase(param.getName())) {
+                param.setValue(value);
+                return result;
+            }
+        }
+        RuleParam param = new RuleParam();
+        param.setName(name);
+        param.setValue(value);
+        result.add(param);
+        return result;
+    }
+
+    private static RuleConfig rule(StrategyRequest request, String path) {
+        String[] parts = path == null ? new String[0] : path.split("\\.");
+        if (parts.length < 2) {
+            throw new IllegalArgumentException("Unknown rule: " + path);
+        }
+        RulesConfig group = switch (parts[0].toLowerCase()) {
+            case "entry" -> request.getEntry();
+            case "exit" -> request.getExit();
+            default -> throw new IllegalArgumentException("Unknown rule: " + path);
+        };
+        List<RuleConfig> rules = group != null ? group.getRules() : null;
+        RuleConfig rule = null;
+        for (int i = 1; i < parts.length; i++) {
+            int index;
+            try {
+                index = Integer.parseInt(parts[i]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Unknown rule: " + path);
+            }
+            if (rules == null || index < 0 || index >= rules.size()) {
+                throw new IllegalArgumentException("Unknown rule: " + path);
+            }
+            rule = rules.get(index);
+            rules = rule.getRules();
+        }
+        return rule;
+    }
+
+    private static StrategyRequest copy(StrategyRequest source) {
+        StrategyRequest copy = new StrategyRequest();
+        copy.setStockSymbol(source.getStockSymbol());
+        copy.setRange(source.getRange());
+        copy.setInterval(source.getInterval());
+        copy.setStrategyId(source.getStrategyId());
+        copy.setStrategyName(source.getStrategyName());
+        copy.setPrecision(source.getPrecision());
+        copy.setMaxPoints(source.getMaxPoints());
+        copy.setEntry(copy(source.getEntry()));
+        copy.setExit(copy(source.getExit()));
+        return copy;
+    }
+
+    private static RulesConfig copy(RulesConfig source) {
+        if (source == null) {
+            return null;
+        }
+        RulesConfig copy = new RulesConfig();
+        copy.setCondition(source.getCondition());
+        copy.setRules(copyRules(source.getRules()));
+        return copy;
+    }
+
+    private static List<RuleConfig> copyRules(List<RuleConfig> source) {
+        if (source == null) {
+            return null;
+        }
+        List<RuleConfig> copy = new ArrayList<>(source.size());
+        for (RuleConfig rule : source) {
+            RuleConfig ruleCopy = new RuleConfig();
+            ruleCopy.setIndicator(rule.getIndicator());
+            ruleCopy.setParams(copyParams(rule.getParams()));
+            ruleCopy.setOperator(rule.getOperator());
+            ruleCopy.setCompareType(rule.getCompareType());
+            ruleCopy.setValue(rule.getValue());
+            ruleCopy.setCompareIndicator(rule.getCompareIndicator());
+            ruleCopy.setCompareParams(copyParams(rule.getCompareParams()));
+            ruleCopy.setCondition(rule.getCondition());
+            ruleCopy.setRules(copyRules(rule.getRules()));
+            copy.add(ruleCopy);
+        }
+        return copy;
+    }
+
+    private static List<RuleParam> copyParams(List<RuleParam> source) {
+        if (source == null) {
+            return null;
+        }
+        List<RuleParam> copy = new ArrayList<>(source.size());
+        for (RuleParam param : source) {
+            RuleParam paramCopy = new RuleParam();
+            paramCopy.setName(param.getName());
+            paramCopy.setValue(param.getValue());
+            copy.add(paramCopy);
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,168 @@
+package com.prashant.application.services.plan;
+
+import com.prashant.application.services.indicator.IndicatorSpec;
+import com.prashant.application.services.indicator.SharedClosePriceIndicator;
+import com.prashant.application.services.rules.ComparisonRule;
+import com.prashant.application.services.rules.RuleOperator;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.Rule;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.rules.BooleanRule;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Node of a compiled rule tree. Nodes are immutable and hold no series state, so one tree can be bound to any
+ * number of series.
+ */
+public sealed interface PlanNode permits PlanNode.Group, PlanNode.Comparison {
+
+    /**
+     * Builds the ta4j rule for this node, creating its indicators on {@code closePrice}'s series.
+     */
+    Rule bind(SharedClosePriceIndicator closePrice);
+
+    /**
+     * Estimated work per bar to evaluate this node, with AND/OR groups stopping at the first child that decides
+     * them.
+     */
+    double cost();
+
+    /**
+     * Estimated share of bars on which this node is satisfied.
+     */
+    double selectivity();
+
+    /**
+     * Equivalent node whose AND/OR children are reordered, cheapest and most likely to decide the group first.
+     * Children of a group are independent rules without side effects, so any order gives the same result.
+     */
+    PlanNode ordered();
+
+    /**
+     * Rules joined by one operator, all AND or all OR, evaluated left to right until one decides the group.
+     */
+    record Group(boolean or, List<PlanNode> children) implements PlanNode {
+
+        private static final double MIN_SELECTIVITY = 0.01;
+        private static final double MAX_SELECTIVITY = 0.99;
+
+        public Group {
+            children = List.copyOf(children);
+        }
+
+        /**
+         * {@code left op right}, merged into {@code left} or {@code right} where they are groups of the same
+         * operator.
+         */
+        public static Group join(boolean or, PlanNode left, PlanNode right) {
+            List<PlanNode> children = new ArrayList<>();
+            for (PlanNode node : List.of(left, right)) {
+                if (node instanceof Group group && group.or == or && !group.children.isEmpty()) {
+                    children.addAll(group.children);
+                } else {
+                    children.add(node);
+                }
+            }
+            return new Group(or, children);
+        }
+
+        @Override
+        public Rule bind(SharedClosePriceIndicator closePrice) {
+            if (children.isEmpty()) {
+                return new BooleanRule(false);
+            }
+            Rule combined = children.get(0).bind(closePrice);
+            for (int i = 1; i < children.size(); i++) {
+                Rule current = children.get(i).bind(closePrice);
+                combined = or ? combined.or(current) : combined.and(current);
+            }
+            return combined;
+        }
+
+        @Override
+        public double cost() {
+            double cost = 0;
+            double reached = 1;
+            for (PlanNode child : children) {
+                cost += reached * child.cost();
+                reached *= or ? 1 - child.selectivity() : child.selectivity();
+            }
+            return cost;
+        }
+
+        @Override
+        public double selectivity() {
+            if (children.isEmpty()) {
+                return 0;
+            }
+            double all = 1;
+            for (PlanNode child : children) {
+                all *= or ? 1 - child.selectivity() : child.selectivity();
+            }
+            return or ? 1 - all : all;
+        }
+
+        @Override
+        public PlanNode ordered() {
+            List<PlanNode> sorted = new ArrayList<>(children.size());
+            for (PlanNode child : children) {
+                sorted.add(child.ordered());
+            }
+            // Classic ordering for short-circuit evaluation: cost per chance of deciding the group, ties keep the
+            // builder's order
+            sorted.sort(Comparator.comparingDouble(this::rank));
+            return new Group(or, sorted);
+        }
+
+        private double rank(PlanNode child) {
+            double selectivity = Math.clamp(child.selectivity(), MIN_SELECTIVITY, MAX_SELECTIVITY);
+            return child.cost() / (or ? selectivity : 1 - selectivity);
+        }
+    }
+
+    /**
+     * {@code left operator right}, where the right side is an indicator or, when {@code right} is {@code null}, the
+     * constant {@code value}.
+     */
+    record Comparison(IndicatorSpec left, RuleOperator operator, IndicatorSpec right, double value)
+            implements PlanNode {
+
+        @Override
+        public double cost() {
+            return left.cost() + (right != null ? right.cost() : 0);
+        }
+
+        /**
+         * Without data only the operator is known: crosses and equality hold on few bars, orderings on about half.
+         */
+        @Override
+        public double selectivity() {
+            return switch (operator) {
+                case CROSSES_UP, CROSSES_DOWN -> 0.05;
+                case EQUAL -> 0.02;
+                default -> 0.5;
+            };
+        }
+
+        @Override
+        public PlanNode ordered() {
+            return this;
+        }
+
+        @Override
+        public Rule bind(SharedClosePriceIndicator closePrice) {
+            Indicator<Num> leftIndicator = left.create(closePrice);
+            if (right == null) {
+                Num numValue = closePrice.getBarSeries().numFactory().numOf(value);
+                return new ComparisonRule(leftIndicator, operator, null, numValue, cost(),
+                        operator.rule(leftIndicator, numValue));
+            }
+            Indicator<Num> rightIndicator = right.create(closePrice);
+            return new ComparisonRule(leftIndicator, operator, rightIndicator, null, cost(),
+                    operator.rule(leftIndicator, rightIndicator));
+        }
+    }
+}
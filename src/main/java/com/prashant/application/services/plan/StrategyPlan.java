@@ -0,0 +1,52 @@
+package com.prashant.application.services.plan;
+
+import com.prashant.application.services.indicator.SharedClosePriceIndicator;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseStrategy;
+import org.ta4j.core.Rule;
+import org.ta4j.core.Strategy;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * A strategy compiled once from its request: indicator names and parameters resolved, operators parsed and values
+ * converted. Plans are immutable and thread safe; {@link #bind(BarSeries)} turns one into a runnable strategy on a
+ * series without touching the request again.
+ *
+ * @param key canonical text of the rule tree; requests that only differ in spelling (indicator aliases, parameter
+ *            order or case, {@code 30} vs {@code 30.0}) have the same key
+ */
+public record StrategyPlan(PlanNode entry, PlanNode exit, String key) {
+
+    public static final String STRATEGY_NAME = "GeneratedStrategy";
+
+    public Strategy bind(BarSeries series) {
+        // One close price per series owns every indicator of the entry/exit tree, so equal indicators are shared
+        return bind(new SharedClosePriceIndicator(series));
+    }
+
+    /**
+     * Binds the plan to {@code closePrice}'s series, reusing the indicators already built on it. Strategies bound to
+     * the same close price must be run by one thread at a time.
+     */
+    public Strategy bind(SharedClosePriceIndicator closePrice) {
+        Rule entryRule = entry.bind(closePrice);
+        Rule exitRule = exit.bind(closePrice);
+        return new BaseStrategy(STRATEGY_NAME, entryRule, exitRule);
+    }
+
+    /**
+     * SHA-256 of {@link #key()} as lower case hex, a short stable identifier of the rule tree.
+     */
+    public String hash() {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
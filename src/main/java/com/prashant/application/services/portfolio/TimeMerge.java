@@ -0,0 +1,115 @@
+package com.prashant.application.services.portfolio;
+
+/**
+ * K-way merge of the ascending time columns of many symbols into one time axis. A binary min-heap of symbol ids,
+ * keyed by the time of each symbol's next bar, yields every distinct time once together with the symbols that
+ * have a bar at it; nothing is allocated per bar.
+ */
+public final class TimeMerge {
+
+    private final long[][] times;
+    private final int[] sizes;
+    private final int[] cursor;
+    private final int[] heap;
+    private int heapSize;
+    private long time;
+
+    /**
+     * @param times time column of each symbol, ascending
+     * @param sizes number of bars used of each column
+     */
+    public TimeMerge(long[][] times, int[] sizes) {
+        this.times = times;
+        this.sizes = sizes;
+        this.cursor = new int[times.length];
+        this.heap = new int[times.length];
+        for (int symbol = 0; symbol < times.length; symbol++) {
+            if (sizes[symbol] > 0) {
+                heap[heapSize] = symbol;
+                siftUp(heapSize++);
+            }
+        }
+    }
+
+    public boolean hasNext() {
+        return heapSize > 0;
+    }
+
+    /**
+     * Moves to the next time and writes the symbols with a bar at it to {@code symbols}.
+     *
+     * @return the number of symbols written
+     */
+    public int next(int[] symbols) {
+        time = key(heap[0]);
+        int count = 0;
+        while (heapSize > 0 && key(heap[0]) == time) {
+            int symbol = heap[0];
+            symbols[count++] = symbol;
+            cursor[symbol]++;
+            if (cursor[symbol] < sizes[symbol]) {
+                siftDown(0);
+            } else {
+                heap[0] = heap[--heapSize];
+                siftDown(0);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Time of the bars returned by the last {@link #next(int[])}.
+     */
+    public long time() {
+        return time;
+    }
+
+    /**
+     * Index of the symbol's bar returned by the last {@link #next(int[])} that included the symbol.
+     */
+    public int index(int symbol) {
+        return cursor[symbol] - 1;
+    }
+
+    private long key(int symbol) {
+        return times[symbol][cursor[symbol]];
+    }
+
+    private boolean less(int a, int b) {
+        long ka = key(heap[a]);
+        long kb = key(heap[b]);
+        return ka < kb || ka == kb && heap[a] < heap[b];
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!less(i, parent)) {
+                return;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= heapSize) {
+                return;
+            }
+            int smallest = left + 1 < heapSize && less(left + 1, left) ? left + 1 : left;
+            if (!less(smallest, i)) {
+                return;
+            }
+            swap(i, smallest);
+            i = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int symbol = heap[a];
+        heap[a] = heap[b];
+        heap[b] = symbol;
+    }
+}
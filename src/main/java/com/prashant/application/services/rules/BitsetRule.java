@@ -0,0 +1,28 @@
+package com.prashant.application.services.rules;
+
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.rules.AbstractRule;
+
+/**
+ * Rule whose outcome for every bar was computed up front by {@link RuleBitsets}.
+ */
+public class BitsetRule extends AbstractRule {
+
+    private final long[] bits;
+
+    public BitsetRule(long[] bits) {
+        this.bits = bits;
+    }
+
+    @Override
+    public boolean isSatisfied(int index, TradingRecord tradingRecord) {
+        return RuleBitsets.get(bits, index);
+    }
+
+    /**
+     * One bit per bar, bar {@code i} at bit {@code i % 64} of word {@code i / 64}. Must not be modified.
+     */
+    public long[] bits() {
+        return bits;
+    }
+}
@@ -0,0 +1,76 @@
+package com.prashant.application.services.rules;
+
+import org.ta4j.core.Indicator;
+import org.ta4j.core.Rule;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.rules.AbstractRule;
+
+/**
+ * Leaf rule of a parsed strategy: {@code left operator right}, where the right side is either an indicator or a
+ * constant. Delegates to the equivalent ta4j rule and keeps the operands so {@link RuleBitsets} can evaluate the
+ * comparison over whole columns.
+ */
+public class ComparisonRule extends AbstractRule {
+
+    private final Indicator<Num> left;
+    private final RuleOperator operator;
+    private final Indicator<Num> right;
+    private final Num constant;
+    private final double cost;
+    private final Rule delegate;
+    private long evaluations;
+
+    public ComparisonRule(Indicator<Num> left, RuleOperator operator, Indicator<Num> right, Num constant, double cost,
+            Rule delegate) {
+        this.left = left;
+        this.operator = operator;
+        this.right = right;
+        this.constant = constant;
+        this.cost = cost;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean isSatisfied(int index, TradingRecord tradingRecord) {
+        evaluations++;
+        return delegate.isSatisfied(index, tradingRecord);
+    }
+
+    public Indicator<Num> getLeft() {
+        return left;
+    }
+
+    public RuleOperator getOperator() {
+        return operator;
+    }
+
+    /**
+     * Right hand indicator, or {@code null} when comparing against {@link #getConstant()}.
+     */
+    public Indicator<Num> getRight() {
+        return right;
+    }
+
+    public Num getConstant() {
+        return constant;
+    }
+
+    /**
+     * Estimated indicator work per evaluated bar, see {@code IndicatorSpec#cost()}.
+     */
+    public double getCost() {
+        return cost;
+    }
+
+    /**
+     * Number of times this rule was evaluated. Rules are bound per backtest and evaluated by one thread.
+     */
+    public long getEvaluations() {
+        return evaluations;
+    }
+
+    public Rule getDelegate() {
+        return delegate;
+    }
+}
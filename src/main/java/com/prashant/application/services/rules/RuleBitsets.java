@@ -0,0 +1,222 @@
+package com.prashant.application.services.rules;
+
+import com.prashant.application.services.indicator.kernel.ColumnIndicator;
+import com.prashant.application.services.series.ColumnarBarSeries;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseStrategy;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.Rule;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.num.DoubleNumFactory;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.rules.AndRule;
+import org.ta4j.core.rules.BooleanRule;
+import org.ta4j.core.rules.NotRule;
+import org.ta4j.core.rules.OrRule;
+
+import java.util.Arrays;
+
+/**
+ * Evaluates rule trees for all bars at once. Leaves that compare double precision columns become {@code long[]}
+ * bitsets with one bit per bar, and AND/OR/NOT nodes over bitsets combine a 64-bit word at a time. Subtrees that
+ * cannot be turned into bitsets (other leaves, decimal series) stay regular rules and are still evaluated lazily bar
+ * by bar; where such a rule is combined with a bitset, the bitset is checked first.
+ * <p>
+ * Column comparisons reproduce the ta4j rules on {@code DoubleNum}/{@code NaN} operands exactly: ordering is that
+ * of {@link Double#compare}, ordering tests are false when either side is NaN, equality also holds when both sides
+ * are NaN, and crosses walk back over equal bars like ta4j's {@code CrossIndicator}. Rules are evaluated without a
+ * trading record, which holds for every rule the strategy parser builds.
+ */
+public final class RuleBitsets {
+
+    private RuleBitsets() {
+    }
+
+    /**
+     * Strategy with the same name and unstable bars whose entry and exit rules are compiled with
+     * {@link #compile(Rule, BarSeries)}.
+     */
+    public static Strategy compile(Strategy strategy, BarSeries series) {
+        return new BaseStrategy(strategy.getName(), compile(strategy.getEntryRule(), series),
+                compile(strategy.getExitRule(), series), strategy.getUnstableBars());
+    }
+
+    /**
+     * Replaces every subtree that can be evaluated over whole columns with a {@link BitsetRule}.
+     */
+    public static Rule compile(Rule rule, BarSeries series) {
+        return compile(rule, series, series.getEndIndex() + 1);
+    }
+
+    private static Rule compile(Rule rule, BarSeries series, int bars) {
+        if (rule instanceof AndRule and) {
+            Rule left = compile(and.getRule1(), series, bars);
+            Rule right = compile(and.getRule2(), series, bars);
+            if (left instanceof BitsetRule l && right instanceof BitsetRule r) {
+                long[] bits = l.bits().clone();
+                for (int w = 0; w < bits.length; w++) {
+                    bits[w] &= r.bits()[w];
+                }
+                return new BitsetRule(bits);
+            }
+            return right instanceof BitsetRule ? new AndRule(right, left) : new AndRule(left, right);
+        }
+        if (rule instanceof OrRule or) {
+            Rule left = compile(or.getRule1(), series, bars);
+            Rule right = compile(or.getRule2(), series, bars);
+            if (left instanceof BitsetRule l && right instanceof BitsetRule r) {
+                long[] bits = l.bits().clone();
+                for (int w = 0; w < bits.length; w++) {
+                    bits[w] |= r.bits()[w];
+                }
+                return new BitsetRule(bits);
+            }
+            return right instanceof BitsetRule ? new OrRule(right, left) : new OrRule(left, right);
+        }
+        if (rule instanceof NotRule not) {
+            Rule negated = compile(not.getRuleToNegate(), series, bars);
+            if (negated instanceof BitsetRule n) {
+                long[] bits = n.bits().clone();
+                for (int w = 0; w < bits.length; w++) {
+                    bits[w] = ~bits[w];
+                }
+                clearTail(bits, bars);
+                return new BitsetRule(bits);
+            }
+            return new NotRule(negated);
+        }
+        if (rule instanceof BooleanRule) {
+            long[] bits = new long[words(bars)];
+            if (rule.isSatisfied(0, null)) {
+                Arrays.fill(bits, -1L);
+                clearTail(bits, bars);
+            }
+            return new BitsetRule(bits);
+        }
+        if (rule instanceof ComparisonRule comparison) {
+            long[] bits = evaluateColumns(comparison, series, bars);
+            if (bits != null) {
+                return new BitsetRule(bits);
+            }
+        }
+        return rule;
+    }
+
+    public static boolean get(long[] bits, int index) {
+        int word = index >>> 6;
+        return word < bits.length && (bits[word] & (1L << index)) != 0;
+    }
+
+    /**
+     * Bitset of a comparison whose operands are double columns or a constant, or {@code null} otherwise.
+     */
+    private static long[] evaluateColumns(ComparisonRule rule, BarSeries series, int bars) {
+        if (!(series.numFactory() instanceof DoubleNumFactory)) {
+            return null;
+        }
+        double[] left = column(rule.getLeft());
+        if (left == null) {
+            return null;
+        }
+        double[] right;
+        if (rule.getRight() != null) {
+            right = column(rule.getRight());
+            if (right == null) {
+                return null;
+            }
+        } else {
+            right = new double[bars];
+            Arrays.fill(right, rule.getConstant().doubleValue());
+        }
+
+        long[] bits = new long[words(bars)];
+        switch (rule.getOperator()) {
+            case LESS_THAN -> {
+                for (int i = 0; i < bars; i++) {
+                    set(bits, i, less(left[i], right[i]));
+                }
+            }
+            case GREATER_THAN -> {
+                for (int i = 0; i < bars; i++) {
+                    set(bits, i, less(right[i], left[i]));
+                }
+            }
+            case LESS_OR_EQUAL -> {
+                for (int i = 0; i < bars; i++) {
+                    set(bits, i, less(left[i], right[i]) || equal(left[i], right[i]));
+                }
+            }
+            case GREATER_OR_EQUAL -> {
+                for (int i = 0; i < bars; i++) {
+                    set(bits, i, less(right[i], left[i]) || equal(left[i], right[i]));
+                }
+            }
+            case EQUAL -> {
+                for (int i = 0; i < bars; i++) {
+                    set(bits, i, equal(left[i], right[i]));
+                }
+            }
+            // ta4j: crossed up = CrossIndicator(up = right, low = left), crossed down = CrossIndicator(left, right)
+            case CROSSES_UP -> cross(right, left, bits, bars);
+            case CROSSES_DOWN -> cross(left, right, bits, bars);
+        }
+        return bits;
+    }
+
+    /**
+     * {@code CrossIndicator}: at bar {@code i > 0}, {@code up < low} (not {@code up >= low}) and, at the last
+     * earlier bar where they differ (or bar 0), {@code up > low}.
+     */
+    private static void cross(double[] up, double[] low, long[] bits, int bars) {
+        int previous = 0; // last bar before i that is bar 0 or where up and low differ
+        for (int i = 1; i < bars; i++) {
+            if (i - 1 == 0 || !equal(up[i - 1], low[i - 1])) {
+                previous = i - 1;
+            }
+            boolean crossed = !greaterOrEqual(up[i], low[i]) && less(low[previous], up[previous]);
+            set(bits, i, crossed);
+        }
+    }
+
+    private static boolean less(double a, double b) {
+        return !Double.isNaN(a) && !Double.isNaN(b) && Double.compare(a, b) < 0;
+    }
+
+    private static boolean greaterOrEqual(double a, double b) {
+        return !Double.isNaN(a) && !Double.isNaN(b) && Double.compare(a, b) >= 0;
+    }
+
+    private static boolean equal(double a, double b) {
+        boolean aNaN = Double.isNaN(a);
+        boolean bNaN = Double.isNaN(b);
+        return aNaN || bNaN ? aNaN && bNaN : a == b;
+    }
+
+    private static void set(long[] bits, int index, boolean value) {
+        if (value) {
+            bits[index >>> 6] |= 1L << index;
+        }
+    }
+
+    private static double[] column(Indicator<Num> indicator) {
+        if (indicator instanceof ColumnIndicator column) {
+            return column.values();
+        }
+        if (indicator instanceof ClosePriceIndicator && indicator.getBarSeries() instanceof ColumnarBarSeries series) {
+            return series.closeValues();
+        }
+        return null;
+    }
+
+    private static int words(int bars) {
+        return (bars + 63) >>> 6;
+    }
+
+    private static void clearTail(long[] bits, int bars) {
+        int tail = bars & 63;
+        if (tail != 0) {
+            bits[bits.length - 1] &= (1L << tail) - 1;
+        }
+    }
+}
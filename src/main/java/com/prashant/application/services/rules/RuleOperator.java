@@ -0,0 +1,64 @@
+package com.prashant.application.services.rules;
+
+import org.ta4j.core.Indicator;
+import org.ta4j.core.Rule;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.rules.CrossedDownIndicatorRule;
+import org.ta4j.core.rules.CrossedUpIndicatorRule;
+import org.ta4j.core.rules.IsEqualRule;
+import org.ta4j.core.rules.OrRule;
+import org.ta4j.core.rules.OverIndicatorRule;
+import org.ta4j.core.rules.UnderIndicatorRule;
+
+/**
+ * Comparison operators of the strategy builder and the ta4j rules they map to.
+ */
+public enum RuleOperator {
+    LESS_THAN,
+    GREATER_THAN,
+    LESS_OR_EQUAL,
+    GREATER_OR_EQUAL,
+    EQUAL,
+    CROSSES_UP,
+    CROSSES_DOWN;
+
+    public static RuleOperator from(String operator) {
+        if (operator == null) {
+            throw new IllegalArgumentException("Unknown operator: null");
+        }
+        return switch (operator) {
+            case "<" -> LESS_THAN;
+            case ">" -> GREATER_THAN;
+            case "<=" -> LESS_OR_EQUAL;
+            case ">=" -> GREATER_OR_EQUAL;
+            case "=", "==" -> EQUAL;
+            case "crossesUp" -> CROSSES_UP;
+            case "crossesDown" -> CROSSES_DOWN;
+            default -> throw new IllegalArgumentException("Unknown operator: " + operator);
+        };
+    }
+
+    public Rule rule(Indicator<Num> left, Num value) {
+        return switch (this) {
+            case LESS_THAN -> new UnderIndicatorRule(left, value);
+            case GREATER_THAN -> new OverIndicatorRule(left, value);
+            case LESS_OR_EQUAL -> new OrRule(new UnderIndicatorRule(left, value), new IsEqualRule(left, value));
+            case GREATER_OR_EQUAL -> new OrRule(new OverIndicatorRule(left, value), new IsEqualRule(left, value));
+            case EQUAL -> new IsEqualRule(left, value);
+            case CROSSES_UP -> new CrossedUpIndicatorRule(left, value);
+            case CROSSES_DOWN -> new CrossedDownIndicatorRule(left, value);
+        };
+    }
+
+    public Rule rule(Indicator<Num> left, Indicator<Num> right) {
+        return switch (this) {
+            case LESS_THAN -> new UnderIndicatorRule(left, right);
+            case GREATER_THAN -> new OverIndicatorRule(left, right);
+            case LESS_OR_EQUAL -> new OrRule(new UnderIndicatorRule(left, right), new IsEqualRule(left, right));
+            case GREATER_OR_EQUAL -> new OrRule(new OverIndicatorRule(left, right), new IsEqualRule(left, right));
+            case EQUAL -> new IsEqualRule(left, right);
+            case CROSSES_UP -> new CrossedUpIndicatorRule(left, right);
+            case CROSSES_DOWN -> new CrossedDownIndicatorRule(left, right);
+        };
+    }
+}
@@ -0,0 +1,97 @@
+package com.prashant.application.services.rules;
+
+import org.ta4j.core.BaseStrategy;
+import org.ta4j.core.Rule;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.rules.AbstractRule;
+import org.ta4j.core.rules.AndRule;
+import org.ta4j.core.rules.NotRule;
+import org.ta4j.core.rules.OrRule;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Counts how often the entry and exit rules of one backtest were evaluated and how often each lazily evaluated
+ * {@link ComparisonRule} below them actually ran. A comparison skipped by AND/OR short-circuiting does not read its
+ * indicators on that bar, so the difference, weighted by the rules' estimated cost, is the indicator work saved.
+ * Comparisons that {@link RuleBitsets} evaluated over whole columns are counted as precomputed.
+ */
+public final class RuleTrace {
+
+    private final Side entry;
+    private final Side exit;
+    private final Strategy strategy;
+
+    public RuleTrace(Strategy strategy) {
+        this.entry = new Side(strategy.getEntryRule());
+        this.exit = new Side(strategy.getExitRule());
+        this.strategy = new BaseStrategy(strategy.getName(), entry, exit, strategy.getUnstableBars());
+    }
+
+    /**
+     * The traced strategy; run this one instead of the original.
+     */
+    public Strategy strategy() {
+        return strategy;
+    }
+
+    @Override
+    public String toString() {
+        return "entry " + entry + ", exit " + exit;
+    }
+
+    private static final class Side extends AbstractRule {
+
+        private final Rule rule;
+        private final List<ComparisonRule> lazy = new ArrayList<>();
+        private int precomputed;
+        private long evaluations;
+
+        private Side(Rule rule) {
+            this.rule = rule;
+            collect(rule);
+        }
+
+        private void collect(Rule node) {
+            if (node instanceof AndRule and) {
+                collect(and.getRule1());
+                collect(and.getRule2());
+            } else if (node instanceof OrRule or) {
+                collect(or.getRule1());
+                collect(or.getRule2());
+            } else if (node instanceof NotRule not) {
+                collect(not.getRuleToNegate());
+            } else if (node instanceof ComparisonRule comparison) {
+                lazy.add(comparison);
+            } else if (node instanceof BitsetRule) {
+                precomputed++;
+            }
+        }
+
+        @Override
+        public boolean isSatisfied(int index, TradingRecord tradingRecord) {
+            evaluations++;
+            return rule.isSatisfied(index, tradingRecord);
+        }
+
+        @Override
+        public String toString() {
+            long possible = 0;
+            long run = 0;
+            double possibleCost = 0;
+            double runCost = 0;
+            for (ComparisonRule comparison : lazy) {
+                possible += evaluations;
+                run += comparison.getEvaluations();
+                possibleCost += evaluations * comparison.getCost();
+                runCost += comparison.getEvaluations() * comparison.getCost();
+            }
+            double skippedWork = possibleCost > 0 ? (possibleCost - runCost) / possibleCost * 100 : 0;
+            return String.format("%d bars, %d lazy rules (%d precomputed): %d of %d evaluations skipped, "
+                    + "%.1f%% of estimated indicator work", evaluations, lazy.size(), precomputed, possible - run,
+                    possible, skippedWork);
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package com.prashant.application.services.series;
+
+import com.prashant.application.broker.BarColumns;
+import com.prashant.application.broker.MarketTime;
+import org.ta4j.core.Bar;
+import org.ta4j.core.BarBuilder;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.bars.TimeBarBuilder;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.num.NumFactory;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Read-only {@link BarSeries} backed by primitive OHLCV columns.
+ * <p>
+ * {@link #getBar(int)} returns a small view over one row instead of a stored {@code Bar}. Price and volume
+ * {@link Num}s are created on first access and cached per column, so only the columns an indicator actually reads
+ * are materialised. Bars cannot be added; the series is immutable and safe to share between threads.
+ */
+public class ColumnarBarSeries implements BarSeries {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String name;
+    // NumFactory is not serializable; the factory is rebuilt from this Num, which keeps e.g. the decimal precision
+    private final Num one;
+    private transient NumFactory numFactory;
+    private final int size;
+    private final long[] begin;
+    private final long[] end;
+    private final double[][] values;
+    private final Num[][] nums;
+    // Cache of kernel outputs; not serialized, a deserialized series recomputes them on first use
+    private transient volatile Map<String, double[]> derived;
+
+    private static final int OPEN = 0;
+    private static final int HIGH = 1;
+    private static final int LOW = 2;
+    private static final int CLOSE = 3;
+    private static final int VOLUME = 4;
+
+    public ColumnarBarSeries(String name, BarColumns bars, String interval, NumFactory numFactory) {
+        this.name = name;
+        this.one = numFactory.one();
+        this.numFactory = numFactory;
+        this.size = bars.size();
+        this.begin = bars.time();
+        this.end = new long[size];
+        for (int i = 0; i < size; i++) {
+            end[i] = MarketTime.barEnd(interval, begin[i]);
+        }
+        this.values = new double[][] { bars.open(), bars.high(), bars.low(), bars.close(), bars.volume() };
+        this.nums = new Num[values.length][];
+    }
+
+    private ColumnarBarSeries(ColumnarBarSeries parent, int from, int to) {
+        this.name = parent.name;
+        this.one = parent.one;
+        this.numFactory = parent.numFactory;
+        this.size = to - from;
+        this.begin = Arrays.copyOfRange(parent.begin, from, to);
+        this.end = Arrays.copyOfRange(parent.end, from, to);
+        this.values = new double[parent.values.length][];
+        for (int c = 0; c < values.length; c++) {
+            values[c] = Arrays.copyOfRange(parent.values[c], from, to);
+        }
+        this.nums = new Num[values.length][];
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        numFactory = one.getNumFactory();
+    }
+
+    /**
+     * Num for a cell, created on first use. Concurrent first accesses may both create the value, which is harmless
+     * because {@code Num}s are immutable.
+     */
+    private Num num(int column, int index) {
+        Num[] cache = nums[column];
+        if (cache == null) {
+            cache = new Num[size];
+            nums[column] = cache;
+        }
+        Num value = cache[index];
+        if (value == null) {
+            value = numFactory.numOf(values[column][index]);
+            cache[index] = value;
+        }
+        return value;
+    }
+
+    /**
+     * Backing price column, for kernels that work on whole columns. Only the first {@link #getBarCount()} entries
+     * are valid; the array must not be modified.
+     */
+    public double[] openValues() {
+        return values[OPEN];
+    }
+
+    public double[] highValues() {
+        return values[HIGH];
+    }
+
+    public double[] lowValues() {
+        return values[LOW];
+    }
+
+    public double[] closeValues() {
+        return values[CLOSE];
+    }
+
+    public double[] volumeValues() {
+        return values[VOLUME];
+    }
+
+    /**
+     * Column derived from this series, such as the output of an indicator kernel, computed on first use and then
+     * shared by every strategy and thread that works on the series. Concurrent first requests for a key may both
+     * compute it; one result is kept.
+     */
+    public double[] derivedColumn(String key, Supplier<double[]> compute) {
+        Map<String, double[]> cache = derived();
+        double[] column = cache.get(key);
+        if (column == null) {
+            column = compute.get();
+            double[] raced = cache.putIfAbsent(key, column);
+            if (raced != null) {
+                column = raced;
+            }
+        }
+        return column;
+    }
+
+    private Map<String, double[]> derived() {
+        Map<String, double[]> cache = derived;
+        if (cache == null) {
+            synchronized (this) {
+                cache = derived;
+                if (cache == null) {
+                    cache = new ConcurrentHashMap<>();
+                    derived = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    @Override
+    public NumFactory numFactory() {
+        return numFactory;
+    }
+
+    @Override
+    public BarBuilder barBuilder() {
+        return new TimeBarBuilder(numFactory).bindTo(this);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Bar getBar(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Bar index " + i + " out of bounds for series of " + size + " bars");
+        }
+        return new RowBar(i);
+    }
+
+    @Override
+    public int getBarCount() {
+        return size;
+    }
+
+    @Override
+    public List<Bar> getBarData() {
+        return new AbstractList<>() {
+            @Override
+            public Bar get(int index) {
+                return getBar(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public int getBeginIndex() {
+        return size == 0 ? -1 : 0;
+    }
+
+    @Override
+    public int getEndIndex() {
+        return size - 1;
+    }
+
+    @Override
+    public int getMaximumBarCount() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public void setMaximumBarCount(int maximumBarCount) {
+        throw new UnsupportedOperationException("ColumnarBarSeries is read-only");
+    }
+
+    @Override
+    public int getRemovedBarsCount() {
+        return 0;
+    }
+
+    @Override
+    public void addBar(Bar bar, boolean replace) {
+        throw new UnsupportedOperationException("ColumnarBarSeries is read-only");
+    }
+
+    @Override
+    public void addTrade(Num tradeVolume, Num tradePrice) {
+        throw new UnsupportedOperationException("ColumnarBarSeries is read-only");
+    }
+
+    @Override
+    public void addPrice(Num price) {
+        throw new UnsupportedOperationException("ColumnarBarSeries is read-only");
+    }
+
+    @Override
+    public BarSeries getSubSeries(int startIndex, int endIndex) {
+        if (startIndex < 0 || startIndex >= endIndex) {
+            throw new IllegalArgumentException("Invalid sub series range " + startIndex + ".." + endIndex);
+        }
+        return new ColumnarBarSeries(this, startIndex, Math.min(endIndex, size));
+    }
+
+    /**
+     * View of one row of the columns.
+     */
+    private final class RowBar implements Bar {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int index;
+
+        private RowBar(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public Duration getTimePeriod() {
+            return Duration.ofSeconds(end[index] - begin[index]);
+        }
+
+        @Override
+        public Instant getBeginTime() {
+            return Instant.ofEpochSecond(begin[index]);
+        }
+
+        @Override
+        public Instant getEndTime() {
+            return Instant.ofEpochSecond(end[index]);
+        }
+
+        @Override
+        public Num getOpenPrice() {
+            return num(OPEN, index);
+        }
+
+        @Override
+        public Num getHighPrice() {
+            return num(HIGH, index);
+        }
+
+        @Override
+        public Num getLowPrice() {
+            return num(LOW, index);
+        }
+
+        @Override
+        public Num getClosePrice() {
+            return num(CLOSE, index);
+        }
+
+        @Override
+        public Num getVolume() {
+            return num(VOLUME, index);
+        }
+
+        @Override
+        public Num getAmount() {
+            return numFactory.zero();
+        }
+
+        @Override
+        public long getTrades() {
+            return 0;
+        }
+
+        @Override
+        public void addTrade(Num tradeVolume, Num tradePrice) {
+            throw new UnsupportedOperationException("ColumnarBarSeries is read-only");
+        }
+
+        @Override
+        public void addPrice(Num price) {
+            throw new UnsupportedOperationException("ColumnarBarSeries is read-only");
+        }
+    }
+}
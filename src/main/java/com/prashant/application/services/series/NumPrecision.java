@@ -0,0 +1,28 @@
+package com.prashant.application.services.series;
+
+import org.ta4j.core.num.DecimalNumFactory;
+import org.ta4j.core.num.DoubleNumFactory;
+import org.ta4j.core.num.NumFactory;
+
+/**
+ * Number representation used for indicator and backtest arithmetic. {@link #DOUBLE} is much faster;
+ * {@link #DECIMAL} is exact decimal arithmetic.
+ */
+public enum NumPrecision {
+    DECIMAL,
+    DOUBLE;
+
+    public NumFactory numFactory() {
+        return this == DOUBLE ? DoubleNumFactory.getInstance() : DecimalNumFactory.getInstance();
+    }
+
+    /**
+     * Parses a request value such as {@code "double"}, falling back to {@code defaultPrecision} when blank.
+     */
+    public static NumPrecision from(String value, NumPrecision defaultPrecision) {
+        if (value == null || value.isBlank()) {
+            return defaultPrecision;
+        }
+        return valueOf(value.trim().toUpperCase());
+    }
+}
@@ -0,0 +1,62 @@
+package com.prashant.application.services.universe;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Named symbol baskets for universe backtests, in Yahoo ticker form.
+ */
+public final class Baskets {
+
+    /** NIFTY 50 constituents; update when the index is rebalanced. */
+    private static final List<String> NIFTY50 = List.of(
+            "ADANIENT.NS", "ADANIPORTS.NS", "APOLLOHOSP.NS", "ASIANPAINT.NS", "AXISBANK.NS",
+            "BAJAJ-AUTO.NS", "BAJAJFINSV.NS", "BAJFINANCE.NS", "BEL.NS", "BHARTIARTL.NS",
+            "CIPLA.NS", "COALINDIA.NS", "DRREDDY.NS", "EICHERMOT.NS", "ETERNAL.NS",
+            "GRASIM.NS", "HCLTECH.NS", "HDFCBANK.NS", "HDFCLIFE.NS", "HEROMOTOCO.NS",
+            "HINDALCO.NS", "HINDUNILVR.NS", "ICICIBANK.NS", "INDUSINDBK.NS", "INFY.NS",
+            "ITC.NS", "JIOFIN.NS", "JSWSTEEL.NS", "KOTAKBANK.NS", "LT.NS",
+            "M&M.NS", "MARUTI.NS", "NESTLEIND.NS", "NTPC.NS", "ONGC.NS",
+            "POWERGRID.NS", "RELIANCE.NS", "SBILIFE.NS", "SBIN.NS", "SHRIRAMFIN.NS",
+            "SUNPHARMA.NS", "TATACONSUM.NS", "TATAMOTORS.NS", "TATASTEEL.NS", "TCS.NS",
+            "TECHM.NS", "TITAN.NS", "TRENT.NS", "ULTRACEMCO.NS", "WIPRO.NS");
+
+    private static final Map<String, List<String>> BASKETS = Map.of("NIFTY50", NIFTY50);
+
+    private Baskets() {
+    }
+
+    /**
+     * Symbols of a basket; spaces, dashes and underscores in the name are ignored, so {@code "NIFTY 50"} and
+     * {@code "nifty50"} name the same basket.
+     */
+    public static List<String> get(String name) {
+        List<String> symbols = BASKETS.get(name.replaceAll("[\\s_-]", "").toUpperCase(Locale.ROOT));
+        if (symbols == null) {
+            throw new IllegalArgumentException("Unknown basket: " + name + ", available: " + BASKETS.keySet());
+        }
+        return symbols;
+    }
+
+    /**
+     * Explicit symbols followed by the basket's, trimmed, upper-cased and without duplicates.
+     */
+    public static List<String> resolve(List<String> symbols, String basket) {
+        Set<String> resolved = new LinkedHashSet<>();
+        if (symbols != null) {
+            for (String symbol : symbols) {
+                if (symbol != null && !symbol.isBlank()) {
+                    resolved.add(symbol.trim().toUpperCase(Locale.ROOT));
+                }
+            }
+        }
+        if (basket != null && !basket.isBlank()) {
+            resolved.addAll(get(basket));
+        }
+        return new ArrayList<>(resolved);
+    }
+}
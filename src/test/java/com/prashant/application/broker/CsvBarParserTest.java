@@ -0,0 +1,151 @@
+package com.prashant.application.broker;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CsvBarParserTest {
+
+    @Test
+    void quotedFieldsAndHeader() throws IOException {
+        CsvBarParser.Result result = parse(String.join("\n",
+                "\"Date\",\"Open\",\"High\",\"Low\",\"Close\",\"Volume\"",
+                "\"2024-01-02\",\"1.5\",\"2\",\" 1 \",\"1.8\",\"1000\"",
+                "2024-01-03, \"1.8\" ,2.25,1.75,2,1e3"));
+
+        BarColumns bars = result.bars();
+        assertEquals(0, result.rejected());
+        assertEquals(2, bars.size());
+        assertEquals(day(2024, 1, 2), bars.time()[0]);
+        assertEquals(1.5, bars.open()[0], 1e-12);
+        assertEquals(2, bars.high()[0], 1e-12);
+        assertEquals(1, bars.low()[0], 1e-12);
+        assertEquals(1.8, bars.close()[0], 1e-12);
+        assertEquals(1000, bars.volume()[0], 1e-12);
+        assertEquals(day(2024, 1, 3), bars.time()[1]);
+        assertEquals(1.8, bars.open()[1], 1e-12);
+        assertEquals(1000, bars.volume()[1], 1e-12);
+    }
+
+    @Test
+    void blankAndMalformedLines() throws IOException {
+        CsvBarParser.Result result = parse(String.join("\r\n",
+                "time,open,high,low,close,volume",
+                "2024-01-02,1,2,0.5,1.5,100",
+                "",
+                "2024-01-03,1,2,x,1.5,100",
+                "2024-01-04,1,2,0.5",
+                "2024-13-01,1,2,0.5,1.5,100",
+                "not a line",
+                "",
+                "2024-01-05,-1.25,+2,0.5,1.5,100",
+                ""));
+
+        BarColumns bars = result.bars();
+        assertEquals(2, bars.size());
+        assertEquals(day(2024, 1, 2), bars.time()[0]);
+        assertEquals(day(2024, 1, 5), bars.time()[1]);
+        assertEquals(-1.25, bars.open()[1], 1e-12);
+        assertEquals(2, bars.high()[1], 1e-12);
+        assertEquals(4, result.rejected());
+        assertEquals(List.of("line 4: invalid number in column 4", "line 5: expected 6 columns",
+                "line 6: invalid time", "line 7: expected 6 columns"), result.errors());
+    }
+
+    @Test
+    void dateOnlyDateTimeAndEpochTimestamps() throws IOException {
+        CsvBarParser.Result result = parse(String.join("\n",
+                "2024-01-31,1,1,1,1,1",
+                "2024-02-01 09:15:00,1,1,1,1,1",
+                "2024-02-02T09:15,1,1,1,1,1",
+                "1706900000,1,1,1,1,1",
+                "1707000000123,1,1,1,1,1"));
+
+        long[] time = result.bars().time();
+        assertEquals(0, result.rejected());
+        assertEquals(5, result.bars().size());
+        assertEquals(day(2024, 1, 31), time[0]);
+        assertEquals(LocalDateTime.of(2024, 2, 1, 9, 15).toEpochSecond(ZoneOffset.UTC), time[1]);
+        assertEquals(LocalDateTime.of(2024, 2, 2, 9, 15).toEpochSecond(ZoneOffset.UTC), time[2]);
+        assertEquals(1706900000L, time[3]);
+        assertEquals(1707000000L, time[4]); // milliseconds are truncated to seconds
+    }
+
+    @Test
+    void unorderedAndDuplicateTimesAreSortedKeepingTheLastRow() throws IOException {
+        CsvBarParser.Result result = parse(String.join("\n",
+                "2024-01-03,3,3,3,3,3",
+                "2024-01-02,1,1,1,1,1",
+                "2024-01-03,4,4,4,4,4"));
+
+        BarColumns bars = result.bars();
+        assertEquals(2, bars.size());
+        assertEquals(day(2024, 1, 2), bars.time()[0]);
+        assertEquals(day(2024, 1, 3), bars.time()[1]);
+        assertEquals(4, bars.close()[1], 1e-12);
+    }
+
+    @Test
+    void fileSpanningSeveralChunks() throws IOException {
+        StringBuilder csv = new StringBuilder("time,open,high,low,close,volume\n");
+        int rows = 3000;
+        for (int i = 0; i < rows; i++) {
+            if (i == 1234 || i == 2999) {
+                csv.append("broken,row\n");
+            } else {
+                csv.append(1_600_000_000L + i * 60L).append(',').append(100 + i * 0.25).append(",101.5,99.25,")
+                        .append(100 + i * 0.5).append(',').append(i * 10).append('\n');
+            }
+        }
+        Path file = write(csv.toString());
+        try {
+            CsvBarParser.Result chunked = CsvBarParser.parse(file, 1000);
+            CsvBarParser.Result whole = CsvBarParser.parse(file, Long.MAX_VALUE);
+
+            BarColumns bars = chunked.bars();
+            assertEquals(rows - 2, bars.size());
+            assertEquals(2, chunked.rejected());
+            // Line numbers continue across chunks: the header is line 1
+            assertEquals(List.of("line 1236: invalid time", "line 3001: invalid time"), chunked.errors());
+            assertEquals(whole.errors(), chunked.errors());
+            assertEquals(whole.bars().size(), bars.size());
+            for (int k = 0; k < bars.size(); k++) {
+                int i = k < 1234 ? k : k + 1;
+                assertEquals(1_600_000_000L + i * 60L, bars.time()[k]);
+                assertEquals(100 + i * 0.25, bars.open()[k], 1e-9);
+                assertEquals(100 + i * 0.5, bars.close()[k], 1e-9);
+                assertEquals(i * 10, bars.volume()[k], 1e-9);
+                assertEquals(whole.bars().close()[k], bars.close()[k], 0);
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static CsvBarParser.Result parse(String content) throws IOException {
+        Path file = write(content);
+        try {
+            return CsvBarParser.parse(file);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static Path write(String content) throws IOException {
+        Path file = Files.createTempFile("bars", ".csv");
+        Files.writeString(file, content);
+        return file;
+    }
+
+    private static long day(int year, int month, int day) {
+        return LocalDate.of(year, month, day).toEpochDay() * 86_400L;
+    }
+}
@@ -0,0 +1,73 @@
+package com.prashant.application.services.indicator;
+
+import com.prashant.application.broker.BarColumns;
+import com.prashant.application.services.indicator.kernel.ColumnIndicator;
+import com.prashant.application.services.series.ColumnarBarSeries;
+import org.junit.jupiter.api.Test;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.num.DoubleNumFactory;
+import org.ta4j.core.num.Num;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class IndicatorRegistryTest {
+
+    private final IndicatorRegistry registry = new IndicatorRegistry(true);
+
+    @Test
+    void keltnerAfterAtrKernelOnSharedClosePrice() {
+        ColumnarBarSeries series = series(300);
+        SharedClosePriceIndicator shared = new SharedClosePriceIndicator(series);
+
+        Indicator<Num> atr = registry.spec("ATR", IndicatorParams.of("period", 10)).create(shared);
+        Indicator<Num> upper = registry.spec("KELTNERUPPER", IndicatorParams.of("atr", 10)).create(shared);
+        Indicator<Num> lower = registry.spec("KELTNERLOWER", IndicatorParams.of("atr", 10)).create(shared);
+
+        assertInstanceOf(ColumnIndicator.class, atr);
+        assertSame(atr, registry.spec("ATR", IndicatorParams.of("period", 10)).create(shared));
+        Indicator<Num> expectedUpper = registry.spec("KELTNERUPPER", IndicatorParams.of("atr", 10))
+                .create(new ClosePriceIndicator(series));
+        Indicator<Num> expectedLower = registry.spec("KELTNERLOWER", IndicatorParams.of("atr", 10))
+                .create(new ClosePriceIndicator(series));
+        for (int i = series.getBeginIndex(); i <= series.getEndIndex(); i++) {
+            assertEquals(expectedUpper.getValue(i).doubleValue(), upper.getValue(i).doubleValue(), 1e-9);
+            assertEquals(expectedLower.getValue(i).doubleValue(), lower.getValue(i).doubleValue(), 1e-9);
+        }
+    }
+
+    @Test
+    void atrKernelAfterKeltnerOnSharedClosePrice() {
+        ColumnarBarSeries series = series(300);
+        SharedClosePriceIndicator shared = new SharedClosePriceIndicator(series);
+
+        Indicator<Num> upper = registry.spec("KELTNERUPPER", IndicatorParams.of("atr", 14)).create(shared);
+        Indicator<Num> atr = registry.spec("ATR", IndicatorParams.of("period", 14)).create(shared);
+
+        assertInstanceOf(ColumnIndicator.class, atr);
+        upper.getValue(series.getEndIndex());
+    }
+
+    private static ColumnarBarSeries series(int size) {
+        long[] time = new long[size];
+        double[] open = new double[size];
+        double[] high = new double[size];
+        double[] low = new double[size];
+        double[] close = new double[size];
+        double[] volume = new double[size];
+        double price = 100;
+        for (int i = 0; i < size; i++) {
+            time[i] = 1_600_000_000L + i * 86_400L;
+            open[i] = price;
+            price += Math.sin(i * 0.37) * 2 + Math.cos(i * 0.11);
+            close[i] = price;
+            high[i] = Math.max(open[i], close[i]) + 1 + (i % 3);
+            low[i] = Math.min(open[i], close[i]) - 1 - (i % 2);
+            volume[i] = 1000 + i;
+        }
+        BarColumns bars = new BarColumns(time, open, high, low, close, volume, size);
+        return new ColumnarBarSeries("TEST", bars, "1d", DoubleNumFactory.getInstance());
+    }
+}
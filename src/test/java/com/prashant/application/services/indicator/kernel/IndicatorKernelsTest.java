@@ -0,0 +1,112 @@
+package com.prashant.application.services.indicator.kernel;
+
+import com.prashant.application.broker.BarColumns;
+import com.prashant.application.dto.strategy.RuleParam;
+import com.prashant.application.services.indicator.IndicatorRegistry;
+import com.prashant.application.services.series.ColumnarBarSeries;
+import org.junit.jupiter.api.Test;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.num.DoubleNumFactory;
+import org.ta4j.core.num.Num;
+
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Every kernel must report the values and unstable bar count of the ta4j indicator it replaces, on every bar
+ * including the warm-up ones.
+ */
+class IndicatorKernelsTest {
+
+    private static final int[] PERIODS = { 1, 2, 5, 14, 50 };
+
+    private final IndicatorRegistry registry = new IndicatorRegistry(true);
+
+    @Test
+    void everyKernelMatchesTa4jOnTrendingSeries() {
+        compareAll(series(new Random(7), 600, false));
+    }
+
+    @Test
+    void everyKernelMatchesTa4jOnFlatStretches() {
+        // Repeated closes give zero variance, zero gains and losses and equal highs and lows
+        compareAll(series(new Random(11), 400, true));
+    }
+
+    @Test
+    void seriesShorterThanThePeriod() {
+        compareAll(series(new Random(3), 30, false));
+    }
+
+    @Test
+    void kernelsCoverTheHotIndicators() {
+        assertTrue(registry.kernelNames().containsAll(List.of("SMA", "EMA", "WMA", "RSI", "ATR",
+                "STANDARDDEVIATION", "BOLLINGERUPPER", "BOLLINGERLOWER", "DONCHIANUPPER", "DONCHIANLOWER",
+                "HIGHESTHIGH", "LOWESTLOW")), "kernels: " + registry.kernelNames());
+    }
+
+    private void compareAll(ColumnarBarSeries series) {
+        for (String name : new TreeSet<>(registry.kernelNames())) {
+            for (int period : PERIODS) {
+                for (double stdDev : new double[] { 2.0, 1.5 }) {
+                    List<RuleParam> params = List.of(param("period", period), param("stdDev", stdDev));
+                    compare(series, name + " period " + period + " stdDev " + stdDev, name, params);
+                }
+            }
+        }
+    }
+
+    private void compare(ColumnarBarSeries series, String label, String name, List<RuleParam> params) {
+        // Separate close price indicators, so nothing is shared between the two
+        Indicator<Num> expected = registry.createIndicator(name, new ClosePriceIndicator(series), params, false);
+        Indicator<Num> actual = registry.createIndicator(name, new ClosePriceIndicator(series), params, true);
+        assertEquals(expected.getCountOfUnstableBars(), actual.getCountOfUnstableBars(), label + " unstable bars");
+        for (int i = series.getBeginIndex(); i <= series.getEndIndex(); i++) {
+            double want = expected.getValue(i).doubleValue();
+            double got = actual.getValue(i).doubleValue();
+            String at = label + " at bar " + i;
+            if (Double.isNaN(want) || Double.isInfinite(want)) {
+                assertEquals(want, got, 0, at);
+            } else {
+                assertEquals(want, got, 1e-9 * Math.max(1, Math.abs(want)), at);
+            }
+        }
+    }
+
+    private static ColumnarBarSeries series(Random random, int size, boolean flatStretches) {
+        long[] time = new long[size];
+        double[] open = new double[size];
+        double[] high = new double[size];
+        double[] low = new double[size];
+        double[] close = new double[size];
+        double[] volume = new double[size];
+        double price = 100;
+        for (int i = 0; i < size; i++) {
+            time[i] = 1_600_000_000L + i * 86_400L;
+            open[i] = price;
+            boolean flat = flatStretches && (i / 20) % 2 == 1;
+            if (!flat) {
+                price = Math.max(1, price * (1 + random.nextGaussian() * 0.02) + 0.05);
+            }
+            close[i] = price;
+            double range = flat ? 0 : Math.abs(random.nextGaussian()) * price * 0.01;
+            high[i] = Math.max(open[i], close[i]) + range;
+            low[i] = Math.min(open[i], close[i]) - range;
+            volume[i] = 1000 + random.nextInt(1000);
+        }
+        BarColumns bars = new BarColumns(time, open, high, low, close, volume, size);
+        return new ColumnarBarSeries("TEST", bars, "1d", DoubleNumFactory.getInstance());
+    }
+
+    private static RuleParam param(String name, double value) {
+        RuleParam param = new RuleParam();
+        param.setName(name);
+        param.setValue(value == Math.rint(value) ? Long.toString((long) value) : Double.toString(value));
+        return param;
+    }
+}
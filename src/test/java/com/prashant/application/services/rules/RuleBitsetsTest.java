@@ -0,0 +1,152 @@
+package com.prashant.application.services.rules;
+
+import com.prashant.application.broker.BarColumns;
+import com.prashant.application.dto.strategy.RuleConfig;
+import com.prashant.application.dto.strategy.RuleParam;
+import com.prashant.application.dto.strategy.RulesConfig;
+import com.prashant.application.dto.strategy.StrategyRequest;
+import com.prashant.application.services.StrategyParserService;
+import com.prashant.application.services.indicator.IndicatorRegistry;
+import com.prashant.application.services.series.ColumnarBarSeries;
+import org.junit.jupiter.api.Test;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Position;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.backtest.BarSeriesManager;
+import org.ta4j.core.num.DoubleNumFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The bitset engine must trade exactly like the ta4j rules it replaces, for any rule tree the parser builds.
+ */
+class RuleBitsetsTest {
+
+    private static final String[] INDICATORS = { "SMA", "EMA", "WMA", "RSI", "CLOSE", "BOLLINGERUPPER",
+            "BOLLINGERLOWER", "DONCHIANUPPER", "DONCHIANLOWER", "ATR", "STANDARDDEVIATION", "HIGHESTHIGH",
+            "LOWESTLOW" };
+    private static final String[] OPERATORS = { "<", ">", "<=", ">=", "==", "crossesUp", "crossesDown" };
+    private static final int STRATEGIES = 300;
+
+    private final StrategyParserService parser = new StrategyParserService(new IndicatorRegistry(true), 0, true);
+
+    @Test
+    void randomRuleTreesTradeLikeTa4jRules() {
+        Random random = new Random(20240131);
+        // Not a multiple of 64, so the last bitset word is partly used
+        BarSeries series = series(random, 1000);
+        int compiled = 0;
+        for (int s = 0; s < STRATEGIES; s++) {
+            StrategyRequest request = new StrategyRequest();
+            request.setEntry(group(random));
+            request.setExit(group(random));
+            Strategy strategy = parser.compile(request).bind(series);
+            Strategy bitsets = RuleBitsets.compile(strategy, series);
+            if (bitsets.getEntryRule() instanceof BitsetRule || bitsets.getExitRule() instanceof BitsetRule) {
+                compiled++;
+            }
+
+            BarSeriesManager manager = new BarSeriesManager(series);
+            assertEquals(trades(manager.run(strategy)), trades(manager.run(bitsets)),
+                    "strategy " + s + " over the whole series");
+            assertEquals(trades(manager.run(strategy, 300, 800)), trades(manager.run(bitsets, 300, 800)),
+                    "strategy " + s + " over bars 300..800");
+        }
+        assertTrue(compiled > STRATEGIES / 2, "only " + compiled + " strategies used bitsets");
+    }
+
+    /**
+     * Random walk on a half point grid, so equal values and flat stretches exercise equality and crosses that walk
+     * back over equal bars.
+     */
+    private static BarSeries series(Random random, int size) {
+        long[] time = new long[size];
+        double[] open = new double[size];
+        double[] high = new double[size];
+        double[] low = new double[size];
+        double[] close = new double[size];
+        double[] volume = new double[size];
+        double price = 100;
+        for (int i = 0; i < size; i++) {
+            time[i] = 1_600_000_000L + i * 86_400L;
+            open[i] = price;
+            if (random.nextInt(4) != 0) {
+                price = Math.max(1, price + (random.nextInt(9) - 4) * 0.5);
+            }
+            close[i] = price;
+            high[i] = Math.max(open[i], close[i]) + random.nextInt(3) * 0.5;
+            low[i] = Math.min(open[i], close[i]) - random.nextInt(3) * 0.5;
+            volume[i] = 1000 + random.nextInt(1000);
+        }
+        BarColumns bars = new BarColumns(time, open, high, low, close, volume, size);
+        return new ColumnarBarSeries("TEST", bars, "1d", DoubleNumFactory.getInstance());
+    }
+
+    private static RulesConfig group(Random random) {
+        RulesConfig group = new RulesConfig();
+        group.setCondition(random.nextBoolean() ? "AND" : "OR");
+        List<RuleConfig> rules = new ArrayList<>();
+        for (int i = 1 + random.nextInt(3); i > 0; i--) {
+            rules.add(node(random, 2));
+        }
+        group.setRules(rules);
+        return group;
+    }
+
+    private static RuleConfig node(Random random, int depth) {
+        if (depth == 0 || random.nextInt(3) == 0) {
+            RuleConfig leaf = leaf(random);
+            leaf.setCondition(random.nextBoolean() ? "AND" : "OR");
+            return leaf;
+        }
+        RuleConfig group = new RuleConfig();
+        group.setCondition(random.nextBoolean() ? "AND" : "OR");
+        List<RuleConfig> rules = new ArrayList<>();
+        for (int i = 1 + random.nextInt(3); i > 0; i--) {
+            rules.add(node(random, depth - 1));
+        }
+        group.setRules(rules);
+        return group;
+    }
+
+    private static RuleConfig leaf(Random random) {
+        RuleConfig rule = new RuleConfig();
+        rule.setIndicator(INDICATORS[random.nextInt(INDICATORS.length)]);
+        rule.setParams(period(random));
+        rule.setOperator(OPERATORS[random.nextInt(OPERATORS.length)]);
+        if (random.nextBoolean()) {
+            rule.setCompareType("indicator");
+            rule.setCompareIndicator(INDICATORS[random.nextInt(INDICATORS.length)]);
+            rule.setCompareParams(period(random));
+        } else {
+            rule.setCompareType("value");
+            rule.setValue(Integer.toString(random.nextInt(150)));
+        }
+        return rule;
+    }
+
+    private static List<RuleParam> period(Random random) {
+        RuleParam param = new RuleParam();
+        param.setName("period");
+        param.setValue(Integer.toString(2 + random.nextInt(30)));
+        return new ArrayList<>(List.of(param));
+    }
+
+    private static List<String> trades(TradingRecord record) {
+        List<String> trades = new ArrayList<>();
+        for (Position position : record.getPositions()) {
+            trades.add(position.getEntry().getIndex() + "@" + position.getEntry().getNetPrice() + " -> "
+                    + position.getExit().getIndex() + "@" + position.getExit().getNetPrice());
+        }
+        if (record.getCurrentPosition().isOpened()) {
+            trades.add(record.getCurrentPosition().getEntry().getIndex() + " open");
+        }
+        return trades;
+    }
+}
@@ -0,0 +1,176 @@
+package com.prashant.application.services.series;
+
+import com.prashant.application.broker.BarColumns;
+import com.prashant.application.broker.MarketTime;
+import org.junit.jupiter.api.Test;
+import org.ta4j.core.Bar;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseBarSeriesBuilder;
+import org.ta4j.core.indicators.RSIIndicator;
+import org.ta4j.core.indicators.averages.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.num.DecimalNumFactory;
+import org.ta4j.core.num.DoubleNumFactory;
+import org.ta4j.core.num.NumFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The columnar series must look exactly like a {@code BaseBarSeries} holding the same bars to anything that reads
+ * it through the {@link BarSeries} interface.
+ */
+class ColumnarBarSeriesTest {
+
+    @Test
+    void matchesBaseBarSeriesWithDoubleNums() {
+        assertParity(bars(new Random(5), 300), "1d", DoubleNumFactory.getInstance());
+    }
+
+    @Test
+    void matchesBaseBarSeriesWithDecimalNums() {
+        assertParity(bars(new Random(6), 120), "1mo", DecimalNumFactory.getInstance());
+    }
+
+    @Test
+    void subSeriesMatchesBaseSubSeries() {
+        BarColumns bars = bars(new Random(7), 200);
+        NumFactory numFactory = DoubleNumFactory.getInstance();
+        BarSeries columnar = new ColumnarBarSeries("TEST", bars, "1h", numFactory);
+        BarSeries base = base(bars, "1h", numFactory);
+        assertSameBars(base.getSubSeries(50, 150), columnar.getSubSeries(50, 150));
+        // An end past the last bar is clamped, like BaseBarSeries does
+        assertSameBars(base.getSubSeries(190, 400), columnar.getSubSeries(190, 400));
+    }
+
+    @Test
+    void serializationKeepsTheNumFactory() throws IOException, ClassNotFoundException {
+        BarColumns bars = bars(new Random(8), 50);
+        NumFactory decimal = DecimalNumFactory.getInstance(20);
+        ColumnarBarSeries series = new ColumnarBarSeries("TEST", bars, "1d", decimal);
+        series.getBar(3).getClosePrice();
+
+        ColumnarBarSeries copy = roundTrip(series);
+        assertTrue(copy.numFactory().produces(decimal.one()), "decimal factory after deserialization");
+        assertEquals(series.numFactory().numOf(1).dividedBy(series.numFactory().numOf(3)),
+                copy.numFactory().numOf(1).dividedBy(copy.numFactory().numOf(3)));
+        assertSameBars(series, copy);
+
+        ColumnarBarSeries doubles = roundTrip(new ColumnarBarSeries("TEST", bars, "1d",
+                DoubleNumFactory.getInstance()));
+        assertTrue(doubles.numFactory() instanceof DoubleNumFactory, "double factory after deserialization");
+    }
+
+    @Test
+    void derivedColumnsAreRecomputedAfterDeserialization() throws IOException, ClassNotFoundException {
+        ColumnarBarSeries series = new ColumnarBarSeries("TEST", bars(new Random(9), 50), "1d",
+                DoubleNumFactory.getInstance());
+        double[] column = { 1, 2, 3 };
+        assertSame(column, series.derivedColumn("SMA|3", () -> column));
+        assertSame(column, series.derivedColumn("SMA|3", () -> new double[0]));
+
+        ColumnarBarSeries copy = roundTrip(series);
+        double[] recomputed = { 4, 5, 6 };
+        assertSame(recomputed, copy.derivedColumn("SMA|3", () -> recomputed));
+        assertSame(recomputed, copy.derivedColumn("SMA|3", () -> new double[0]));
+    }
+
+    private static void assertParity(BarColumns bars, String interval, NumFactory numFactory) {
+        BarSeries columnar = new ColumnarBarSeries("TEST", bars, interval, numFactory);
+        BarSeries base = base(bars, interval, numFactory);
+        assertSameBars(base, columnar);
+
+        ClosePriceIndicator baseClose = new ClosePriceIndicator(base);
+        ClosePriceIndicator columnarClose = new ClosePriceIndicator(columnar);
+        SMAIndicator baseSma = new SMAIndicator(baseClose, 14);
+        SMAIndicator columnarSma = new SMAIndicator(columnarClose, 14);
+        RSIIndicator baseRsi = new RSIIndicator(baseClose, 14);
+        RSIIndicator columnarRsi = new RSIIndicator(columnarClose, 14);
+        for (int i = base.getBeginIndex(); i <= base.getEndIndex(); i++) {
+            assertEquals(baseSma.getValue(i), columnarSma.getValue(i), "SMA at bar " + i);
+            assertEquals(baseRsi.getValue(i), columnarRsi.getValue(i), "RSI at bar " + i);
+        }
+    }
+
+    private static void assertSameBars(BarSeries expected, BarSeries actual) {
+        assertEquals(expected.getBarCount(), actual.getBarCount(), "bar count");
+        assertEquals(expected.getBeginIndex(), actual.getBeginIndex(), "begin index");
+        assertEquals(expected.getEndIndex(), actual.getEndIndex(), "end index");
+        assertEquals(expected.getName(), actual.getName(), "name");
+        assertEquals(expected.numFactory().getClass(), actual.numFactory().getClass(), "num factory");
+        for (int i = expected.getBeginIndex(); i <= expected.getEndIndex(); i++) {
+            Bar want = expected.getBar(i);
+            Bar got = actual.getBar(i);
+            String at = "bar " + i;
+            assertEquals(want.getBeginTime(), got.getBeginTime(), at + " begin");
+            assertEquals(want.getEndTime(), got.getEndTime(), at + " end");
+            assertEquals(want.getTimePeriod(), got.getTimePeriod(), at + " period");
+            assertEquals(want.getOpenPrice(), got.getOpenPrice(), at + " open");
+            assertEquals(want.getHighPrice(), got.getHighPrice(), at + " high");
+            assertEquals(want.getLowPrice(), got.getLowPrice(), at + " low");
+            assertEquals(want.getClosePrice(), got.getClosePrice(), at + " close");
+            assertEquals(want.getVolume(), got.getVolume(), at + " volume");
+            assertEquals(want.getClosePrice().getClass(), got.getClosePrice().getClass(), at + " num type");
+        }
+    }
+
+    private static BarSeries base(BarColumns bars, String interval, NumFactory numFactory) {
+        BarSeries series = new BaseBarSeriesBuilder().withName("TEST").withNumFactory(numFactory).build();
+        for (int i = 0; i < bars.size(); i++) {
+            long end = MarketTime.barEnd(interval, bars.time()[i]);
+            series.barBuilder()
+                    .timePeriod(Duration.ofSeconds(end - bars.time()[i]))
+                    .endTime(Instant.ofEpochSecond(end))
+                    .openPrice(bars.open()[i])
+                    .highPrice(bars.high()[i])
+                    .lowPrice(bars.low()[i])
+                    .closePrice(bars.close()[i])
+                    .volume(bars.volume()[i])
+                    .add();
+        }
+        return series;
+    }
+
+    private static BarColumns bars(Random random, int size) {
+        long[] time = new long[size];
+        double[] open = new double[size];
+        double[] high = new double[size];
+        double[] low = new double[size];
+        double[] close = new double[size];
+        double[] volume = new double[size];
+        double price = 100;
+        for (int i = 0; i < size; i++) {
+            // Month starts, so monthly bars of different lengths line up with their begin times
+            time[i] = Instant.parse("2000-01-01T00:00:00Z").atZone(ZoneOffset.UTC).plusMonths(i)
+                    .toEpochSecond();
+            open[i] = price;
+            price = Math.max(1, price * (1 + random.nextGaussian() * 0.02));
+            close[i] = price;
+            high[i] = Math.max(open[i], close[i]) + random.nextDouble();
+            low[i] = Math.min(open[i], close[i]) - random.nextDouble();
+            volume[i] = random.nextInt(10_000);
+        }
+        return new BarColumns(time, open, high, low, close, volume, size);
+    }
+
+    private static ColumnarBarSeries roundTrip(ColumnarBarSeries series) throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(series);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (ColumnarBarSeries) in.readObject();
+        }
+    }
+}